@@ -0,0 +1,124 @@
+package com.company.loan.loan_service.changefeed;
+
+import com.company.loan.loan_service.dto.ChangeFeedResponse;
+import com.company.loan.loan_service.dto.LoanInstallmentResponse;
+import com.company.loan.loan_service.dto.LoanResponse;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.entity.InstallmentScheduleCodec;
+import com.company.loan.loan_service.entity.Loan;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.exception.CustomerNotFoundException;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Serves a customer's changes since a client cursor, so a refresh costs in proportion to what changed rather than
+ * to the size of the portfolio.
+ * <p>
+ * Each of the customer, loan and installment streams is read in change order, one row past the page, and the three
+ * are merged: the first {@code limit} merged changes are always among those read, and a longer merge means more
+ * changes are waiting. A page reads only up to the
+ * stable sequence (see {@link ChangeSequence}), so a cursor never skips a change that commits later.
+ * <p>
+ * Loans kept in compact form carry their schedule inside the loan, so they are returned with their installments.
+ * Archived loans leave the feed without a deletion marker; they were paid before archival, so the client already
+ * holds their final state.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class ChangeFeedService {
+
+    private final CustomerRepository customerRepository;
+    private final LoanRepository loanRepository;
+    private final LoanInstallmentRepository installmentRepository;
+    private final ChangeSequence changeSequence;
+    private final int maxLimit;
+
+    public ChangeFeedService(CustomerRepository customerRepository,
+                             LoanRepository loanRepository,
+                             LoanInstallmentRepository installmentRepository,
+                             ChangeSequence changeSequence,
+                             @Value("${change-feed.max-limit:500}") int maxLimit) {
+        this.customerRepository = customerRepository;
+        this.loanRepository = loanRepository;
+        this.installmentRepository = installmentRepository;
+        this.changeSequence = changeSequence;
+        this.maxLimit = maxLimit;
+    }
+
+    public ChangeFeedResponse getChanges(Long customerId, long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxLimit));
+        // Read before the rows, so nothing committed after this point is included
+        long upTo = changeSequence.getStableSequence();
+
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new CustomerNotFoundException(customerId));
+        if (!changed(customer.getChangeSeq(), since, upTo)) {
+            customer = null;
+        }
+        List<Loan> loans = since < upTo
+                ? loanRepository.findChangedLoans(customerId, since, upTo, PageRequest.of(0, pageSize + 1))
+                : List.of();
+        List<LoanInstallment> installments = since < upTo
+                ? installmentRepository.findChangedInstallments(customerId, since, upTo, PageRequest.of(0, pageSize + 1))
+                : List.of();
+
+        long cursor = Math.max(since, upTo);
+        boolean hasMore = false;
+        long[] sequences = Stream.of(
+                        customer != null ? LongStream.of(customer.getChangeSeq()) : LongStream.empty(),
+                        loans.stream().mapToLong(Loan::getChangeSeq),
+                        installments.stream().mapToLong(LoanInstallment::getChangeSeq))
+                .flatMapToLong(stream -> stream)
+                .sorted()
+                .toArray();
+        if (sequences.length > pageSize) {
+            long last = sequences[pageSize - 1];
+            cursor = last;
+            hasMore = true;
+            if (customer != null && customer.getChangeSeq() > last) {
+                customer = null;
+            }
+            loans = loans.stream().filter(loan -> loan.getChangeSeq() <= last).collect(Collectors.toList());
+            installments = installments.stream()
+                    .filter(installment -> installment.getChangeSeq() <= last)
+                    .collect(Collectors.toList());
+        }
+
+        log.debug("Change feed for customer {} since {}: {} loans, {} installments, cursor {}",
+                customerId, since, loans.size(), installments.size(), cursor);
+        return ChangeFeedResponse.builder()
+                .customerId(customerId)
+                .since(since)
+                .cursor(cursor)
+                .hasMore(hasMore)
+                .customer(customer)
+                .loans(loans.stream().map(this::toResponse).collect(Collectors.toList()))
+                .installments(installments.stream()
+                        .map(LoanInstallmentResponse::fromEntity)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private LoanResponse toResponse(Loan loan) {
+        return loan.hasEncodedSchedule()
+                ? LoanResponse.fromEntity(loan, InstallmentScheduleCodec.decode(loan))
+                : LoanResponse.fromEntityWithoutInstallments(loan);
+    }
+
+    private static boolean changed(Long changeSeq, long since, long upTo) {
+        return changeSeq != null && changeSeq > since && changeSeq <= upTo;
+    }
+}
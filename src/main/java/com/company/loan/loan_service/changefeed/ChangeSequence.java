@@ -0,0 +1,91 @@
+package com.company.loan.loan_service.changefeed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+
+/**
+ * Allocates the change sequence numbers stamped on customers, loans and installments, and tracks which of them
+ * are safe to hand out as a change-feed cursor.
+ * <p>
+ * Numbers are allocated at flush time but become visible at commit, so a transaction holding a lower number can
+ * commit after one holding a higher number. A client whose cursor had already moved past the higher number would
+ * never see the lower one. The feed therefore only reads up to the stable sequence: one below the lowest number
+ * held by a transaction that has not completed yet. Allocation is in-memory, so all writes must go through one
+ * instance; the counter resumes from the stored maximum after a restart.
+ */
+@Component
+@Slf4j
+public class ChangeSequence {
+
+    private static final String MAX_STORED_SEQUENCE =
+            "SELECT GREATEST(" +
+            "(SELECT COALESCE(MAX(change_seq), 0) FROM customers), " +
+            "(SELECT COALESCE(MAX(change_seq), 0) FROM loans), " +
+            "(SELECT COALESCE(MAX(change_seq), 0) FROM loan_installments))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    private long last = -1;
+
+    // Lazy: the entity manager factory creates the listener holding this, and JdbcTemplate waits for that factory
+    public ChangeSequence(@Lazy JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Allocates the next number. Inside a transaction the number is held back from the stable sequence until the
+     * transaction completes; later numbers of the same transaction are higher, so only its first one is tracked.
+     */
+    public synchronized long next() {
+        long sequence = ++initialized().last;
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations().stream().noneMatch(InFlight.class::isInstance)) {
+            inFlight.add(sequence);
+            TransactionSynchronizationManager.registerSynchronization(new InFlight(sequence));
+        }
+        return sequence;
+    }
+
+    /**
+     * @return the highest number below which every allocated number belongs to a completed transaction
+     */
+    public synchronized long getStableSequence() {
+        initialized();
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    private synchronized void complete(long firstSequence) {
+        inFlight.remove(firstSequence);
+    }
+
+    private ChangeSequence initialized() {
+        if (last < 0) {
+            Long stored = jdbcTemplate.queryForObject(MAX_STORED_SEQUENCE, Long.class);
+            last = stored != null ? stored : 0;
+            log.info("Change sequence resumes after {}", last);
+        }
+        return this;
+    }
+
+    private final class InFlight implements TransactionSynchronization {
+
+        private final long firstSequence;
+
+        private InFlight(long firstSequence) {
+            this.firstSequence = firstSequence;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            // Rolled back numbers are simply never seen; committed ones become readable from here on
+            complete(firstSequence);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.company.loan.loan_service.changefeed;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * JPA entity listener stamping a fresh change sequence number on every insert and update of a
+ * {@link ChangeTracked} entity. Instantiated by Hibernate through Spring, so the sequence is injected.
+ */
+public class ChangeSequenceListener {
+
+    private final ChangeSequence changeSequence;
+
+    public ChangeSequenceListener(ChangeSequence changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(Object entity) {
+        ((ChangeTracked) entity).setChangeSeq(changeSequence.next());
+    }
+}
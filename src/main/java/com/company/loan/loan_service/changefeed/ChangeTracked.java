@@ -0,0 +1,11 @@
+package com.company.loan.loan_service.changefeed;
+
+/**
+ * An entity published through the change feed, stamped by {@link ChangeSequenceListener}.
+ */
+public interface ChangeTracked {
+
+    Long getChangeSeq();
+
+    void setChangeSeq(Long changeSeq);
+}
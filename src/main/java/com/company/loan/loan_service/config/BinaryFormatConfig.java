@@ -0,0 +1,39 @@
+package com.company.loan.loan_service.config;
+
+import com.company.loan.loan_service.web.ResponseFormat;
+import com.company.loan.loan_service.web.ResponseMappers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) responses for clients that ask
+ * for them in {@code Accept}. Both mappers come from Boot's {@link Jackson2ObjectMapperBuilder}, so modules and
+ * settings are the same as for JSON. The converters take the place of Spring's defaults for these types, which sit
+ * after the JSON converter, so JSON stays the answer to {@code *}{@code /*} and to requests without {@code Accept}.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public ResponseMappers responseMappers(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        return new ResponseMappers(objectMapper,
+                builder.factory(new CBORFactory()).build(),
+                builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ResponseMappers responseMappers) {
+        return new MappingJackson2CborHttpMessageConverter(responseMappers.get(ResponseFormat.CBOR));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ResponseMappers responseMappers) {
+        return new MappingJackson2SmileHttpMessageConverter(responseMappers.get(ResponseFormat.SMILE));
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.loan.loan_service.config;
+
+import com.company.loan.loan_service.monitoring.SlowQueryRecorder;
+import com.company.loan.loan_service.monitoring.SlowQueryStatisticsFactory;
+import org.hibernate.cfg.StatisticsSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on Hibernate statistics when {@code hibernate-stats.enabled} is set and plugs in the slow-query
+ * capturing statistics implementation. Statistics collection is off by default because it adds bookkeeping
+ * to every session.
+ */
+@Configuration
+public class HibernateStatisticsConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer(
+            @Value("${hibernate-stats.enabled:false}") boolean enabled,
+            SlowQueryRecorder slowQueryRecorder) {
+        return properties -> {
+            properties.put(StatisticsSettings.GENERATE_STATISTICS, enabled);
+            if (enabled) {
+                properties.put(StatisticsSettings.STATS_BUILDER, new SlowQueryStatisticsFactory(slowQueryRecorder));
+            }
+        };
+    }
+}
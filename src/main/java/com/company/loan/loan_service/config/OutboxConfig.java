@@ -0,0 +1,33 @@
+package com.company.loan.loan_service.config;
+
+import com.company.loan.loan_service.outbox.FileOutboxSink;
+import com.company.loan.loan_service.outbox.InMemoryOutboxSink;
+import com.company.loan.loan_service.outbox.OutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Selects the outbox sink with {@code outbox.sink}: {@code memory} (default) or {@code file}. Declaring another
+ * {@link OutboxSink} bean, e.g. a message broker producer, replaces both.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(@Value("${outbox.sink:memory}") String sink,
+                                 @Value("${outbox.file.path:outbox/events.jsonl}") String filePath,
+                                 @Value("${outbox.memory.capacity:10000}") int memoryCapacity,
+                                 ObjectMapper objectMapper) {
+        return switch (sink) {
+            case "memory" -> new InMemoryOutboxSink(memoryCapacity);
+            case "file" -> new FileOutboxSink(Path.of(filePath), objectMapper);
+            default -> throw new IllegalArgumentException("Unknown outbox.sink: " + sink);
+        };
+    }
+}
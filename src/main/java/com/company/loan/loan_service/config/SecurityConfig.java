@@ -1,6 +1,11 @@
 package com.company.loan.loan_service.config;
 
+import com.company.loan.loan_service.security.BulkheadAuthenticationManager;
 import com.company.loan.loan_service.security.JwtAuthenticationFilter;
+import com.company.loan.loan_service.security.LoginAttemptThrottle;
+import com.company.loan.loan_service.security.PasswordVerificationBulkhead;
+import com.company.loan.loan_service.web.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,19 +29,26 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Event streams were authorized when they opened; completing them dispatches again without a token
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
                 
                 // Admin-only endpoints
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                // Metrics expose limiter, login and payment internals
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/customers").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/customers").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/customers/*/credit-limit").hasRole("ADMIN")
@@ -45,10 +57,12 @@ public class SecurityConfig {
                 // Customer endpoints with role-based access (handled by @PreAuthorize)
                 .requestMatchers("/api/customers/*").hasAnyRole("ADMIN", "CUSTOMER")
                 .requestMatchers("/api/loans/**").hasAnyRole("ADMIN", "CUSTOMER")
+                .requestMatchers(HttpMethod.GET, "/api/changes").hasAnyRole("ADMIN", "CUSTOMER")
                 
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         
         // For H2 console (development only)
         http.headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()));
@@ -62,8 +76,11 @@ public class SecurityConfig {
     }
     
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration config,
+                                                       PasswordVerificationBulkhead bulkhead,
+                                                       LoginAttemptThrottle loginAttemptThrottle) throws Exception {
+        // BCrypt verification runs on a bounded executor so a login storm cannot starve request threads
+        return new BulkheadAuthenticationManager(config.getAuthenticationManager(), bulkhead, loginAttemptThrottle);
     }
     
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.company.loan.loan_service.controller;
+
+import com.company.loan.loan_service.dto.HibernateStatsResponse;
+import com.company.loan.loan_service.dto.PaymentJournalVerificationResponse;
+import com.company.loan.loan_service.dto.ScheduleMigrationResponse;
+import com.company.loan.loan_service.journal.PaymentJournalAudit;
+import com.company.loan.loan_service.monitoring.HibernateStatisticsService;
+import com.company.loan.loan_service.service.ScheduleMigrationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Administration", description = "Operational APIs for administrators")
+public class AdminController {
+    
+    private static final int MAX_TOP = 100;
+    
+    private final HibernateStatisticsService hibernateStatisticsService;
+    private final ScheduleMigrationService scheduleMigrationService;
+    private final PaymentJournalAudit paymentJournalAudit;
+    
+    @GetMapping("/hibernate-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get Hibernate statistics", description = "Top queries by total time, entity load counts, second-level cache hit ratios and captured slow queries. Requires hibernate-stats.enabled=true")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    public ResponseEntity<HibernateStatsResponse> getHibernateStatistics(
+            @Parameter(description = "Number of queries to return (max 100)") @RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(hibernateStatisticsService.getStatistics(Math.max(1, Math.min(top, MAX_TOP))));
+    }
+    
+    @DeleteMapping("/hibernate-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reset Hibernate statistics", description = "Clears collected statistics and slow queries")
+    @ApiResponse(responseCode = "204", description = "Statistics reset")
+    public ResponseEntity<Void> resetHibernateStatistics() {
+        log.info("Resetting Hibernate statistics");
+        hibernateStatisticsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/installment-schedules/compact")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Migrate installment schedules to compact storage", description = "Encodes the installment rows of every loan onto the loan and deletes the rows, in batches")
+    @ApiResponse(responseCode = "200", description = "Migration completed")
+    public ResponseEntity<ScheduleMigrationResponse> migrateInstallmentSchedules() {
+        log.info("Migrating installment schedules to compact storage");
+        return ResponseEntity.ok(scheduleMigrationService.migrateToCompact());
+    }
+    
+    @GetMapping("/payment-journal/verification")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Verify the payment journal", description = "Checks the journal's checksum chain and compares the installment paid-state it rebuilds with the stored loans")
+    @ApiResponse(responseCode = "200", description = "Verification completed")
+    @ApiResponse(responseCode = "409", description = "The payment journal is disabled")
+    public ResponseEntity<PaymentJournalVerificationResponse> verifyPaymentJournal() {
+        log.info("Verifying payment journal");
+        return ResponseEntity.ok(paymentJournalAudit.verify());
+    }
+}
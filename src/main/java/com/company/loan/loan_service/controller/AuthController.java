@@ -1,7 +1,12 @@
 package com.company.loan.loan_service.controller;
 
+import com.company.loan.loan_service.security.AuthenticationCapacityExceededException;
 import com.company.loan.loan_service.security.CustomUserDetailsService;
+import com.company.loan.loan_service.security.InvalidRefreshTokenException;
 import com.company.loan.loan_service.security.JwtUtil;
+import com.company.loan.loan_service.security.LoginThrottledException;
+import com.company.loan.loan_service.security.RefreshTokenService;
+import com.company.loan.loan_service.security.TokenRevocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +17,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -20,6 +28,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -34,11 +43,18 @@ public class AuthController {
     
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    
+    @Value("${auth.bulkhead.retry-after-seconds:1}")
+    private int bulkheadRetryAfterSeconds;
     
     @PostMapping("/login")
     @Operation(summary = "Authenticate user", description = "Generates JWT token for valid credentials")
     @ApiResponse(responseCode = "200", description = "Authentication successful")
     @ApiResponse(responseCode = "401", description = "Invalid credentials")
+    @ApiResponse(responseCode = "429", description = "Too many failed attempts for this username")
+    @ApiResponse(responseCode = "503", description = "Login capacity exhausted, retry later")
     public ResponseEntity<JwtResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         log.info("Authentication request for user: {}", loginRequest.getUsername());
 
@@ -62,12 +78,23 @@ public class AuthController {
                     .toList();
             Long customerId = userPrincipal.getCustomerId();
             
-            // Generate JWT token
+            // Generate short-lived JWT plus a refresh token so clients can renew without re-sending the password
             String jwt = jwtUtil.generateToken(username, roles, customerId);
+            String refreshToken = refreshTokenService.issue(username, roles, customerId);
             
             log.info("Successfully authenticated user: {} with roles: {}", username, roles);
-            return ResponseEntity.ok(new JwtResponse(jwt, username, roles, customerId));
+            return ResponseEntity.ok(new JwtResponse(jwt, refreshToken, username, roles, customerId));
             
+        } catch (LoginThrottledException e) {
+            log.warn("Login throttled for user: {}", loginRequest.getUsername());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+        } catch (AuthenticationCapacityExceededException e) {
+            log.warn("Login rejected for user: {} - {}", loginRequest.getUsername(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(bulkheadRetryAfterSeconds))
+                    .build();
         } catch (BadCredentialsException e) {
             log.warn("Invalid credentials for user: {}", loginRequest.getUsername());
             return ResponseEntity.status(401).build();
@@ -77,6 +104,50 @@ public class AuthController {
         }
     }
     
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh access token", description = "Exchanges a refresh token for a new JWT and a rotated refresh token")
+    @ApiResponse(responseCode = "200", description = "Token refreshed")
+    @ApiResponse(responseCode = "401", description = "Refresh token is invalid, expired or already used")
+    public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody RefreshRequest refreshRequest) {
+        try {
+            RefreshTokenService.RefreshGrant grant = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+            String jwt = jwtUtil.generateToken(grant.getUsername(), grant.getRoles(), grant.getCustomerId());
+            
+            log.debug("Refreshed token for user: {}", grant.getUsername());
+            return ResponseEntity.ok(new JwtResponse(jwt, grant.getRefreshToken(),
+                    grant.getUsername(), grant.getRoles(), grant.getCustomerId()));
+        } catch (InvalidRefreshTokenException e) {
+            log.warn("Refresh rejected: {}", e.getMessage());
+            return ResponseEntity.status(401).build();
+        }
+    }
+    
+    @PostMapping("/logout")
+    @Operation(summary = "Log out", description = "Revokes the presented JWT and, if supplied, the refresh token")
+    @ApiResponse(responseCode = "204", description = "Tokens revoked")
+    @ApiResponse(responseCode = "401", description = "Missing or invalid JWT")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshRequest refreshRequest) {
+        
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).build();
+        }
+        String jwt = authorization.substring(7);
+        if (!jwtUtil.validateToken(jwt)) {
+            return ResponseEntity.status(401).build();
+        }
+        
+        tokenRevocationService.revoke(jwtUtil.getTokenIdFromToken(jwt),
+                jwtUtil.getExpirationDateFromToken(jwt).toInstant());
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshRequest.getRefreshToken());
+        }
+        
+        log.info("Logged out user: {}", jwtUtil.getUsernameFromToken(jwt));
+        return ResponseEntity.noContent().build();
+    }
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -88,11 +159,20 @@ public class AuthController {
         private String password;
     }
     
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RefreshRequest {
+        @NotBlank(message = "Refresh token cannot be blank")
+        private String refreshToken;
+    }
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
     public static class JwtResponse {
         private String token;
+        private String refreshToken;
         private String username;
         private List<String> roles;
         private Long customerId;
@@ -0,0 +1,42 @@
+package com.company.loan.loan_service.controller;
+
+import com.company.loan.loan_service.changefeed.ChangeFeedService;
+import com.company.loan.loan_service.dto.ChangeFeedResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Change Feed", description = "Incremental sync of a customer's loans")
+public class ChangeFeedController {
+    
+    private final ChangeFeedService changeFeedService;
+    
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and #customerId == authentication.principal.customerId)")
+    @Operation(summary = "Get changes since a cursor",
+            description = "Returns the customer, loans and installments changed after the cursor, in change order")
+    @ApiResponse(responseCode = "200", description = "Changes retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Customer not found")
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @Parameter(description = "Customer ID") @RequestParam Long customerId,
+            @Parameter(description = "Cursor from the previous response, 0 for everything") @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum number of changed records") @RequestParam(defaultValue = "100") int limit) {
+        
+        log.debug("Retrieving changes for customer: {} since {}", customerId, since);
+        
+        return ResponseEntity.ok(changeFeedService.getChanges(customerId, since, limit));
+    }
+}
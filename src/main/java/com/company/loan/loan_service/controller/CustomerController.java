@@ -1,9 +1,19 @@
 package com.company.loan.loan_service.controller;
 
 import com.company.loan.loan_service.dto.CreateCustomerRequest;
+import com.company.loan.loan_service.dto.CustomerBalanceResponse;
+import com.company.loan.loan_service.dto.CustomerDashboardResponse;
+import com.company.loan.loan_service.dto.CustomerField;
 import com.company.loan.loan_service.dto.UpdateCreditLimitRequest;
 import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.ledger.LoanLedger;
+import com.company.loan.loan_service.notification.CustomerEventBus;
+import com.company.loan.loan_service.service.CustomerDashboardService;
 import com.company.loan.loan_service.service.CustomerService;
+import com.company.loan.loan_service.service.ReadCoalescer;
+import com.company.loan.loan_service.web.FieldSelection;
+import com.company.loan.loan_service.web.ResponseFormat;
+import com.company.loan.loan_service.web.SparseResponseWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,12 +21,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -26,6 +40,11 @@ import java.util.List;
 public class CustomerController {
     
     private final CustomerService customerService;
+    private final LoanLedger loanLedger;
+    private final CustomerEventBus customerEventBus;
+    private final SparseResponseWriter sparseResponseWriter;
+    private final ReadCoalescer readCoalescer;
+    private final CustomerDashboardService customerDashboardService;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -33,7 +52,7 @@ public class CustomerController {
     @ApiResponse(responseCode = "201", description = "Customer created successfully")
     @ApiResponse(responseCode = "400", description = "Invalid request data")
     public ResponseEntity<Customer> createCustomer(@Valid @RequestBody CreateCustomerRequest request) {
-        log.info("Creating customer: {} {} with credit limit: {}", 
+        log.debug("Creating customer: {} {} with credit limit: {}", 
                 request.getName(), request.getSurname(), request.getCreditLimit());
         
         Customer customer = customerService.createCustomer(
@@ -50,21 +69,78 @@ public class CustomerController {
     public ResponseEntity<Customer> getCustomer(
             @Parameter(description = "Customer ID") @PathVariable Long customerId) {
         
-        log.info("Retrieving customer: {}", customerId);
-        Customer customer = customerService.getCustomerById(customerId);
+        log.debug("Retrieving customer: {}", customerId);
+        Customer customer = readCoalescer.getCustomerById(customerId);
         return ResponseEntity.ok(customer);
     }
     
+    @GetMapping("/{customerId}/balance")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and #customerId == authentication.principal.customerId)")
+    @Operation(summary = "Get customer balance", description = "Outstanding amount, next due installment and credit usage, served from the in-memory ledger")
+    @ApiResponse(responseCode = "200", description = "Balance retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Customer not found")
+    @ApiResponse(responseCode = "503", description = "Ledger is still loading")
+    public ResponseEntity<CustomerBalanceResponse> getCustomerBalance(
+            @Parameter(description = "Customer ID") @PathVariable Long customerId) {
+        
+        log.debug("Retrieving balance for customer: {}", customerId);
+        return ResponseEntity.ok(loanLedger.getBalance(customerId));
+    }
+    
+    @GetMapping("/{customerId}/dashboard")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and #customerId == authentication.principal.customerId)")
+    @Operation(summary = "Get customer dashboard", description = "Customer profile, loan summaries, next due installment and totals in one call")
+    @ApiResponse(responseCode = "200", description = "Dashboard retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Customer not found")
+    @ApiResponse(responseCode = "503", description = "Too many dashboards are being loaded or the reads timed out")
+    public ResponseEntity<CustomerDashboardResponse> getCustomerDashboard(
+            @Parameter(description = "Customer ID") @PathVariable Long customerId) {
+        
+        log.debug("Retrieving dashboard for customer: {}", customerId);
+        return ResponseEntity.ok(customerDashboardService.getDashboard(customerId));
+    }
+    
+    @GetMapping(path = "/{customerId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and #customerId == authentication.principal.customerId)")
+    @Operation(summary = "Stream customer events", description = "Server-sent events for the customer's loan creations, payments and balance changes, starting with the current balance")
+    @ApiResponse(responseCode = "200", description = "Stream opened")
+    @ApiResponse(responseCode = "404", description = "Customer not found")
+    @ApiResponse(responseCode = "503", description = "Too many streams are open")
+    public SseEmitter streamCustomerEvents(
+            @Parameter(description = "Customer ID") @PathVariable Long customerId) {
+        
+        log.debug("Opening event stream for customer: {}", customerId);
+        readCoalescer.getCustomerById(customerId);
+        return customerEventBus.subscribe(customerId);
+    }
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get all customers", description = "Retrieves all customers (Admin only)")
     @ApiResponse(responseCode = "200", description = "Customers retrieved successfully")
     public ResponseEntity<List<Customer>> getAllCustomers() {
-        log.info("Retrieving all customers");
+        log.debug("Retrieving all customers");
         List<Customer> customers = customerService.getAllCustomers();
         return ResponseEntity.ok(customers);
     }
     
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get all customers with selected fields", description = "Retrieves all customers with only the requested properties (Admin only)")
+    @ApiResponse(responseCode = "200", description = "Customers retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Unknown field requested")
+    public ResponseEntity<byte[]> getAllCustomerFields(
+            @Parameter(description = "Comma-separated customer properties to return, e.g. id,name,availableCreditLimit") @RequestParam String fields,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Set<CustomerField> selection = FieldSelection.parse(fields, CustomerField.class);
+        ResponseFormat format = ResponseFormat.fromAccept(accept);
+        log.debug("Retrieving all customers with fields: {}", selection);
+        List<Customer> customers = customerService.getAllCustomers(selection);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(sparseResponseWriter.write(customers, selection, format));
+    }
+    
     @PutMapping("/{customerId}/credit-limit")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update customer credit limit", description = "Updates the credit limit for a specific customer")
@@ -75,7 +151,7 @@ public class CustomerController {
             @Parameter(description = "Customer ID") @PathVariable Long customerId,
             @Valid @RequestBody UpdateCreditLimitRequest request) {
         
-        log.info("Updating credit limit for customer: {} to {}", customerId, request.getCreditLimit());
+        log.debug("Updating credit limit for customer: {} to {}", customerId, request.getCreditLimit());
         Customer customer = customerService.updateCreditLimit(customerId, request.getCreditLimit());
         return ResponseEntity.ok(customer);
     }
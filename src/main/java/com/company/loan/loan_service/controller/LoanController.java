@@ -1,7 +1,15 @@
 package com.company.loan.loan_service.controller;
 
 import com.company.loan.loan_service.dto.*;
+import com.company.loan.loan_service.security.CustomUserDetails;
+import com.company.loan.loan_service.service.InstallmentScheduleResponseCache;
+import com.company.loan.loan_service.service.LoanHistoryService;
 import com.company.loan.loan_service.service.LoanService;
+import com.company.loan.loan_service.service.PaymentGroupCommitter;
+import com.company.loan.loan_service.service.ReadCoalescer;
+import com.company.loan.loan_service.web.FieldSelection;
+import com.company.loan.loan_service.web.ResponseFormat;
+import com.company.loan.loan_service.web.SparseResponseWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,12 +17,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/loans")
@@ -24,6 +39,11 @@ import java.util.List;
 public class LoanController {
     
     private final LoanService loanService;
+    private final PaymentGroupCommitter paymentGroupCommitter;
+    private final LoanHistoryService loanHistoryService;
+    private final SparseResponseWriter sparseResponseWriter;
+    private final InstallmentScheduleResponseCache installmentScheduleResponseCache;
+    private final ReadCoalescer readCoalescer;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -32,7 +52,7 @@ public class LoanController {
     @ApiResponse(responseCode = "400", description = "Invalid request or business rule violation")
     @ApiResponse(responseCode = "404", description = "Customer not found")
     public ResponseEntity<LoanResponse> createLoan(@Valid @RequestBody CreateLoanRequest request) {
-        log.info("Received loan creation request for customer: {}", request.getCustomerId());
+        log.debug("Received loan creation request for customer: {}", request.getCustomerId());
         
         LoanResponse response = loanService.createLoan(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -48,25 +68,95 @@ public class LoanController {
             @Parameter(description = "Filter by payment status") @RequestParam(required = false) Boolean isPaid,
             @Parameter(description = "Filter by number of installments") @RequestParam(required = false) Integer numberOfInstallments) {
         
-        log.info("Retrieving loans for customer: {} with filters - isPaid: {}, installments: {}", 
+        log.debug("Retrieving loans for customer: {} with filters - isPaid: {}, installments: {}", 
                 customerId, isPaid, numberOfInstallments);
         
-        List<LoanResponse> loans = loanService.getCustomerLoans(customerId, isPaid, numberOfInstallments);
+        List<LoanResponse> loans = readCoalescer.getCustomerLoans(customerId, isPaid, numberOfInstallments);
         return ResponseEntity.ok(loans);
     }
     
+    @GetMapping(value = "/{customerId}", params = "fields")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and #customerId == authentication.principal.customerId)")
+    @Operation(summary = "Get customer loans with selected fields", description = "Retrieves a customer's loans with only the requested properties")
+    @ApiResponse(responseCode = "200", description = "Loans retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Unknown field requested")
+    @ApiResponse(responseCode = "404", description = "Customer not found")
+    public ResponseEntity<byte[]> getCustomerLoanFields(
+            @Parameter(description = "Customer ID") @PathVariable Long customerId,
+            @Parameter(description = "Filter by payment status") @RequestParam(required = false) Boolean isPaid,
+            @Parameter(description = "Filter by number of installments") @RequestParam(required = false) Integer numberOfInstallments,
+            @Parameter(description = "Comma-separated loan properties to return, e.g. id,loanAmount,isPaid") @RequestParam String fields,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        
+        Set<LoanField> selection = FieldSelection.parse(fields, LoanField.class);
+        ResponseFormat format = ResponseFormat.fromAccept(accept);
+        log.debug("Retrieving loans for customer: {} with filters - isPaid: {}, installments: {}, fields: {}", 
+                customerId, isPaid, numberOfInstallments, selection);
+        
+        List<LoanResponse> loans = readCoalescer.getCustomerLoans(customerId, isPaid, numberOfInstallments, selection);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(sparseResponseWriter.write(loans, selection, format));
+    }
+    
     @GetMapping("/{loanId}/installments")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @loanService.isLoanOwnedByCustomer(#loanId, authentication.principal.customerId))")
     @Operation(summary = "Get loan installments", description = "Retrieves all installments for a specific loan")
     @ApiResponse(responseCode = "200", description = "Installments retrieved successfully")
+    @ApiResponse(responseCode = "304", description = "Installments unchanged since the ETag in If-None-Match")
+    @ApiResponse(responseCode = "404", description = "Loan not found")
+    public ResponseEntity<byte[]> getLoanInstallments(
+            @Parameter(description = "Loan ID") @PathVariable Long loanId,
+            WebRequest webRequest) {
+        
+        log.debug("Retrieving installments for loan: {}", loanId);
+        
+        ResponseFormat format = ResponseFormat.fromAccept(webRequest.getHeader(HttpHeaders.ACCEPT));
+        InstallmentScheduleResponseCache.ScheduleTag tag = installmentScheduleResponseCache.getTag(loanId, format);
+        if (webRequest.checkNotModified(tag.getETag())) {
+            // 304 with the ETag already set; the installments are not read
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(tag.getETag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType())
+                .body(installmentScheduleResponseCache.getBody(loanId, tag));
+    }
+    
+    @PostMapping("/installments:batchGet")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
+    @Operation(summary = "Get installments of several loans", description = "Retrieves the installments of up to " + BatchGetInstallmentsRequest.MAX_LOANS + " loans, grouped by loan in request order")
+    @ApiResponse(responseCode = "200", description = "Installments retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "No loan IDs or too many")
+    @ApiResponse(responseCode = "403", description = "A loan is not owned by the customer")
     @ApiResponse(responseCode = "404", description = "Loan not found")
-    public ResponseEntity<List<LoanInstallmentResponse>> getLoanInstallments(
-            @Parameter(description = "Loan ID") @PathVariable Long loanId) {
+    public ResponseEntity<List<LoanInstallmentsResponse>> batchGetLoanInstallments(
+            @Valid @RequestBody BatchGetInstallmentsRequest request,
+            @AuthenticationPrincipal CustomUserDetails user) {
+        
+        log.debug("Retrieving installments for loans: {}", request.getLoanIds());
+        
+        // Admins may read any loan; customers only their own, checked against the loans' owners in the service
+        Long customerId = user.hasRole("ADMIN") ? null : user.getCustomerId();
+        return ResponseEntity.ok(loanService.batchGetLoanInstallments(request.getLoanIds(), customerId));
+    }
+    
+    @GetMapping("/{loanId}/balance")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @loanService.isLoanOwnedByCustomer(#loanId, authentication.principal.customerId))")
+    @Operation(summary = "Get loan balance as of a date", description = "Rebuilds the loan's balance at the end of a business date from its event history")
+    @ApiResponse(responseCode = "200", description = "Balance retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Loan not found or no history on or before the date")
+    public ResponseEntity<LoanBalanceResponse> getLoanBalance(
+            @Parameter(description = "Loan ID") @PathVariable Long loanId,
+            @Parameter(description = "Business date, defaults to today") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
         
-        log.info("Retrieving installments for loan: {}", loanId);
+        LocalDate date = asOf != null ? asOf : LocalDate.now();
+        log.debug("Retrieving balance for loan: {} as of {}", loanId, date);
         
-        List<LoanInstallmentResponse> installments = loanService.getLoanInstallments(loanId);
-        return ResponseEntity.ok(installments);
+        return ResponseEntity.ok(loanHistoryService.getBalanceAsOf(loanId, date));
     }
     
     @PostMapping("/{loanId}/payments")
@@ -75,13 +165,16 @@ public class LoanController {
     @ApiResponse(responseCode = "200", description = "Payment processed successfully")
     @ApiResponse(responseCode = "400", description = "Invalid payment or business rule violation")
     @ApiResponse(responseCode = "404", description = "Loan not found")
+    @ApiResponse(responseCode = "503", description = "Payment queue is full (group commit only)")
     public ResponseEntity<PaymentResponse> processPayment(
             @Parameter(description = "Loan ID") @PathVariable Long loanId,
             @Valid @RequestBody PaymentRequest request) {
         
-        log.info("Processing payment for loan: {} - amount: {}", loanId, request.getPaymentAmount());
+        log.debug("Processing payment for loan: {} - amount: {}", loanId, request.getPaymentAmount());
         
-        PaymentResponse response = loanService.processPayment(loanId, request);
+        PaymentResponse response = paymentGroupCommitter.isEnabled()
+                ? paymentGroupCommitter.process(loanId, request)
+                : loanService.processPayment(loanId, request);
         return ResponseEntity.ok(response);
     }
 }
\ No newline at end of file
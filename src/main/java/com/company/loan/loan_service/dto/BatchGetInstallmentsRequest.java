@@ -0,0 +1,24 @@
+package com.company.loan.loan_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetInstallmentsRequest {
+    
+    public static final int MAX_LOANS = 200;
+    
+    @NotEmpty(message = "Loan IDs cannot be empty")
+    @Size(max = MAX_LOANS, message = "At most " + MAX_LOANS + " loans can be requested at once")
+    private List<@NotNull(message = "Loan ID cannot be null") Long> loanIds;
+}
@@ -0,0 +1,28 @@
+package com.company.loan.loan_service.dto;
+
+import com.company.loan.loan_service.entity.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Records of a customer changed after the client's cursor. Clients upsert them by ID and pass {@code cursor} as the
+ * next {@code since}; while {@code hasMore} is set, more changes are waiting past the page limit.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedResponse {
+    
+    private Long customerId;
+    private long since;
+    private long cursor;
+    private boolean hasMore;
+    private Customer customer;
+    private List<LoanResponse> loans;
+    private List<LoanInstallmentResponse> installments;
+}
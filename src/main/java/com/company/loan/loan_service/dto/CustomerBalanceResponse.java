@@ -0,0 +1,26 @@
+package com.company.loan.loan_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBalanceResponse {
+    
+    private Long customerId;
+    private BigDecimal creditLimit;
+    private BigDecimal usedCreditLimit;
+    private BigDecimal availableCreditLimit;
+    private BigDecimal outstandingAmount;
+    private Integer unpaidInstallmentCount;
+    private Integer activeLoanCount;
+    private LocalDate nextDueDate;
+    private BigDecimal nextDueAmount;
+}
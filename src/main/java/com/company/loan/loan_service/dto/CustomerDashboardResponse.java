@@ -0,0 +1,25 @@
+package com.company.loan.loan_service.dto;
+
+import com.company.loan.loan_service.entity.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerDashboardResponse {
+    
+    private Customer customer;
+    private List<LoanResponse> loans;
+    private LoanInstallmentResponse nextDueInstallment;
+    private BigDecimal outstandingAmount;
+    private Integer unpaidInstallmentCount;
+    private Integer overdueInstallmentCount;
+    private Integer activeLoanCount;
+}
@@ -0,0 +1,60 @@
+package com.company.loan.loan_service.dto;
+
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.web.SelectableField;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Fields of {@link Customer} selectable in customer listings, with the attributes they are read from.
+ * {@code availableCreditLimit} is derived, so it loads the two limits it is computed from.
+ */
+public enum CustomerField implements SelectableField {
+
+    ID("id", "id", (customer, value) -> customer.setId((Long) value)),
+    NAME("name", "name", (customer, value) -> customer.setName((String) value)),
+    SURNAME("surname", "surname", (customer, value) -> customer.setSurname((String) value)),
+    CREDIT_LIMIT("creditLimit", "creditLimit", (customer, value) -> customer.setCreditLimit((BigDecimal) value)),
+    USED_CREDIT_LIMIT("usedCreditLimit", "usedCreditLimit",
+            (customer, value) -> customer.setUsedCreditLimit((BigDecimal) value)),
+    CHANGE_SEQ("changeSeq", "changeSeq", (customer, value) -> customer.setChangeSeq((Long) value)),
+    AVAILABLE_CREDIT_LIMIT("availableCreditLimit", null, null);
+
+    private final String property;
+    private final String attribute;
+    private final BiConsumer<Customer, Object> setter;
+
+    CustomerField(String property, String attribute, BiConsumer<Customer, Object> setter) {
+        this.property = property;
+        this.attribute = attribute;
+        this.setter = setter;
+    }
+
+    @Override
+    public String getProperty() {
+        return property;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public void set(Customer customer, Object value) {
+        setter.accept(customer, value);
+    }
+
+    /**
+     * @return the stored fields that have to be loaded to produce the selection
+     */
+    public static Set<CustomerField> storedFieldsFor(Set<CustomerField> selection) {
+        EnumSet<CustomerField> stored = EnumSet.copyOf(selection);
+        if (stored.remove(AVAILABLE_CREDIT_LIMIT)) {
+            stored.add(CREDIT_LIMIT);
+            stored.add(USED_CREDIT_LIMIT);
+        }
+        return stored;
+    }
+}
@@ -0,0 +1,70 @@
+package com.company.loan.loan_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HibernateStatsResponse {
+    
+    private boolean enabled;
+    private Long queryExecutionCount;
+    private Long queryExecutionMaxTimeMs;
+    private String slowestQuery;
+    private Long entityLoadCount;
+    private Long entityFetchCount;
+    private Long transactionCount;
+    private Double secondLevelCacheHitRatio;
+    private List<QueryStat> topQueries;
+    private Map<String, Long> entityLoadCounts;
+    private List<CacheRegionStat> cacheRegions;
+    private List<SlowQueryStat> slowQueries;
+    private Long droppedSlowQueries;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QueryStat {
+        private String query;
+        private long executionCount;
+        private long totalTimeMs;
+        private double averageTimeMs;
+        private long maxTimeMs;
+        private long rowCount;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheRegionStat {
+        private String region;
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+        private Double hitRatio;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlowQueryStat {
+        private String query;
+        private String caller;
+        private long count;
+        private long totalTimeMs;
+        private long maxTimeMs;
+        private long maxRows;
+        private Instant lastSeen;
+    }
+}
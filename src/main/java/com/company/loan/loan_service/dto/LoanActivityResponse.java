@@ -0,0 +1,27 @@
+package com.company.loan.loan_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A loan being created or paid, as pushed to a customer's event stream.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanActivityResponse {
+    
+    private Long loanId;
+    private LocalDate date;
+    private BigDecimal amount;
+    private List<Long> installmentIds;
+    private Integer unpaidInstallmentCount;
+    private Boolean isLoanComplete;
+}
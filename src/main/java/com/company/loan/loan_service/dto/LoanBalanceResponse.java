@@ -0,0 +1,27 @@
+package com.company.loan.loan_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanBalanceResponse {
+    
+    private Long loanId;
+    private LocalDate asOf;
+    private BigDecimal totalAmount;
+    private BigDecimal paidAmount;
+    private BigDecimal outstandingAmount;
+    private Integer installmentCount;
+    private Integer paidInstallmentCount;
+    private Boolean isClosed;
+    private Integer eventVersion;
+    private Integer replayedEvents;
+}
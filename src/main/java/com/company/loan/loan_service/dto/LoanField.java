@@ -0,0 +1,57 @@
+package com.company.loan.loan_service.dto;
+
+import com.company.loan.loan_service.web.SelectableField;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.BiConsumer;
+
+/**
+ * Fields of {@link LoanResponse} selectable in loan listings, with the entity attributes they are read from.
+ * <p>
+ * A {@code null} attribute means the value is not stored per row: the customer fields are the same for every loan
+ * of a listing, and archived loans are paid by definition.
+ */
+public enum LoanField implements SelectableField {
+
+    ID("id", "id", "id", (response, value) -> response.setId((Long) value)),
+    CUSTOMER_ID("customerId", null, null, (response, value) -> response.setCustomerId((Long) value)),
+    CUSTOMER_NAME("customerName", null, null, (response, value) -> response.setCustomerName((String) value)),
+    LOAN_AMOUNT("loanAmount", "loanAmount", "loanAmount", (response, value) -> response.setLoanAmount((BigDecimal) value)),
+    NUMBER_OF_INSTALLMENT("numberOfInstallment", "numberOfInstallment", "numberOfInstallment",
+            (response, value) -> response.setNumberOfInstallment((Integer) value)),
+    CREATE_DATE("createDate", "createDate", "createDate", (response, value) -> response.setCreateDate((LocalDate) value)),
+    IS_PAID("isPaid", "isPaid", null, (response, value) -> response.setIsPaid((Boolean) value)),
+    INTEREST_RATE("interestRate", "interestRate", "interestRate",
+            (response, value) -> response.setInterestRate((BigDecimal) value));
+
+    private final String property;
+    private final String loanAttribute;
+    private final String archivedLoanAttribute;
+    private final BiConsumer<LoanResponse, Object> setter;
+
+    LoanField(String property, String loanAttribute, String archivedLoanAttribute,
+              BiConsumer<LoanResponse, Object> setter) {
+        this.property = property;
+        this.loanAttribute = loanAttribute;
+        this.archivedLoanAttribute = archivedLoanAttribute;
+        this.setter = setter;
+    }
+
+    @Override
+    public String getProperty() {
+        return property;
+    }
+
+    public String getLoanAttribute() {
+        return loanAttribute;
+    }
+
+    public String getArchivedLoanAttribute() {
+        return archivedLoanAttribute;
+    }
+
+    public void set(LoanResponse response, Object value) {
+        setter.accept(response, value);
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.loan.loan_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanInstallmentsResponse {
+    
+    private Long loanId;
+    private List<LoanInstallmentResponse> installments;
+}
@@ -1,6 +1,7 @@
 package com.company.loan.loan_service.dto;
 
 import com.company.loan.loan_service.entity.Loan;
+import com.company.loan.loan_service.entity.LoanInstallment;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,6 +29,10 @@ public class LoanResponse {
     private BigDecimal interestRate;
 
     public static LoanResponse fromEntity(Loan loan) {
+        return fromEntity(loan, loan.getInstallments());
+    }
+
+    public static LoanResponse fromEntity(Loan loan, List<LoanInstallment> installments) {
 
         LoanResponse response = LoanResponse.builder()
                 .id(loan.getId())
@@ -40,9 +45,9 @@ public class LoanResponse {
                 .interestRate(loan.getInterestRate())
                 .build();
         
-        if (loan.getInstallments() != null) {
+        if (installments != null) {
             response.setInstallments(
-                loan.getInstallments().stream()
+                installments.stream()
                     .map(LoanInstallmentResponse::fromEntity)
                     .collect(Collectors.toList())
             );
@@ -0,0 +1,26 @@
+package com.company.loan.loan_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentJournalVerificationResponse {
+    
+    private Integer segments;
+    private Long records;
+    private Long lastSequence;
+    private String lastChecksum;
+    private Boolean chainIntact;
+    private String problem;
+    private Integer loansChecked;
+    private Integer mismatchedInstallments;
+    private List<Long> mismatchedLoanIds;
+    private Long durationMs;
+}
@@ -0,0 +1,18 @@
+package com.company.loan.loan_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleMigrationResponse {
+    
+    private Integer migratedLoans;
+    private Integer skippedLoans;
+    private Integer deletedInstallmentRows;
+    private Long durationMs;
+}
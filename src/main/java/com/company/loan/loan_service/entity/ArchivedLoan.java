@@ -0,0 +1,99 @@
+package com.company.loan.loan_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A fully paid loan moved out of {@code loans} by the archival job. Keeps the loan's original ID.
+ */
+@Getter
+@Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@ToString(exclude = {"encodedSchedule"})
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity @Table(name = "archived_loans",
+        indexes = @Index(name = "idx_archived_loans_customer", columnList = "customer_id"))
+public class ArchivedLoan implements Persistable<Long> {
+
+    @Id
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal loanAmount;
+
+    @Column(nullable = false)
+    private Integer numberOfInstallment;
+
+    @Column(nullable = false)
+    private LocalDate createDate;
+
+    @Column(nullable = false)
+    private LocalDate paidDate;
+
+    @Column(nullable = false, precision = 5, scale = 3)
+    private BigDecimal interestRate;
+
+    // Set when the loan was stored in compact form; otherwise its installments are in archived_loan_installments
+    @Column(name = "encoded_schedule", length = InstallmentScheduleCodec.MAX_ENCODED_LENGTH)
+    private byte[] encodedSchedule;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    // IDs are assigned, so tell Spring Data to persist instead of merging (which would select first)
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public static ArchivedLoan from(Loan loan, Instant archivedAt) {
+        return ArchivedLoan.builder()
+                .id(loan.getId())
+                .customerId(loan.getCustomer().getId())
+                .loanAmount(loan.getLoanAmount())
+                .numberOfInstallment(loan.getNumberOfInstallment())
+                .createDate(loan.getCreateDate())
+                .paidDate(loan.getPaidDate())
+                .interestRate(loan.getInterestRate())
+                .encodedSchedule(loan.getEncodedSchedule())
+                .archivedAt(archivedAt)
+                .build();
+    }
+
+    /**
+     * Detached view of the archived loan for the read paths shared with hot loans. Never persist it.
+     */
+    public Loan toLoan(Customer customer) {
+        return Loan.builder()
+                .id(id)
+                .customer(customer)
+                .loanAmount(loanAmount)
+                .numberOfInstallment(numberOfInstallment)
+                .createDate(createDate)
+                .paidDate(paidDate)
+                .isPaid(Boolean.TRUE)
+                .interestRate(interestRate)
+                .encodedSchedule(encodedSchedule)
+                .build();
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,79 @@
+package com.company.loan.loan_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * An installment of an {@link ArchivedLoan}. Keeps the installment's original ID.
+ */
+@Getter
+@Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity @Table(name = "archived_loan_installments",
+        indexes = @Index(name = "idx_archived_installments_loan", columnList = "loan_id"))
+public class ArchivedLoanInstallment implements Persistable<Long> {
+
+    @Id
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "loan_id", nullable = false)
+    private Long loanId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal paidAmount;
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    @Column
+    private LocalDate paymentDate;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public static ArchivedLoanInstallment from(LoanInstallment installment) {
+        return ArchivedLoanInstallment.builder()
+                .id(installment.getId())
+                .loanId(installment.getLoan().getId())
+                .amount(installment.getAmount())
+                .paidAmount(installment.getPaidAmount())
+                .dueDate(installment.getDueDate())
+                .paymentDate(installment.getPaymentDate())
+                .build();
+    }
+
+    public LoanInstallment toInstallment(Loan loan) {
+        return LoanInstallment.builder()
+                .id(id)
+                .loan(loan)
+                .amount(amount)
+                .paidAmount(paidAmount)
+                .dueDate(dueDate)
+                .paymentDate(paymentDate)
+                .isPaid(Boolean.TRUE)
+                .build();
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
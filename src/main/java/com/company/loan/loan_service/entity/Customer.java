@@ -1,5 +1,7 @@
 package com.company.loan.loan_service.entity;
 
+import com.company.loan.loan_service.changefeed.ChangeSequenceListener;
+import com.company.loan.loan_service.changefeed.ChangeTracked;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -14,7 +16,8 @@ import java.util.List;
 @ToString(exclude = {"loans"})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity @Table(name = "customers")
-public class Customer {
+@EntityListeners(ChangeSequenceListener.class)
+public class Customer implements ChangeTracked {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,6 +43,11 @@ public class Customer {
     @DecimalMin(value = "0.0", message = "Used credit limit cannot be negative")
     @Builder.Default
     private BigDecimal usedCreditLimit = BigDecimal.ZERO;
+
+    // Change-feed position, restamped on every insert and update; clients track theirs through the feed's cursor
+    @Column(name = "change_seq")
+    @JsonIgnore
+    private Long changeSeq;
     
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore //Added for risk of infinite loop in customer-loan relationship
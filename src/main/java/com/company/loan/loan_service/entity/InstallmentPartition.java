@@ -0,0 +1,34 @@
+package com.company.loan.loan_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Catalog entry for one due-month partition of {@code loan_installments}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity @Table(name = "installment_partitions")
+public class InstallmentPartition {
+
+    // yyyyMM, matching LoanInstallment.dueMonth
+    @Id
+    @EqualsAndHashCode.Include
+    private Integer dueMonth;
+
+    @Column(nullable = false)
+    private LocalDate rangeStart;
+
+    // Exclusive
+    @Column(nullable = false)
+    private LocalDate rangeEnd;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,188 @@
+package com.company.loan.loan_service.entity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of a loan's installment schedule, stored in {@link Loan#getEncodedSchedule()} instead of one
+ * {@link LoanInstallment} row per installment.
+ * <p>
+ * A schedule is monthly installments starting at the first due date, all equal except the last, which absorbs the
+ * rounding remainder. It is stored as a fixed header plus the payment day of each paid installment and the
+ * installment IDs:
+ * <pre>
+ * version:byte | count:byte | firstDueEpochDay:int | regularCents:long | lastCents:long | paidBitmap:long
+ * | idMode:byte | paymentEpochDay:int for each set bit, in installment order
+ * | firstId:long (contiguous IDs) or id:long for each installment (other IDs)
+ * </pre>
+ * Installments keep their IDs across encoding, so a loan migrated from rows answers with the same installment IDs.
+ * A schedule encoded before any ID was assigned (a new compact loan) derives them from the loan ID on decoding,
+ * above any database identity value and below 2<sup>53</sup> so JSON clients read them exactly; the first
+ * re-encoding stores them as contiguous. Version 1 schedules, which stored no IDs, decode with derived IDs too.
+ * <p>
+ * A 24-installment loan takes at most 135 bytes. Installments always settle in full, so a paid installment's paid
+ * amount is its amount. Amounts are kept in cents, rounded like the {@code scale = 2} installment columns.
+ */
+public final class InstallmentScheduleCodec {
+
+    public static final int MAX_ENCODED_LENGTH = 512;
+
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_IDS = 1;
+    private static final int MAX_INSTALLMENTS = Long.SIZE;
+    private static final int HEADER_BYTES = 1 + 1 + Integer.BYTES + Long.BYTES + Long.BYTES + Long.BYTES + 1;
+    private static final byte DERIVED_IDS = 0;
+    private static final byte CONTIGUOUS_IDS = 1;
+    private static final byte EXPLICIT_IDS = 2;
+    private static final long DERIVED_ID_BASE = 1L << 50;
+    private static final int NO_PAYMENT_DATE = Integer.MIN_VALUE;
+    private static final BigDecimal ZERO_AMOUNT = BigDecimal.valueOf(0, 2);
+
+    private InstallmentScheduleCodec() {
+    }
+
+    /**
+     * Encodes installments ordered by due date.
+     *
+     * @throws IllegalArgumentException if the installments do not follow the regular schedule layout, only some
+     *                                  have IDs, or the schedule could outgrow {@link #MAX_ENCODED_LENGTH} once paid
+     */
+    public static byte[] encode(List<LoanInstallment> installments) {
+        int count = installments.size();
+        if (count == 0 || count > MAX_INSTALLMENTS) {
+            throw new IllegalArgumentException("Cannot encode a schedule of " + count + " installments");
+        }
+
+        LocalDate firstDueDate = installments.get(0).getDueDate();
+        BigDecimal regularAmount = installments.get(0).getAmount();
+        long paidBitmap = 0;
+        int paidCount = 0;
+        for (int i = 0; i < count; i++) {
+            LoanInstallment installment = installments.get(i);
+            if (!installment.getDueDate().equals(firstDueDate.plusMonths(i))) {
+                throw new IllegalArgumentException("Installment " + i + " is not due monthly after " + firstDueDate);
+            }
+            if (i < count - 1 && installment.getAmount().compareTo(regularAmount) != 0) {
+                throw new IllegalArgumentException("Installment " + i + " differs from the regular amount");
+            }
+            BigDecimal expectedPaid = Boolean.TRUE.equals(installment.getIsPaid())
+                    ? installment.getAmount()
+                    : BigDecimal.ZERO;
+            if (installment.getPaidAmount().compareTo(expectedPaid) != 0) {
+                throw new IllegalArgumentException("Installment " + i + " is partially paid");
+            }
+            if (Boolean.TRUE.equals(installment.getIsPaid())) {
+                paidBitmap |= 1L << i;
+                paidCount++;
+            }
+        }
+
+        byte idMode = idMode(installments);
+        int idBytes = idMode == EXPLICIT_IDS ? count * Long.BYTES : idMode == CONTIGUOUS_IDS ? Long.BYTES : 0;
+        // Checked against a fully paid schedule, so no later payment makes the loan unencodable
+        if (HEADER_BYTES + count * Integer.BYTES + idBytes > MAX_ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Schedule of " + count + " installments with non-contiguous IDs "
+                    + "exceeds " + MAX_ENCODED_LENGTH + " bytes");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + paidCount * Integer.BYTES + idBytes)
+                .put(VERSION)
+                .put((byte) count)
+                .putInt(Math.toIntExact(firstDueDate.toEpochDay()))
+                .putLong(toCents(regularAmount))
+                .putLong(toCents(installments.get(count - 1).getAmount()))
+                .putLong(paidBitmap)
+                .put(idMode);
+        for (int i = 0; i < count; i++) {
+            if ((paidBitmap & (1L << i)) != 0) {
+                LocalDate paymentDate = installments.get(i).getPaymentDate();
+                buffer.putInt(paymentDate != null ? Math.toIntExact(paymentDate.toEpochDay()) : NO_PAYMENT_DATE);
+            }
+        }
+        if (idMode == CONTIGUOUS_IDS) {
+            buffer.putLong(installments.get(0).getId());
+        } else if (idMode == EXPLICIT_IDS) {
+            installments.forEach(installment -> buffer.putLong(installment.getId()));
+        }
+        return buffer.array();
+    }
+
+    public static List<LoanInstallment> decode(Loan loan) {
+        return decode(loan.getEncodedSchedule(), loan);
+    }
+
+    /**
+     * Decodes a schedule into transient installments ordered by due date, attached to the given loan (which may
+     * be {@code null} when only amounts and dates are needed). Derived IDs are only set when the loan has an ID.
+     */
+    public static List<LoanInstallment> decode(byte[] encoded, Loan loan) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        byte version = buffer.get();
+        if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+            throw new IllegalArgumentException("Unsupported schedule encoding version " + version);
+        }
+        int count = buffer.get();
+        LocalDate firstDueDate = LocalDate.ofEpochDay(buffer.getInt());
+        BigDecimal regularAmount = BigDecimal.valueOf(buffer.getLong(), 2);
+        BigDecimal lastAmount = BigDecimal.valueOf(buffer.getLong(), 2);
+        long paidBitmap = buffer.getLong();
+        byte idMode = version == VERSION ? buffer.get() : DERIVED_IDS;
+
+        List<LoanInstallment> installments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BigDecimal amount = i < count - 1 ? regularAmount : lastAmount;
+            boolean paid = (paidBitmap & (1L << i)) != 0;
+
+            LoanInstallment installment = new LoanInstallment();
+            installment.setLoan(loan);
+            installment.setAmount(amount);
+            installment.setDueDate(firstDueDate.plusMonths(i));
+            installment.setIsPaid(paid);
+            installment.setPaidAmount(paid ? amount : ZERO_AMOUNT);
+            if (paid) {
+                int paymentDay = buffer.getInt();
+                installment.setPaymentDate(paymentDay != NO_PAYMENT_DATE ? LocalDate.ofEpochDay(paymentDay) : null);
+            }
+            installments.add(installment);
+        }
+
+        if (idMode == CONTIGUOUS_IDS) {
+            long firstId = buffer.getLong();
+            for (int i = 0; i < count; i++) {
+                installments.get(i).setId(firstId + i);
+            }
+        } else if (idMode == EXPLICIT_IDS) {
+            installments.forEach(installment -> installment.setId(buffer.getLong()));
+        } else if (loan != null && loan.getId() != null) {
+            long firstId = DERIVED_ID_BASE + loan.getId() * MAX_INSTALLMENTS;
+            for (int i = 0; i < count; i++) {
+                installments.get(i).setId(firstId + i);
+            }
+        }
+        return installments;
+    }
+
+    private static byte idMode(List<LoanInstallment> installments) {
+        Long firstId = installments.get(0).getId();
+        boolean contiguous = true;
+        for (int i = 0; i < installments.size(); i++) {
+            Long id = installments.get(i).getId();
+            if ((id == null) != (firstId == null)) {
+                throw new IllegalArgumentException("Installment " + i + " differs from the first in having an ID");
+            }
+            contiguous &= id == null || id == firstId + i;
+        }
+        if (firstId == null) {
+            return DERIVED_IDS;
+        }
+        return contiguous ? CONTIGUOUS_IDS : EXPLICIT_IDS;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
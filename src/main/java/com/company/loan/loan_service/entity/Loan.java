@@ -1,5 +1,7 @@
 package com.company.loan.loan_service.entity;
 
+import com.company.loan.loan_service.changefeed.ChangeSequenceListener;
+import com.company.loan.loan_service.changefeed.ChangeTracked;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -12,12 +14,16 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "loans")
+@Table(name = "loans", indexes = {
+        @Index(name = "idx_loans_paid", columnList = "is_paid, paid_date"),
+        @Index(name = "idx_loans_customer_change_seq", columnList = "customer_id, change_seq")
+})
+@EntityListeners(ChangeSequenceListener.class)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Loan {
+public class Loan implements ChangeTracked {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -47,6 +53,10 @@ public class Loan {
     @Builder.Default
     private Boolean isPaid = Boolean.FALSE;
 
+    // Payment date of the installment that completed the loan; drives archival
+    @Column
+    private LocalDate paidDate;
+
     @OneToMany(mappedBy = "loan", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     //orphanRemoval = true; because if the credit is deleted, the installments should also be cleared.
     @OrderBy("dueDate ASC")
@@ -58,6 +68,22 @@ public class Loan {
     @DecimalMax(value = "0.5", message = "Interest rate must not exceed 0.5")
     private BigDecimal interestRate;
 
+    /**
+     * Installment schedule in compact form (see {@link InstallmentScheduleCodec}); {@code null} when the
+     * installments are stored as {@code loan_installments} rows.
+     */
+    @Column(name = "encoded_schedule", length = InstallmentScheduleCodec.MAX_ENCODED_LENGTH)
+    private byte[] encodedSchedule;
+
+    // Change-feed position, restamped on every insert and update
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    // Bumped whenever the installment schedule changes; drives the ETag of the installments endpoint
+    @Column(name = "schedule_version")
+    @Builder.Default
+    private Long scheduleVersion = 0L;
+
     @PrePersist
     protected void onCreate() {
         if (createDate == null) {
@@ -68,6 +94,14 @@ public class Loan {
         }
     }
 
+    public boolean hasEncodedSchedule() {
+        return encodedSchedule != null;
+    }
+
+    public void bumpScheduleVersion() {
+        scheduleVersion = scheduleVersion != null ? scheduleVersion + 1 : 1;
+    }
+
     public boolean isValidInstallmentCount() {
         return numberOfInstallment != null &&
                 (numberOfInstallment == 6 || numberOfInstallment == 9 ||
@@ -0,0 +1,61 @@
+package com.company.loan.loan_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * An entry in a loan's event history. Events are append-only and numbered per loan by {@code version}; the unique
+ * key on {@code (loan_id, version)} rejects a concurrent append computed from the same history.
+ */
+@Getter
+@Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity @Table(name = "loan_events",
+        uniqueConstraints = @UniqueConstraint(name = "uk_loan_events_loan_version", columnNames = {"loan_id", "version"}))
+public class LoanEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "loan_id", nullable = false)
+    private Long loanId;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Type type;
+
+    // Business date: the loan's create date or the payment date
+    @Column(nullable = false)
+    private LocalDate occurredOn;
+
+    // LOAN_CREATED: total repayable amount; INSTALLMENT_PAID: installment amount
+    @Column(precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    // LOAN_CREATED: number of installments
+    private Integer installmentCount;
+
+    // INSTALLMENT_PAID only
+    private LocalDate dueDate;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal effectiveAmount;
+
+    @Column(nullable = false)
+    private Instant recordedAt;
+
+    public enum Type {
+        LOAN_CREATED, INSTALLMENT_PAID, LOAN_CLOSED
+    }
+}
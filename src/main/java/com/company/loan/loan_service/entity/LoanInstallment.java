@@ -1,5 +1,7 @@
 package com.company.loan.loan_service.entity;
 
+import com.company.loan.loan_service.changefeed.ChangeSequenceListener;
+import com.company.loan.loan_service.changefeed.ChangeTracked;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -11,12 +13,17 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "loan_installments")
+@Table(name = "loan_installments", indexes = {
+        @Index(name = "idx_installments_loan_due_month", columnList = "loan_id, due_month"),
+        @Index(name = "idx_installments_due_month", columnList = "due_month, is_paid"),
+        @Index(name = "idx_installments_change_seq", columnList = "change_seq")
+})
+@EntityListeners(ChangeSequenceListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class LoanInstallment {
+public class LoanInstallment implements ChangeTracked {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -43,10 +50,18 @@ public class LoanInstallment {
     
     @Column
     private LocalDate paymentDate;
+
+    // Partition key (yyyyMM of dueDate); date-bounded queries filter on it so partitions outside the range are pruned
+    @Column(name = "due_month", nullable = false)
+    private Integer dueMonth;
     
     @Column(nullable = false)
     @NotNull(message = "Paid status cannot be null")
     private Boolean isPaid = Boolean.FALSE;
+
+    // Change-feed position, restamped on every insert and update
+    @Column(name = "change_seq")
+    private Long changeSeq;
     
     @PrePersist
     protected void onCreate() {
@@ -56,6 +71,16 @@ public class LoanInstallment {
         if (isPaid == null) {
             isPaid = Boolean.FALSE;
         }
+        dueMonth = dueMonthOf(dueDate);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        dueMonth = dueMonthOf(dueDate);
+    }
+
+    public static int dueMonthOf(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
     }
 
     public BigDecimal getRemainingAmount() {
@@ -0,0 +1,54 @@
+package com.company.loan.loan_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A loan's state folded from its events up to and including {@code version}. {@code asOf} is the latest business
+ * date among those events, so the snapshot is a valid starting point for any point-in-time query on or after it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity @Table(name = "loan_snapshots",
+        indexes = @Index(name = "idx_loan_snapshots_loan_as_of", columnList = "loan_id, as_of"))
+public class LoanSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "loan_id", nullable = false)
+    private Long loanId;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDate asOf;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal paidAmount;
+
+    @Column(nullable = false)
+    private Integer installmentCount;
+
+    @Column(nullable = false)
+    private Integer paidInstallmentCount;
+
+    @Column(nullable = false)
+    private Boolean closed;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,42 @@
+package com.company.loan.loan_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A domain event waiting to be relayed to downstream systems. Written in the transaction that produced the event
+ * and deleted once the relay has handed it to the sink.
+ */
+@Getter
+@Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@ToString(exclude = {"payload"})
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity @Table(name = "outbox_events")
+public class OutboxEvent {
+
+    // Relay order; events of one loan are delivered in ID order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 64)
+    private String eventType;
+
+    // JSON
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
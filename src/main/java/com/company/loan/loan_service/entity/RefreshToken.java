@@ -0,0 +1,40 @@
+package com.company.loan.loan_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@ToString(exclude = {"tokenHash"})
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity @Table(name = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    // SHA-256 of the opaque token; the token itself is never stored
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    // Comma separated role names, so a refresh does not need to load the user
+    @Column(nullable = false)
+    private String roles;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,28 @@
+package com.company.loan.loan_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity @Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    // JWT ID (jti claim) of the revoked access token
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(length = 36)
+    private String tokenId;
+
+    // Rows can be purged once the token would have expired anyway
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
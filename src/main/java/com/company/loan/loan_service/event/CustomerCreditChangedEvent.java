@@ -0,0 +1,16 @@
+package com.company.loan.loan_service.event;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Published by {@code CustomerService} when a customer is created or its credit limit changes.
+ */
+@Value
+public class CustomerCreditChangedEvent {
+    
+    Long customerId;
+    BigDecimal creditLimit;
+    BigDecimal usedCreditLimit;
+}
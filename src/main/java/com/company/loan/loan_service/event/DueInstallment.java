@@ -0,0 +1,18 @@
+package com.company.loan.loan_service.event;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * An unpaid installment, identified by its loan and due date, as carried by installment timer events.
+ */
+@Value
+public class DueInstallment {
+    
+    Long loanId;
+    Long customerId;
+    LocalDate dueDate;
+    BigDecimal amount;
+}
@@ -0,0 +1,17 @@
+package com.company.loan.loan_service.event;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published once per day with every unpaid installment whose reminder fell due that day, for sending due
+ * reminders.
+ */
+@Value
+public class InstallmentsDueSoonEvent {
+    
+    LocalDate date;
+    List<DueInstallment> installments;
+}
@@ -0,0 +1,17 @@
+package com.company.loan.loan_service.event;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published once per day with every installment that became overdue that day, i.e. whose due date was the day
+ * before and which is still unpaid.
+ */
+@Value
+public class InstallmentsOverdueEvent {
+    
+    LocalDate date;
+    List<DueInstallment> installments;
+}
@@ -0,0 +1,34 @@
+package com.company.loan.loan_service.event;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by {@code LoanService} after a payment has settled one or more installments.
+ * <p>
+ * {@code unpaidInstallmentCount} is the count after the payment, so consumers can tell whether they have already
+ * seen its effect. {@code customerUsedCreditLimit} is only set when the payment completed the loan and released
+ * credit; it is {@code null} otherwise.
+ */
+@Value
+public class InstallmentsPaidEvent {
+    
+    Long loanId;
+    Long customerId;
+    LocalDate paymentDate;
+    List<PaidInstallment> paidInstallments;
+    int unpaidInstallmentCount;
+    boolean loanComplete;
+    BigDecimal customerUsedCreditLimit;
+    
+    @Value
+    public static class PaidInstallment {
+        Long installmentId;
+        BigDecimal amount;
+        BigDecimal effectiveAmount;
+        LocalDate dueDate;
+    }
+}
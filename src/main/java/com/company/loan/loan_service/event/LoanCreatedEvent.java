@@ -0,0 +1,29 @@
+package com.company.loan.loan_service.event;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by {@code LoanService} once a loan and its installment schedule have been persisted.
+ */
+@Value
+public class LoanCreatedEvent {
+    
+    Long loanId;
+    Long customerId;
+    BigDecimal loanAmount;
+    LocalDate createDate;
+    List<ScheduledInstallment> installments;
+    BigDecimal customerCreditLimit;
+    BigDecimal customerUsedCreditLimit;
+    
+    @Value
+    public static class ScheduledInstallment {
+        Long installmentId;
+        BigDecimal amount;
+        LocalDate dueDate;
+    }
+}
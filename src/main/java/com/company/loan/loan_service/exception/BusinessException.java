@@ -3,6 +3,13 @@ package com.company.loan.loan_service.exception;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+/**
+ * Base class for expected business rejections.
+ * <p>
+ * These are control flow rather than bugs, so by default they skip {@code fillInStackTrace}: the error code
+ * and message identify the rejection and capturing the stack would dominate the cost of a declined request.
+ * Subclasses that do want a trace can use the four-argument constructor.
+ */
 @Getter
 public class BusinessException extends RuntimeException {
     
@@ -10,8 +17,12 @@ public class BusinessException extends RuntimeException {
     private final String errorCode;
     
     public BusinessException(String message, String errorCode, HttpStatus httpStatus) {
-        super(message);
+        this(message, errorCode, httpStatus, false);
+    }
+    
+    protected BusinessException(String message, String errorCode, HttpStatus httpStatus, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
         this.httpStatus = httpStatus;
         this.errorCode = errorCode;
     }
-}
\ No newline at end of file
+}
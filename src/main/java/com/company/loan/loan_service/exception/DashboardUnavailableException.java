@@ -0,0 +1,12 @@
+package com.company.loan.loan_service.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class DashboardUnavailableException extends BusinessException {
+    
+    public DashboardUnavailableException(String message) {
+        super(message, 
+              "DASHBOARD_UNAVAILABLE", 
+              HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,12 @@
+package com.company.loan.loan_service.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class EventStreamSaturatedException extends BusinessException {
+    
+    public EventStreamSaturatedException() {
+        super("Too many event streams are open, please retry shortly", 
+              "EVENT_STREAM_SATURATED", 
+              HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
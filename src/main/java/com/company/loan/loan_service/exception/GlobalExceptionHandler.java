@@ -1,5 +1,6 @@
 package com.company.loan.loan_service.exception;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,12 +16,17 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
     
+    private final RejectionLogSampler rejectionLogSampler;
+    
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex, WebRequest request) {
-        log.error("Business exception: {}", ex.getMessage(), ex);
+        String path = request.getDescription(false).replace("uri=", "");
+        // Expected rejections: counted per error code, logged sampled and without a stack trace
+        rejectionLogSampler.record(ex, path);
         
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
@@ -28,7 +34,7 @@ public class GlobalExceptionHandler {
                 .error(ex.getHttpStatus().getReasonPhrase())
                 .errorCode(ex.getErrorCode())
                 .message(ex.getMessage())
-                .path(request.getDescription(false).replace("uri=", ""))
+                .path(path)
                 .build();
         
         return ResponseEntity.status(ex.getHttpStatus()).body(errorResponse);
@@ -0,0 +1,12 @@
+package com.company.loan.loan_service.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidFieldSelectionException extends BusinessException {
+    
+    public InvalidFieldSelectionException(String field, String allowed) {
+        super(String.format("Unknown field '%s'; selectable fields are %s", field, allowed), 
+              "INVALID_FIELD_SELECTION", 
+              HttpStatus.BAD_REQUEST);
+    }
+}
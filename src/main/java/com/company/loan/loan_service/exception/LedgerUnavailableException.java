@@ -0,0 +1,12 @@
+package com.company.loan.loan_service.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class LedgerUnavailableException extends BusinessException {
+    
+    public LedgerUnavailableException() {
+        super("Balance information is being loaded, please retry shortly", 
+              "LEDGER_UNAVAILABLE", 
+              HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,14 @@
+package com.company.loan.loan_service.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+
+public class LoanHistoryUnavailableException extends BusinessException {
+    
+    public LoanHistoryUnavailableException(Long loanId, LocalDate asOf) {
+        super(String.format("No history for loan %d on or before %s", loanId, asOf), 
+              "LOAN_HISTORY_UNAVAILABLE", 
+              HttpStatus.NOT_FOUND);
+    }
+}
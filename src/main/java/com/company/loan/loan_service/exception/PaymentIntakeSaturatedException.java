@@ -0,0 +1,12 @@
+package com.company.loan.loan_service.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class PaymentIntakeSaturatedException extends BusinessException {
+    
+    public PaymentIntakeSaturatedException() {
+        super("Too many payments are waiting to be committed, please retry shortly", 
+              "PAYMENT_INTAKE_SATURATED", 
+              HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
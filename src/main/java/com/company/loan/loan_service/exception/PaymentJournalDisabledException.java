@@ -0,0 +1,12 @@
+package com.company.loan.loan_service.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class PaymentJournalDisabledException extends BusinessException {
+    
+    public PaymentJournalDisabledException() {
+        super("The payment journal is disabled (payment-journal.enabled=false), so there is nothing to verify", 
+              "PAYMENT_JOURNAL_DISABLED", 
+              HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.loan.loan_service.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts every {@link BusinessException} per error code and logs at most one WARN line per code per interval.
+ * <p>
+ * A burst of declined payments would otherwise write one log line per request. Rejections inside the interval
+ * are only counted and reported as "suppressed" with the next sampled line; individual rejections are still
+ * available at DEBUG.
+ */
+@Component
+@Slf4j
+public class RejectionLogSampler {
+
+    private final MeterRegistry meterRegistry;
+    private final long intervalNanos;
+    private final Map<String, CodeState> states = new ConcurrentHashMap<>();
+
+    public RejectionLogSampler(MeterRegistry meterRegistry,
+                               @Value("${business-exception.log-interval-ms:10000}") long intervalMs) {
+        this.meterRegistry = meterRegistry;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+    }
+
+    public void record(BusinessException ex, String path) {
+        CodeState state = states.computeIfAbsent(ex.getErrorCode(), this::newState);
+        state.counter.increment();
+
+        long now = System.nanoTime();
+        long nextLogAt = state.nextLogAt.get();
+        if (now - nextLogAt >= 0 && state.nextLogAt.compareAndSet(nextLogAt, now + intervalNanos)) {
+            log.warn("Business rejection [{}] on {}: {} ({} similar rejections suppressed)",
+                    ex.getErrorCode(), path, ex.getMessage(), state.suppressed.sumThenReset());
+        } else {
+            state.suppressed.increment();
+            log.debug("Business rejection [{}] on {}: {}", ex.getErrorCode(), path, ex.getMessage());
+        }
+    }
+
+    private CodeState newState(String errorCode) {
+        Counter counter = Counter.builder("business.rejections")
+                .tag("code", errorCode)
+                .description("Business exceptions returned to clients")
+                .register(meterRegistry);
+        return new CodeState(counter, System.nanoTime());
+    }
+
+    private static final class CodeState {
+        private final Counter counter;
+        private final AtomicLong nextLogAt;
+        private final LongAdder suppressed = new LongAdder();
+
+        private CodeState(Counter counter, long nextLogAt) {
+            this.counter = counter;
+            this.nextLogAt = new AtomicLong(nextLogAt);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.company.loan.loan_service.journal;
+
+import lombok.Value;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Binary layout of payment journal segments.
+ * <pre>
+ * segment: magic:int | version:int | firstSequence:long | previousChecksum:long | record... | zero fill
+ * record:  length:int | sequence:long | loanId:long | paymentEpochDay:int | entryCount:int
+ *          | (installmentId:long | dueEpochDay:int | amountCents:long | effectiveAmountCents:long) per entry
+ *          | checksum:long
+ * </pre>
+ * A record's checksum is the first 8 bytes of the HMAC-SHA256, under the journal's key, of the previous record's
+ * checksum, its length and its body, so the records form a chain across segments: a segment header carries the
+ * checksum the chain continues from. Without the key an edited record cannot be given a checksum that verifies.
+ * The length is written last, so a zero length marks the end of the written records and a torn write fails its
+ * checksum.
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x504A524E;
+    static final int VERSION = 2;
+    static final int MIN_KEY_BYTES = 32;
+    static final int SEGMENT_HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final int CHECKSUM_BYTES = Long.BYTES;
+    private static final long NO_INSTALLMENT_ID = 0;
+    private static final String SEGMENT_PREFIX = "payments-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private JournalFormat() {
+    }
+
+    static int recordLength(int entryCount) {
+        return RECORD_HEADER_BYTES + entryCount * ENTRY_BYTES + CHECKSUM_BYTES;
+    }
+
+    /**
+     * A MAC for checksumming records; like the buffers it is used with, it must not be shared between threads.
+     */
+    static Mac newMac(byte[] key) {
+        if (key.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("The journal key must be at least " + MIN_KEY_BYTES + " bytes");
+        }
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, MAC_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + MAC_ALGORITHM, e);
+        }
+    }
+
+    static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Segment files of a journal directory in sequence order; empty if the directory does not exist.
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static void writeHeader(ByteBuffer segment, long firstSequence, long previousChecksum) {
+        segment.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putLong(8, firstSequence)
+                .putLong(16, previousChecksum);
+    }
+
+    /**
+     * @return the header, or {@code null} if the segment does not start with a valid one
+     */
+    static SegmentHeader readHeader(ByteBuffer segment) {
+        if (segment.limit() < SEGMENT_HEADER_BYTES
+                || segment.getInt(0) != MAGIC
+                || segment.getInt(4) != VERSION) {
+            return null;
+        }
+        return new SegmentHeader(segment.getLong(8), segment.getLong(16));
+    }
+
+    /**
+     * Writes a record at {@code position}, which must have {@link #recordLength} bytes of room.
+     *
+     * @return the record's checksum
+     */
+    static long writeRecord(ByteBuffer segment, int position, JournalRecord record, long previousChecksum, Mac mac) {
+        List<JournalRecord.Entry> entries = record.getEntries();
+        int length = recordLength(entries.size());
+        segment.putLong(position + 4, record.getSequence())
+                .putLong(position + 12, record.getLoanId())
+                .putInt(position + 20, Math.toIntExact(record.getPaymentDate().toEpochDay()))
+                .putInt(position + 24, entries.size());
+        int entryPosition = position + RECORD_HEADER_BYTES;
+        for (JournalRecord.Entry entry : entries) {
+            segment.putLong(entryPosition, entry.getInstallmentId() != null ? entry.getInstallmentId() : NO_INSTALLMENT_ID)
+                    .putInt(entryPosition + 8, Math.toIntExact(entry.getDueDate().toEpochDay()))
+                    .putLong(entryPosition + 12, entry.getAmountCents())
+                    .putLong(entryPosition + 20, entry.getEffectiveAmountCents());
+            entryPosition += ENTRY_BYTES;
+        }
+        long checksum = checksum(mac, previousChecksum, length, segment, position);
+        segment.putLong(position + length - CHECKSUM_BYTES, checksum);
+        segment.putInt(position, length);
+        return checksum;
+    }
+
+    /**
+     * Reads the records of one segment, checking each checksum against the chain and each sequence number,
+     * and stops after {@code maxSequence}, at the end of the written records or at the first damaged record.
+     */
+    static SegmentScan scan(ByteBuffer segment, SegmentHeader header, long maxSequence, Mac mac,
+                            Consumer<JournalRecord> consumer) {
+        int position = SEGMENT_HEADER_BYTES;
+        long sequence = header.getFirstSequence();
+        long checksum = header.getPreviousChecksum();
+        while (sequence <= maxSequence && position + Integer.BYTES <= segment.limit()) {
+            int length = segment.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < recordLength(0)
+                    || (length - recordLength(0)) % ENTRY_BYTES != 0
+                    || length > segment.limit() - position) {
+                return new SegmentScan(position, sequence, checksum,
+                        "Invalid length " + length + " for record " + sequence);
+            }
+            long storedChecksum = segment.getLong(position + length - CHECKSUM_BYTES);
+            if (storedChecksum != checksum(mac, checksum, length, segment, position)) {
+                return new SegmentScan(position, sequence, checksum, "Checksum mismatch in record " + sequence);
+            }
+            JournalRecord record = readRecord(segment, position, length);
+            if (record.getSequence() != sequence) {
+                return new SegmentScan(position, sequence, checksum,
+                        "Expected record " + sequence + " but found " + record.getSequence());
+            }
+            consumer.accept(record);
+            checksum = storedChecksum;
+            sequence++;
+            position += length;
+        }
+        return new SegmentScan(position, sequence, checksum, null);
+    }
+
+    private static JournalRecord readRecord(ByteBuffer segment, int position, int length) {
+        int entryCount = segment.getInt(position + 24);
+        if (recordLength(entryCount) != length) {
+            throw new IllegalStateException("Entry count " + entryCount + " does not match record length " + length);
+        }
+        List<JournalRecord.Entry> entries = new ArrayList<>(entryCount);
+        int entryPosition = position + RECORD_HEADER_BYTES;
+        for (int i = 0; i < entryCount; i++) {
+            long installmentId = segment.getLong(entryPosition);
+            entries.add(new JournalRecord.Entry(
+                    installmentId != NO_INSTALLMENT_ID ? installmentId : null,
+                    LocalDate.ofEpochDay(segment.getInt(entryPosition + 8)),
+                    segment.getLong(entryPosition + 12),
+                    segment.getLong(entryPosition + 20)));
+            entryPosition += ENTRY_BYTES;
+        }
+        return new JournalRecord(
+                segment.getLong(position + 4),
+                segment.getLong(position + 12),
+                LocalDate.ofEpochDay(segment.getInt(position + 20)),
+                entries);
+    }
+
+    private static long checksum(Mac mac, long previousChecksum, int length, ByteBuffer segment, int position) {
+        mac.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(previousChecksum).putInt(length).flip());
+        mac.update(segment.slice(position + Integer.BYTES, length - Integer.BYTES - CHECKSUM_BYTES));
+        return ByteBuffer.wrap(mac.doFinal()).getLong();
+    }
+
+    @Value
+    static class SegmentHeader {
+        long firstSequence;
+        long previousChecksum;
+    }
+
+    /**
+     * Where a segment scan stopped: the end of its valid records, the sequence and checksum the chain continues
+     * from, and why it stopped early ({@code null} if it did not).
+     */
+    @Value
+    static class SegmentScan {
+        int endPosition;
+        long nextSequence;
+        long lastChecksum;
+        String problem;
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.loan.loan_service.journal;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One journaled payment: the installments it settled, with amounts in cents.
+ */
+@Value
+public class JournalRecord {
+
+    long sequence;
+    long loanId;
+    LocalDate paymentDate;
+    List<Entry> entries;
+
+    /**
+     * A settled installment. {@code installmentId} is {@code null} for compact schedules, whose installments are
+     * identified by loan and due date.
+     */
+    @Value
+    public static class Entry {
+        Long installmentId;
+        LocalDate dueDate;
+        long amountCents;
+        long effectiveAmountCents;
+    }
+}
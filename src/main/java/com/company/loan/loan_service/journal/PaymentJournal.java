@@ -0,0 +1,218 @@
+package com.company.loan.loan_service.journal;
+
+import com.company.loan.loan_service.event.InstallmentsPaidEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only audit journal of payments ({@code payment-journal.enabled}).
+ * <p>
+ * Every committed payment is appended as one binary record (see {@link JournalFormat}) to a memory-mapped segment
+ * file of {@code payment-journal.segment-size-bytes}; a full segment is forced to disk and the next one started.
+ * Appends are plain memory writes, flushed every {@code payment-journal.force-interval-ms}, so the audit trail adds
+ * no database writes to a payment. The checksum chain, keyed with {@code payment-journal.hmac-key}, makes edits
+ * and corruption detectable with {@link PaymentJournalReader}; keep the key away from whoever can write the files.
+ * <p>
+ * On startup the last segment is scanned to find where the chain ends. A damaged tail, left by a crash mid-append,
+ * is kept as it is and the journal continues in a new segment from the last valid record.
+ */
+@Component
+@Slf4j
+public class PaymentJournal implements DisposableBean {
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSizeBytes;
+    private final byte[] hmacKey;
+    private final Mac mac;
+    private final Counter recordCounter;
+    private final Counter failureCounter;
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private long nextSequence;
+    private long lastChecksum;
+
+    public PaymentJournal(MeterRegistry meterRegistry,
+                          @Value("${payment-journal.enabled:false}") boolean enabled,
+                          @Value("${payment-journal.directory:journal}") String directory,
+                          @Value("${payment-journal.segment-size-bytes:67108864}") int segmentSizeBytes,
+                          @Value("${payment-journal.hmac-key:}") String hmacKey) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.hmacKey = hmacKey.getBytes(StandardCharsets.UTF_8);
+        // Fails startup rather than writing a journal nobody can verify
+        this.mac = enabled ? JournalFormat.newMac(this.hmacKey) : null;
+
+        this.recordCounter = Counter.builder("payment.journal.records")
+                .description("Payments appended to the journal")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("payment.journal.failures")
+                .description("Committed payments that could not be journaled")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = JournalFormat.listSegments(directory);
+        if (segments.isEmpty()) {
+            startSegment(1, 0);
+        } else {
+            recover(segments.get(segments.size() - 1));
+        }
+        log.info("Payment journal opened in {} at sequence {}", directory.toAbsolutePath(), nextSequence);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    byte[] getHmacKey() {
+        return hmacKey;
+    }
+
+    /**
+     * @return the sequence of the last appended record, 0 if there is none
+     */
+    public synchronized long getLastSequence() {
+        return nextSequence - 1;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInstallmentsPaid(InstallmentsPaidEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<JournalRecord.Entry> entries = event.getPaidInstallments().stream()
+                .map(installment -> new JournalRecord.Entry(
+                        installment.getInstallmentId(),
+                        installment.getDueDate(),
+                        toCents(installment.getAmount()),
+                        toCents(installment.getEffectiveAmount())))
+                .collect(Collectors.toList());
+        try {
+            append(event.getLoanId(), event.getPaymentDate(), entries);
+        } catch (IOException | RuntimeException e) {
+            // The payment has committed; a missing record shows up as a mismatch in verification
+            failureCounter.increment();
+            log.error("Could not journal payment for loan {} on {}", event.getLoanId(), event.getPaymentDate(), e);
+        }
+    }
+
+    /**
+     * @return the sequence number of the appended record
+     */
+    public synchronized long append(long loanId, LocalDate paymentDate, List<JournalRecord.Entry> entries) throws IOException {
+        if (segment == null) {
+            throw new IllegalStateException("Payment journal is not open");
+        }
+        int length = JournalFormat.recordLength(entries.size());
+        if (length > segmentSizeBytes - JournalFormat.SEGMENT_HEADER_BYTES) {
+            throw new IllegalArgumentException("A record of " + entries.size() + " installments does not fit a segment");
+        }
+        if (position + length > segment.limit()) {
+            closeSegment();
+            startSegment(nextSequence, lastChecksum);
+        }
+
+        JournalRecord record = new JournalRecord(nextSequence, loanId, paymentDate, entries);
+        lastChecksum = JournalFormat.writeRecord(segment, position, record, lastChecksum, mac);
+        position += length;
+        recordCounter.increment();
+        return nextSequence++;
+    }
+
+    @Scheduled(fixedDelayString = "${payment-journal.force-interval-ms:1000}")
+    public synchronized void force() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (segment != null) {
+            closeSegment();
+        }
+    }
+
+    private void recover(Path last) throws IOException {
+        mapSegment(last, false);
+        JournalFormat.SegmentHeader header = JournalFormat.readHeader(segment);
+        if (header == null) {
+            throw new IllegalStateException("Payment journal segment " + last + " has no valid header");
+        }
+        JournalFormat.SegmentScan scan = JournalFormat.scan(segment, header, Long.MAX_VALUE, mac, record -> { });
+        nextSequence = scan.getNextSequence();
+        lastChecksum = scan.getLastChecksum();
+        position = scan.getEndPosition();
+        if (scan.getProblem() != null) {
+            log.warn("Payment journal segment {} ends in a damaged record ({}); continuing in a new segment",
+                    last.getFileName(), scan.getProblem());
+            closeSegment();
+            if (position == JournalFormat.SEGMENT_HEADER_BYTES) {
+                // Nothing valid to keep in the chain; set the file aside so its replacement can take its name
+                Files.move(last, last.resolveSibling(last.getFileName() + ".damaged"));
+            }
+            startSegment(nextSequence, lastChecksum);
+        }
+    }
+
+    private void startSegment(long firstSequence, long previousChecksum) throws IOException {
+        mapSegment(directory.resolve(JournalFormat.segmentName(firstSequence)), true);
+        JournalFormat.writeHeader(segment, firstSequence, previousChecksum);
+        position = JournalFormat.SEGMENT_HEADER_BYTES;
+        nextSequence = firstSequence;
+        lastChecksum = previousChecksum;
+    }
+
+    private void mapSegment(Path path, boolean create) throws IOException {
+        channel = create
+                ? FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, create ? segmentSizeBytes : channel.size());
+    }
+
+    private void closeSegment() throws IOException {
+        segment.force();
+        channel.close();
+        segment = null;
+        channel = null;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,124 @@
+package com.company.loan.loan_service.journal;
+
+import com.company.loan.loan_service.dto.LoanInstallmentResponse;
+import com.company.loan.loan_service.dto.PaymentJournalVerificationResponse;
+import com.company.loan.loan_service.exception.LoanNotFoundException;
+import com.company.loan.loan_service.exception.PaymentJournalDisabledException;
+import com.company.loan.loan_service.service.LoanService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds installment paid-state from the payment journal and compares it with the stored loans.
+ * <p>
+ * Every journaled installment must be paid, on the journaled date, in the loan as the service returns it (installment
+ * rows, compact schedule or archive). Installments paid before the journal was enabled are not checked.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentJournalAudit {
+
+    private static final int MAX_REPORTED_LOANS = 100;
+
+    private final PaymentJournal paymentJournal;
+    private final LoanService loanService;
+
+    /**
+     * Paid installments per loan: due date to payment date, as recorded in the journal.
+     *
+     * @throws PaymentJournalDisabledException if the journal is disabled
+     */
+    public Map<Long, Map<LocalDate, LocalDate>> rebuildPaidState(long maxSequence) {
+        Map<Long, Map<LocalDate, LocalDate>> paidState = new HashMap<>();
+        readJournal(maxSequence, paidState);
+        return paidState;
+    }
+
+    /**
+     * @throws PaymentJournalDisabledException if the journal is disabled
+     */
+    public PaymentJournalVerificationResponse verify() {
+        long start = System.currentTimeMillis();
+        // Only records appended before the audit started are read; later ones may still be in flight
+        paymentJournal.force();
+        Map<Long, Map<LocalDate, LocalDate>> paidState = new HashMap<>();
+        PaymentJournalReader.Verification verification = readJournal(paymentJournal.getLastSequence(), paidState);
+
+        int mismatchedInstallments = 0;
+        List<Long> mismatchedLoanIds = new ArrayList<>();
+        for (Map.Entry<Long, Map<LocalDate, LocalDate>> loan : paidState.entrySet()) {
+            int mismatches = countMismatches(loan.getKey(), loan.getValue());
+            if (mismatches > 0) {
+                mismatchedInstallments += mismatches;
+                if (mismatchedLoanIds.size() < MAX_REPORTED_LOANS) {
+                    mismatchedLoanIds.add(loan.getKey());
+                }
+            }
+        }
+
+        if (!verification.isIntact() || mismatchedInstallments > 0) {
+            log.warn("Payment journal verification failed: chain {} ({}), {} mismatched installments",
+                    verification.isIntact() ? "intact" : "broken", verification.getProblem(), mismatchedInstallments);
+        }
+        return PaymentJournalVerificationResponse.builder()
+                .segments(verification.getSegments())
+                .records(verification.getRecords())
+                .lastSequence(verification.getLastSequence())
+                .lastChecksum(Long.toHexString(verification.getLastChecksum()))
+                .chainIntact(verification.isIntact())
+                .problem(verification.getProblem())
+                .loansChecked(paidState.size())
+                .mismatchedInstallments(mismatchedInstallments)
+                .mismatchedLoanIds(mismatchedLoanIds)
+                .durationMs(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    private PaymentJournalReader.Verification readJournal(long maxSequence, Map<Long, Map<LocalDate, LocalDate>> paidState) {
+        if (!paymentJournal.isEnabled()) {
+            // There is no key either, which would otherwise surface as an invalid-key error
+            throw new PaymentJournalDisabledException();
+        }
+        try {
+            return PaymentJournalReader.read(paymentJournal.getDirectory(), paymentJournal.getHmacKey(), maxSequence, record -> {
+                Map<LocalDate, LocalDate> loan = paidState.computeIfAbsent(record.getLoanId(), id -> new HashMap<>());
+                record.getEntries().forEach(entry -> loan.put(entry.getDueDate(), record.getPaymentDate()));
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read payment journal in " + paymentJournal.getDirectory(), e);
+        }
+    }
+
+    private int countMismatches(Long loanId, Map<LocalDate, LocalDate> journaled) {
+        Map<LocalDate, LoanInstallmentResponse> stored;
+        try {
+            stored = loanService.getLoanInstallments(loanId).stream()
+                    .collect(Collectors.toMap(LoanInstallmentResponse::getDueDate, Function.identity()));
+        } catch (LoanNotFoundException e) {
+            return journaled.size();
+        }
+        int mismatches = 0;
+        for (Map.Entry<LocalDate, LocalDate> paid : journaled.entrySet()) {
+            LoanInstallmentResponse installment = stored.get(paid.getKey());
+            if (installment == null
+                    || !Boolean.TRUE.equals(installment.getIsPaid())
+                    || !Objects.equals(installment.getPaymentDate(), paid.getValue())) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+}
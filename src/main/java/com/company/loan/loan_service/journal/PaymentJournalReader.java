@@ -0,0 +1,92 @@
+package com.company.loan.loan_service.journal;
+
+import lombok.Value;
+
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Replays and verifies a payment journal directory.
+ * <p>
+ * Records are handed to the consumer in sequence order while the checksum chain is checked with the journal's key
+ * ({@code payment-journal.hmac-key}), so a replay only ever sees records whose whole history verified. Verification
+ * stops at the first break: a record whose checksum does not follow from its predecessor, a gap in the sequence
+ * numbers, or a segment that does not continue the chain.
+ * A damaged tail left by a crash is accepted when the next segment continues from the last valid record, which is
+ * what {@link PaymentJournal} does on restart.
+ */
+public final class PaymentJournalReader {
+
+    private PaymentJournalReader() {
+    }
+
+    public static Verification read(Path directory, byte[] key, Consumer<JournalRecord> consumer) throws IOException {
+        return read(directory, key, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Reads records up to and including {@code maxSequence}.
+     */
+    public static Verification read(Path directory, byte[] key, long maxSequence, Consumer<JournalRecord> consumer)
+            throws IOException {
+        Mac mac = JournalFormat.newMac(key);
+        List<Path> segments = JournalFormat.listSegments(directory);
+        long expectedSequence = 1;
+        long checksum = 0;
+        long records = 0;
+        String pendingProblem = null;
+
+        for (Path path : segments) {
+            if (expectedSequence > maxSequence) {
+                break;
+            }
+            MappedByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            JournalFormat.SegmentHeader header = JournalFormat.readHeader(segment);
+            if (header == null) {
+                return Verification.broken(segments.size(), records, expectedSequence - 1, checksum,
+                        path.getFileName() + " has no valid header");
+            }
+            if (header.getFirstSequence() != expectedSequence || header.getPreviousChecksum() != checksum) {
+                return Verification.broken(segments.size(), records, expectedSequence - 1, checksum,
+                        pendingProblem != null
+                                ? pendingProblem
+                                : path.getFileName() + " does not continue the chain after record " + (expectedSequence - 1));
+            }
+
+            JournalFormat.SegmentScan scan = JournalFormat.scan(segment, header, maxSequence, mac, consumer);
+            records += scan.getNextSequence() - header.getFirstSequence();
+            expectedSequence = scan.getNextSequence();
+            checksum = scan.getLastChecksum();
+            pendingProblem = scan.getProblem() != null ? path.getFileName() + ": " + scan.getProblem() : null;
+        }
+
+        if (pendingProblem != null && expectedSequence <= maxSequence) {
+            // The last segment ends in a damaged record that no later segment replaced
+            return Verification.broken(segments.size(), records, expectedSequence - 1, checksum, pendingProblem);
+        }
+        return new Verification(segments.size(), records, expectedSequence - 1, checksum, true, null);
+    }
+
+    @Value
+    public static class Verification {
+        int segments;
+        long records;
+        long lastSequence;
+        long lastChecksum;
+        boolean intact;
+        String problem;
+
+        static Verification broken(int segments, long records, long lastSequence, long lastChecksum, String problem) {
+            return new Verification(segments, records, lastSequence, lastChecksum, false, problem);
+        }
+    }
+}
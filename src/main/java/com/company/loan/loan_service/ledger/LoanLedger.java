@@ -0,0 +1,480 @@
+package com.company.loan.loan_service.ledger;
+
+import com.company.loan.loan_service.dto.CustomerBalanceResponse;
+import com.company.loan.loan_service.entity.InstallmentScheduleCodec;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.event.CustomerCreditChangedEvent;
+import com.company.loan.loan_service.event.InstallmentsPaidEvent;
+import com.company.loan.loan_service.event.LoanCreatedEvent;
+import com.company.loan.loan_service.exception.CustomerNotFoundException;
+import com.company.loan.loan_service.exception.LedgerUnavailableException;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory balance ledger per customer and loan, answering balance queries without touching the database.
+ * <p>
+ * State lives in parallel primitive arrays indexed by slot: amounts as {@code long} cents, dates as {@code int}
+ * epoch days, and {@link LongIntHashMap}s from customer and loan IDs to slots. Each customer's loans form an
+ * intrusive linked list through {@code loanNextInCustomer}, so the next due date is found by walking only that
+ * customer's loans. A loan leaves the ledger once it is fully paid, and its slot is reused for the next loan, so
+ * the arrays are sized by open loans rather than by every loan seen since startup.
+ * <p>
+ * The ledger is built from a streaming scan of open loans (installment rows and compact schedules) once the application is ready, and then kept current
+ * by the events {@code LoanService} and {@code CustomerService} publish after commit. Every handler is idempotent
+ * (a payment only applies if it lowers the loan's unpaid count, credit figures are absolute), so an event whose
+ * effect the startup scan already saw is harmless. The outstanding amount after a payment is derived from the
+ * schedule: payments settle installments in due-date order, and all installments but the last are equal.
+ */
+@Component
+@Slf4j
+public class LoanLedger {
+
+    /**
+     * Order of the ledger's after-commit listeners; listeners that read balances order themselves after it.
+     */
+    public static final int LISTENER_ORDER = 0;
+
+    private static final int NONE = -1;
+    private static final int NO_DUE_DATE = Integer.MAX_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final CustomerRepository customerRepository;
+    private final LoanInstallmentRepository installmentRepository;
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final StampedLock lock = new StampedLock();
+    private volatile boolean ready;
+
+    private final LongIntHashMap customerSlots = new LongIntHashMap(INITIAL_CAPACITY);
+    private int customerCount;
+    private long[] customerIds = new long[INITIAL_CAPACITY];
+    private long[] creditLimitCents = new long[INITIAL_CAPACITY];
+    private long[] usedCreditCents = new long[INITIAL_CAPACITY];
+    private long[] customerOutstandingCents = new long[INITIAL_CAPACITY];
+    private int[] customerUnpaidCount = new int[INITIAL_CAPACITY];
+    private int[] customerActiveLoans = new int[INITIAL_CAPACITY];
+    private int[] customerFirstLoan = new int[INITIAL_CAPACITY];
+
+    private final LongIntHashMap loanSlots = new LongIntHashMap(INITIAL_CAPACITY);
+    private int loanCount;
+    private int loanSlotsUsed;
+    // Released slots, linked through loanNextInCustomer
+    private int freeLoan = NONE;
+    private long[] loanIds = new long[INITIAL_CAPACITY];
+    private int[] loanCustomer = new int[INITIAL_CAPACITY];
+    private int[] loanNextInCustomer = new int[INITIAL_CAPACITY];
+    private int[] loanInstallmentCount = new int[INITIAL_CAPACITY];
+    private int[] loanUnpaidCount = new int[INITIAL_CAPACITY];
+    private int[] loanFirstDueDay = new int[INITIAL_CAPACITY];
+    private int[] loanNextDueDay = new int[INITIAL_CAPACITY];
+    private long[] loanOutstandingCents = new long[INITIAL_CAPACITY];
+    private long[] loanRegularCents = new long[INITIAL_CAPACITY];
+    private long[] loanLastCents = new long[INITIAL_CAPACITY];
+
+    public LoanLedger(CustomerRepository customerRepository,
+                      LoanInstallmentRepository installmentRepository,
+                      LoanRepository loanRepository,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        this.installmentRepository = installmentRepository;
+        this.loanRepository = loanRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("ledger.customers", this, LoanLedger::getCustomerCount)
+                .description("Customers held in the in-memory ledger")
+                .register(meterRegistry);
+        Gauge.builder("ledger.loans", this, LoanLedger::getLoanCount)
+                .description("Open loans held in the in-memory ledger")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the ledger from the database. Event handlers block until the scan completes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        long stamp = lock.writeLock();
+        try {
+            ready = false;
+            clear();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<CustomerRepository.CreditRow> rows = customerRepository.streamCreditRows()) {
+                    rows.forEach(row -> setCredit(ensureCustomer(row.getCustomerId()),
+                            row.getCreditLimit(), row.getUsedCreditLimit()));
+                }
+                try (Stream<LoanInstallmentRepository.OpenInstallmentRow> rows =
+                             installmentRepository.streamOpenLoanInstallments()) {
+                    LoanScan scan = new LoanScan();
+                    rows.forEach(row -> {
+                        if (scan.loanId != 0 && scan.loanId != row.getLoanId()) {
+                            scan.flush();
+                        }
+                        scan.add(row.getLoanId(), row.getCustomerId(), row.getAmount(), row.getPaidAmount(),
+                                row.getDueDate(), row.getPaid());
+                    });
+                    if (scan.loanId != 0) {
+                        scan.flush();
+                    }
+                }
+                try (Stream<LoanRepository.CompactScheduleRow> rows = loanRepository.streamOpenCompactSchedules()) {
+                    LoanScan scan = new LoanScan();
+                    rows.forEach(row -> {
+                        for (LoanInstallment installment : InstallmentScheduleCodec.decode(row.getEncodedSchedule(), null)) {
+                            scan.add(row.getLoanId(), row.getCustomerId(), installment.getAmount(),
+                                    installment.getPaidAmount(), installment.getDueDate(), installment.getIsPaid());
+                        }
+                        scan.flush();
+                    });
+                }
+            });
+            ready = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        log.info("Loaded ledger with {} customers and {} open loans in {} ms",
+                customerCount, loanCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(LISTENER_ORDER)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        List<LoanCreatedEvent.ScheduledInstallment> installments = event.getInstallments();
+        if (installments.isEmpty()) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int customer = ensureCustomer(event.getCustomerId());
+            setCredit(customer, event.getCustomerCreditLimit(), event.getCustomerUsedCreditLimit());
+            if (loanSlots.get(event.getLoanId()) != LongIntHashMap.MISSING) {
+                return;
+            }
+            long outstanding = 0;
+            for (LoanCreatedEvent.ScheduledInstallment installment : installments) {
+                outstanding += toCents(installment.getAmount());
+            }
+            addLoan(customer, event.getLoanId(), installments.size(), installments.size(), outstanding,
+                    toEpochDay(installments.get(0).getDueDate()),
+                    toCents(installments.get(0).getAmount()),
+                    toCents(installments.get(installments.size() - 1).getAmount()));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(LISTENER_ORDER)
+    public void onInstallmentsPaid(InstallmentsPaidEvent event) {
+        long stamp = lock.writeLock();
+        try {
+            int loan = loanSlots.get(event.getLoanId());
+            if (loan == LongIntHashMap.MISSING) {
+                log.debug("Ignoring payment for loan {} unknown to the ledger", event.getLoanId());
+                return;
+            }
+            int customer = loanCustomer[loan];
+            int unpaid = event.getUnpaidInstallmentCount();
+            if (unpaid < loanUnpaidCount[loan]) {
+                updateLoan(loan, unpaid);
+                if (unpaid == 0) {
+                    removeLoan(loan);
+                }
+            }
+            if (event.getCustomerUsedCreditLimit() != null) {
+                usedCreditCents[customer] = toCents(event.getCustomerUsedCreditLimit());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(LISTENER_ORDER)
+    public void onCustomerCreditChanged(CustomerCreditChangedEvent event) {
+        long stamp = lock.writeLock();
+        try {
+            setCredit(ensureCustomer(event.getCustomerId()), event.getCreditLimit(), event.getUsedCreditLimit());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public CustomerBalanceResponse getBalance(Long customerId) {
+        if (!ready) {
+            throw new LedgerUnavailableException();
+        }
+        long creditLimit;
+        long usedCredit;
+        long outstanding;
+        int unpaid;
+        int activeLoans;
+        int nextDueDay = NO_DUE_DATE;
+        long nextDueCents = 0;
+
+        long stamp = lock.readLock();
+        try {
+            int customer = customerSlots.get(customerId);
+            if (customer == LongIntHashMap.MISSING) {
+                throw new CustomerNotFoundException(customerId);
+            }
+            creditLimit = creditLimitCents[customer];
+            usedCredit = usedCreditCents[customer];
+            outstanding = customerOutstandingCents[customer];
+            unpaid = customerUnpaidCount[customer];
+            activeLoans = customerActiveLoans[customer];
+
+            for (int loan = customerFirstLoan[customer]; loan != NONE; loan = loanNextInCustomer[loan]) {
+                int due = loanNextDueDay[loan];
+                if (due < nextDueDay) {
+                    nextDueDay = due;
+                    nextDueCents = nextInstallmentCents(loan);
+                } else if (due == nextDueDay && due != NO_DUE_DATE) {
+                    nextDueCents += nextInstallmentCents(loan);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        boolean hasDue = nextDueDay != NO_DUE_DATE;
+        return CustomerBalanceResponse.builder()
+                .customerId(customerId)
+                .creditLimit(fromCents(creditLimit))
+                .usedCreditLimit(fromCents(usedCredit))
+                .availableCreditLimit(fromCents(creditLimit - usedCredit))
+                .outstandingAmount(fromCents(outstanding))
+                .unpaidInstallmentCount(unpaid)
+                .activeLoanCount(activeLoans)
+                .nextDueDate(hasDue ? LocalDate.ofEpochDay(nextDueDay) : null)
+                .nextDueAmount(hasDue ? fromCents(nextDueCents) : null)
+                .build();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    int getCustomerCount() {
+        return customerCount;
+    }
+
+    int getLoanCount() {
+        return loanCount;
+    }
+
+    private int ensureCustomer(long customerId) {
+        int customer = customerSlots.get(customerId);
+        if (customer != LongIntHashMap.MISSING) {
+            return customer;
+        }
+        customer = customerCount++;
+        if (customer == customerIds.length) {
+            growCustomers(customerIds.length << 1);
+        }
+        customerIds[customer] = customerId;
+        creditLimitCents[customer] = 0;
+        usedCreditCents[customer] = 0;
+        customerOutstandingCents[customer] = 0;
+        customerUnpaidCount[customer] = 0;
+        customerActiveLoans[customer] = 0;
+        customerFirstLoan[customer] = NONE;
+        customerSlots.put(customerId, customer);
+        return customer;
+    }
+
+    private void setCredit(int customer, BigDecimal creditLimit, BigDecimal usedCredit) {
+        if (creditLimit != null) {
+            creditLimitCents[customer] = toCents(creditLimit);
+        }
+        if (usedCredit != null) {
+            usedCreditCents[customer] = toCents(usedCredit);
+        }
+    }
+
+    private void addLoan(int customer, long loanId, int installmentCount, int unpaid, long outstandingCents,
+                         int firstDueDay, long regularCents, long lastCents) {
+        int loan;
+        if (freeLoan != NONE) {
+            loan = freeLoan;
+            freeLoan = loanNextInCustomer[loan];
+        } else {
+            loan = loanSlotsUsed++;
+            if (loan == loanIds.length) {
+                growLoans(loanIds.length << 1);
+            }
+        }
+        loanCount++;
+        loanIds[loan] = loanId;
+        loanCustomer[loan] = customer;
+        loanInstallmentCount[loan] = installmentCount;
+        loanUnpaidCount[loan] = unpaid;
+        loanFirstDueDay[loan] = firstDueDay;
+        loanNextDueDay[loan] = nextDueDay(firstDueDay, installmentCount, unpaid);
+        loanOutstandingCents[loan] = outstandingCents;
+        loanRegularCents[loan] = regularCents;
+        loanLastCents[loan] = lastCents;
+
+        loanNextInCustomer[loan] = customerFirstLoan[customer];
+        customerFirstLoan[customer] = loan;
+        customerOutstandingCents[customer] += outstandingCents;
+        customerUnpaidCount[customer] += unpaid;
+        if (unpaid > 0) {
+            customerActiveLoans[customer]++;
+        }
+        loanSlots.put(loanId, loan);
+    }
+
+    private void updateLoan(int loan, int unpaid) {
+        int customer = loanCustomer[loan];
+        long outstanding = unpaid == 0 ? 0 : (unpaid - 1) * loanRegularCents[loan] + loanLastCents[loan];
+
+        customerOutstandingCents[customer] += outstanding - loanOutstandingCents[loan];
+        customerUnpaidCount[customer] += unpaid - loanUnpaidCount[loan];
+        if (unpaid == 0 && loanUnpaidCount[loan] > 0) {
+            customerActiveLoans[customer]--;
+        }
+        loanOutstandingCents[loan] = outstanding;
+        loanUnpaidCount[loan] = unpaid;
+        loanNextDueDay[loan] = nextDueDay(loanFirstDueDay[loan], loanInstallmentCount[loan], unpaid);
+    }
+
+    /**
+     * Unlinks a paid-off loan from its customer and releases its slot; its totals have already been taken out.
+     */
+    private void removeLoan(int loan) {
+        int customer = loanCustomer[loan];
+        if (customerFirstLoan[customer] == loan) {
+            customerFirstLoan[customer] = loanNextInCustomer[loan];
+        } else {
+            int previous = customerFirstLoan[customer];
+            while (loanNextInCustomer[previous] != loan) {
+                previous = loanNextInCustomer[previous];
+            }
+            loanNextInCustomer[previous] = loanNextInCustomer[loan];
+        }
+        loanSlots.remove(loanIds[loan]);
+        loanNextInCustomer[loan] = freeLoan;
+        freeLoan = loan;
+        loanCount--;
+    }
+
+    private long nextInstallmentCents(int loan) {
+        return loanUnpaidCount[loan] == 1 ? loanLastCents[loan] : loanRegularCents[loan];
+    }
+
+    private void clear() {
+        customerSlots.clear();
+        loanSlots.clear();
+        customerCount = 0;
+        loanCount = 0;
+        loanSlotsUsed = 0;
+        freeLoan = NONE;
+    }
+
+    private void growCustomers(int capacity) {
+        customerIds = Arrays.copyOf(customerIds, capacity);
+        creditLimitCents = Arrays.copyOf(creditLimitCents, capacity);
+        usedCreditCents = Arrays.copyOf(usedCreditCents, capacity);
+        customerOutstandingCents = Arrays.copyOf(customerOutstandingCents, capacity);
+        customerUnpaidCount = Arrays.copyOf(customerUnpaidCount, capacity);
+        customerActiveLoans = Arrays.copyOf(customerActiveLoans, capacity);
+        customerFirstLoan = Arrays.copyOf(customerFirstLoan, capacity);
+    }
+
+    private void growLoans(int capacity) {
+        loanIds = Arrays.copyOf(loanIds, capacity);
+        loanCustomer = Arrays.copyOf(loanCustomer, capacity);
+        loanNextInCustomer = Arrays.copyOf(loanNextInCustomer, capacity);
+        loanInstallmentCount = Arrays.copyOf(loanInstallmentCount, capacity);
+        loanUnpaidCount = Arrays.copyOf(loanUnpaidCount, capacity);
+        loanFirstDueDay = Arrays.copyOf(loanFirstDueDay, capacity);
+        loanNextDueDay = Arrays.copyOf(loanNextDueDay, capacity);
+        loanOutstandingCents = Arrays.copyOf(loanOutstandingCents, capacity);
+        loanRegularCents = Arrays.copyOf(loanRegularCents, capacity);
+        loanLastCents = Arrays.copyOf(loanLastCents, capacity);
+    }
+
+    private static int nextDueDay(int firstDueDay, int installmentCount, int unpaid) {
+        if (unpaid == 0) {
+            return NO_DUE_DATE;
+        }
+        return toEpochDay(LocalDate.ofEpochDay(firstDueDay).plusMonths(installmentCount - unpaid));
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Accumulates the installment rows of one loan during the startup scan.
+     */
+    private final class LoanScan {
+        private long loanId;
+        private long customerId;
+        private int installmentCount;
+        private int unpaid;
+        private long outstandingCents;
+        private int firstDueDay;
+        private long regularCents;
+        private long lastCents;
+
+        private void add(Long rowLoanId, Long rowCustomerId, BigDecimal amount, BigDecimal paidAmount,
+                         LocalDate dueDate, Boolean paid) {
+            long amountCents = toCents(amount);
+            if (installmentCount == 0) {
+                loanId = rowLoanId;
+                customerId = rowCustomerId;
+                firstDueDay = toEpochDay(dueDate);
+                regularCents = amountCents;
+            }
+            installmentCount++;
+            lastCents = amountCents;
+            if (!Boolean.TRUE.equals(paid)) {
+                unpaid++;
+                outstandingCents += amountCents - toCents(paidAmount);
+            }
+        }
+
+        private void flush() {
+            addLoan(ensureCustomer(customerId), loanId, installmentCount, unpaid, outstandingCents,
+                    firstDueDay, regularCents, lastCents);
+            loanId = 0;
+            installmentCount = 0;
+            unpaid = 0;
+            outstandingCents = 0;
+        }
+    }
+}
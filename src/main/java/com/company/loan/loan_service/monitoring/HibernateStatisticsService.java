@@ -0,0 +1,111 @@
+package com.company.loan.loan_service.monitoring;
+
+import com.company.loan.loan_service.dto.HibernateStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the admin view of Hibernate statistics: top queries by total execution time, entity load counts,
+ * second-level cache hit ratios and the slow queries captured by {@link SlowQueryRecorder}.
+ */
+@Service
+@RequiredArgsConstructor
+public class HibernateStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    public HibernateStatsResponse getStatistics(int top) {
+        Statistics statistics = statistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return HibernateStatsResponse.builder().enabled(false).build();
+        }
+
+        List<HibernateStatsResponse.QueryStat> topQueries = Arrays.stream(statistics.getQueries())
+                .map(query -> toQueryStat(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(HibernateStatsResponse.QueryStat::getTotalTimeMs).reversed())
+                .limit(top)
+                .collect(Collectors.toList());
+
+        Map<String, Long> entityLoadCounts = new LinkedHashMap<>();
+        Arrays.stream(statistics.getEntityNames())
+                .sorted()
+                .forEach(entity -> entityLoadCounts.put(simpleName(entity),
+                        statistics.getEntityStatistics(entity).getLoadCount()));
+
+        List<HibernateStatsResponse.CacheRegionStat> cacheRegions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(region -> toCacheRegionStat(region, statistics.getDomainDataRegionStatistics(region)))
+                .collect(Collectors.toList());
+
+        long cacheHits = statistics.getSecondLevelCacheHitCount();
+        long cacheMisses = statistics.getSecondLevelCacheMissCount();
+
+        return HibernateStatsResponse.builder()
+                .enabled(true)
+                .queryExecutionCount(statistics.getQueryExecutionCount())
+                .queryExecutionMaxTimeMs(statistics.getQueryExecutionMaxTime())
+                .slowestQuery(statistics.getQueryExecutionMaxTimeQueryString())
+                .entityLoadCount(statistics.getEntityLoadCount())
+                .entityFetchCount(statistics.getEntityFetchCount())
+                .transactionCount(statistics.getTransactionCount())
+                .secondLevelCacheHitRatio(ratio(cacheHits, cacheMisses))
+                .topQueries(topQueries)
+                .entityLoadCounts(entityLoadCounts)
+                .cacheRegions(cacheRegions)
+                .slowQueries(slowQueryRecorder.getTopSlowQueries(top))
+                .droppedSlowQueries(slowQueryRecorder.getDroppedCount())
+                .build();
+    }
+
+    public void reset() {
+        statistics().clear();
+        slowQueryRecorder.reset();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static HibernateStatsResponse.QueryStat toQueryStat(String query, QueryStatistics statistics) {
+        return HibernateStatsResponse.QueryStat.builder()
+                .query(query)
+                .executionCount(statistics.getExecutionCount())
+                .totalTimeMs(statistics.getExecutionTotalTime())
+                .averageTimeMs(statistics.getExecutionAvgTimeAsDouble())
+                .maxTimeMs(statistics.getExecutionMaxTime())
+                .rowCount(statistics.getExecutionRowCount())
+                .build();
+    }
+
+    private static HibernateStatsResponse.CacheRegionStat toCacheRegionStat(String region,
+                                                                           CacheRegionStatistics statistics) {
+        return HibernateStatsResponse.CacheRegionStat.builder()
+                .region(region)
+                .hitCount(statistics.getHitCount())
+                .missCount(statistics.getMissCount())
+                .putCount(statistics.getPutCount())
+                .hitRatio(ratio(statistics.getHitCount(), statistics.getMissCount()))
+                .build();
+    }
+
+    private static Double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? null : (double) hits / total;
+    }
+
+    private static String simpleName(String entityName) {
+        return entityName.substring(entityName.lastIndexOf('.') + 1);
+    }
+}
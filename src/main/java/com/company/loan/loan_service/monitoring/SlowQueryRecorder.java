@@ -0,0 +1,136 @@
+package com.company.loan.loan_service.monitoring;
+
+import com.company.loan.loan_service.dto.HibernateStatsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregates queries slower than {@code hibernate-stats.slow-query-threshold-ms}, keyed by the query string and
+ * the service method that issued it.
+ * <p>
+ * The caller is resolved with a {@link StackWalker} only once a query is known to be slow, so fast queries pay
+ * nothing beyond the threshold comparison. At most {@code hibernate-stats.max-slow-queries} distinct
+ * query/caller pairs are kept; further pairs are counted as dropped.
+ */
+@Component
+@Slf4j
+public class SlowQueryRecorder {
+
+    private static final String APPLICATION_PACKAGE = "com.company.loan.loan_service.";
+    private static final String SERVICE_PACKAGE = APPLICATION_PACKAGE + "service.";
+    private static final String MONITORING_PACKAGE = APPLICATION_PACKAGE + "monitoring.";
+
+    private final long thresholdMs;
+    private final int maxEntries;
+    private final Map<String, SlowQuery> slowQueries = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    public SlowQueryRecorder(@Value("${hibernate-stats.slow-query-threshold-ms:100}") long thresholdMs,
+                             @Value("${hibernate-stats.max-slow-queries:500}") int maxEntries) {
+        this.thresholdMs = thresholdMs;
+        this.maxEntries = maxEntries;
+    }
+
+    public void record(String query, long executionTimeMs, int rows) {
+        if (executionTimeMs < thresholdMs) {
+            return;
+        }
+        String caller = resolveCaller();
+        String key = caller + '\n' + query;
+
+        SlowQuery slowQuery = slowQueries.get(key);
+        if (slowQuery == null) {
+            if (slowQueries.size() >= maxEntries) {
+                dropped.increment();
+                return;
+            }
+            slowQuery = slowQueries.computeIfAbsent(key, k -> new SlowQuery(query, caller));
+        }
+        slowQuery.record(executionTimeMs, rows);
+        log.warn("Slow query ({} ms, {} rows) from {}: {}", executionTimeMs, rows, caller, query);
+    }
+
+    public List<HibernateStatsResponse.SlowQueryStat> getTopSlowQueries(int limit) {
+        return slowQueries.values().stream()
+                .sorted(Comparator.comparingLong((SlowQuery q) -> q.totalTimeMs.sum()).reversed())
+                .limit(limit)
+                .map(SlowQuery::toStat)
+                .collect(Collectors.toList());
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public void reset() {
+        slowQueries.clear();
+        dropped.reset();
+    }
+
+    private static String resolveCaller() {
+        return StackWalker.getInstance().walk(frames -> {
+            List<StackWalker.StackFrame> applicationFrames = frames
+                    .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                            && !frame.getClassName().startsWith(MONITORING_PACKAGE)
+                            && !frame.getClassName().contains("$$"))
+                    .limit(16)
+                    .collect(Collectors.toList());
+            Optional<StackWalker.StackFrame> serviceFrame = applicationFrames.stream()
+                    .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE))
+                    .findFirst();
+            return serviceFrame.or(() -> applicationFrames.stream().findFirst())
+                    .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                    .orElse("unknown");
+        });
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static final class SlowQuery {
+        private final String query;
+        private final String caller;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTimeMs = new LongAdder();
+        private final AtomicLong maxTimeMs = new AtomicLong();
+        private final AtomicLong maxRows = new AtomicLong();
+        private volatile Instant lastSeen;
+
+        private SlowQuery(String query, String caller) {
+            this.query = query;
+            this.caller = caller;
+        }
+
+        private void record(long executionTimeMs, int rows) {
+            count.increment();
+            totalTimeMs.add(executionTimeMs);
+            maxTimeMs.accumulateAndGet(executionTimeMs, Math::max);
+            maxRows.accumulateAndGet(rows, Math::max);
+            lastSeen = Instant.now();
+        }
+
+        private HibernateStatsResponse.SlowQueryStat toStat() {
+            return HibernateStatsResponse.SlowQueryStat.builder()
+                    .query(query)
+                    .caller(caller)
+                    .count(count.sum())
+                    .totalTimeMs(totalTimeMs.sum())
+                    .maxTimeMs(maxTimeMs.get())
+                    .maxRows(maxRows.get())
+                    .lastSeen(lastSeen)
+                    .build();
+        }
+    }
+}
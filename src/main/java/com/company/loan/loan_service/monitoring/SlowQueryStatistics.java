@@ -0,0 +1,26 @@
+package com.company.loan.loan_service.monitoring;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate statistics that additionally hand every executed query to the {@link SlowQueryRecorder}.
+ * <p>
+ * Hibernate reports HQL/JPQL (and native) queries here with their parameter placeholders, so recorded
+ * statements never contain bind values.
+ */
+public class SlowQueryStatistics extends StatisticsImpl {
+
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    public SlowQueryStatistics(SessionFactoryImplementor sessionFactory, SlowQueryRecorder slowQueryRecorder) {
+        super(sessionFactory);
+        this.slowQueryRecorder = slowQueryRecorder;
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        slowQueryRecorder.record(hql, time, rows);
+    }
+}
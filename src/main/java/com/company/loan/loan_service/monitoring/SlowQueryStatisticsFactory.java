@@ -0,0 +1,17 @@
+package com.company.loan.loan_service.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+@RequiredArgsConstructor
+public class SlowQueryStatisticsFactory implements StatisticsFactory {
+
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new SlowQueryStatistics(sessionFactory, slowQueryRecorder);
+    }
+}
@@ -0,0 +1,326 @@
+package com.company.loan.loan_service.notification;
+
+import com.company.loan.loan_service.dto.CustomerBalanceResponse;
+import com.company.loan.loan_service.dto.LoanActivityResponse;
+import com.company.loan.loan_service.event.CustomerCreditChangedEvent;
+import com.company.loan.loan_service.event.InstallmentsPaidEvent;
+import com.company.loan.loan_service.event.LoanCreatedEvent;
+import com.company.loan.loan_service.exception.BusinessException;
+import com.company.loan.loan_service.exception.EventStreamSaturatedException;
+import com.company.loan.loan_service.ledger.LoanLedger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-process publish/subscribe bus behind the customer event streams ({@code GET /api/customers/{id}/events}).
+ * <p>
+ * Loan creations, payments and credit changes are picked up once their transaction has committed, after the
+ * {@link LoanLedger} has applied them, and posted to the customer's subscribers as {@code loan-created},
+ * {@code payment} and {@code balance} events. Each subscriber has a buffer of {@code customer-events.buffer-size}
+ * events drained by a small shared dispatcher pool, so publishing never waits on a client. A subscriber whose
+ * buffer is full is evicted: its stream is completed and the client reconnects to a fresh balance instead of
+ * holding memory for a backlog it cannot keep up with. A heartbeat comment every {@code customer-events.heartbeat-ms}
+ * keeps idle connections open through proxies and uncovers dead ones.
+ */
+@Component
+@Slf4j
+public class CustomerEventBus implements DisposableBean {
+
+    static final String LOAN_CREATED = "loan-created";
+    static final String PAYMENT = "payment";
+    static final String BALANCE = "balance";
+
+    private static final Message HEARTBEAT = new Message(null, 0, null);
+
+    private final LoanLedger loanLedger;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor dispatcher;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong nextEventId = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter evictionCounter;
+
+    public CustomerEventBus(LoanLedger loanLedger,
+                            MeterRegistry meterRegistry,
+                            @Value("${customer-events.buffer-size:32}") int bufferSize,
+                            @Value("${customer-events.max-subscribers:10000}") int maxSubscribers,
+                            @Value("${customer-events.dispatch-threads:4}") int dispatchThreads,
+                            @Value("${customer-events.timeout-ms:1800000}") long timeoutMillis) {
+        this.loanLedger = loanLedger;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadCounter = new AtomicInteger();
+        // Unbounded, but a subscriber has at most one drain task queued, so it never outgrows the subscribers
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "customer-events-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.sentCounter = Counter.builder("customer-events.sent")
+                .description("Events written to customer event streams")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("customer-events.evictions")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("customer-events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open customer event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the customer, starting with its current balance.
+     */
+    public SseEmitter subscribe(Long customerId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(customerId, emitter);
+        return emitter;
+    }
+
+    Subscriber register(Long customerId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new EventStreamSaturatedException();
+        }
+        Subscriber subscriber = new Subscriber(customerId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.compute(customerId, (id, current) -> {
+            Set<Subscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        CustomerBalanceResponse balance = currentBalance(customerId);
+        if (balance != null) {
+            offer(subscriber, new Message(BALANCE, nextEventId.incrementAndGet(), balance));
+        }
+        return subscriber;
+    }
+
+    public void publish(Long customerId, String name, Object data) {
+        Set<Subscriber> customerSubscribers = subscribers.get(customerId);
+        if (customerSubscribers == null) {
+            return;
+        }
+        Message message = new Message(name, nextEventId.incrementAndGet(), data);
+        customerSubscribers.forEach(subscriber -> offer(subscriber, message));
+    }
+
+    // Ordered after the ledger, so the balance published with each change already includes it
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(LoanLedger.LISTENER_ORDER + 1)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        if (!subscribers.containsKey(event.getCustomerId())) {
+            return;
+        }
+        publish(event.getCustomerId(), LOAN_CREATED, LoanActivityResponse.builder()
+                .loanId(event.getLoanId())
+                .date(event.getCreateDate())
+                .amount(event.getLoanAmount())
+                .installmentIds(event.getInstallments().stream()
+                        .map(LoanCreatedEvent.ScheduledInstallment::getInstallmentId)
+                        .collect(Collectors.toList()))
+                .unpaidInstallmentCount(event.getInstallments().size())
+                .isLoanComplete(false)
+                .build());
+        publishBalance(event.getCustomerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(LoanLedger.LISTENER_ORDER + 1)
+    public void onInstallmentsPaid(InstallmentsPaidEvent event) {
+        if (!subscribers.containsKey(event.getCustomerId())) {
+            return;
+        }
+        publish(event.getCustomerId(), PAYMENT, LoanActivityResponse.builder()
+                .loanId(event.getLoanId())
+                .date(event.getPaymentDate())
+                .amount(event.getPaidInstallments().stream()
+                        .map(InstallmentsPaidEvent.PaidInstallment::getEffectiveAmount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .installmentIds(event.getPaidInstallments().stream()
+                        .map(InstallmentsPaidEvent.PaidInstallment::getInstallmentId)
+                        .collect(Collectors.toList()))
+                .unpaidInstallmentCount(event.getUnpaidInstallmentCount())
+                .isLoanComplete(event.isLoanComplete())
+                .build());
+        publishBalance(event.getCustomerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(LoanLedger.LISTENER_ORDER + 1)
+    public void onCustomerCreditChanged(CustomerCreditChangedEvent event) {
+        if (subscribers.containsKey(event.getCustomerId())) {
+            publishBalance(event.getCustomerId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${customer-events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(customerSubscribers ->
+                customerSubscribers.forEach(subscriber -> offer(subscriber, HEARTBEAT)));
+    }
+
+    int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void publishBalance(Long customerId) {
+        CustomerBalanceResponse balance = currentBalance(customerId);
+        if (balance != null) {
+            publish(customerId, BALANCE, balance);
+        }
+    }
+
+    private CustomerBalanceResponse currentBalance(Long customerId) {
+        try {
+            return loanLedger.getBalance(customerId);
+        } catch (BusinessException e) {
+            // Ledger still loading or customer not in it yet; the next change brings the balance
+            return null;
+        }
+    }
+
+    private void offer(Subscriber subscriber, Message message) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(message)) {
+            evict(subscriber);
+            return;
+        }
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Message message;
+            while ((message = subscriber.buffer.poll()) != null) {
+                if (subscriber.closed.get()) {
+                    return;
+                }
+                try {
+                    subscriber.emitter.send(message.toEvent());
+                    sentCounter.increment();
+                } catch (IOException | IllegalStateException e) {
+                    // The client has gone away or the stream is already complete
+                    log.debug("Dropping event stream of customer {}: {}", subscriber.customerId, e.getMessage());
+                    remove(subscriber);
+                    return;
+                }
+            }
+            subscriber.scheduled.set(false);
+            // An offer that saw the flag still set has left its event for us
+        } while (!subscriber.buffer.isEmpty() && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            evictionCounter.increment();
+            log.debug("Evicting slow event stream of customer {}", subscriber.customerId);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscribers.computeIfPresent(subscriber.customerId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriber.buffer.clear();
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(customerSubscribers -> customerSubscribers.forEach(subscriber -> {
+            if (remove(subscriber)) {
+                subscriber.emitter.complete();
+            }
+        }));
+    }
+
+    static final class Subscriber {
+        private final Long customerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long customerId, SseEmitter emitter, BlockingQueue<Message> buffer) {
+            this.customerId = customerId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        boolean isClosed() {
+            return closed.get();
+        }
+    }
+
+    private static final class Message {
+        private final String name;
+        private final long id;
+        private final Object data;
+
+        private Message(String name, long id, Object data) {
+            this.name = name;
+            this.id = id;
+            this.data = data;
+        }
+
+        // Built per send: an event builder accumulates its content and cannot be written twice
+        private SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).id(Long.toString(id)).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
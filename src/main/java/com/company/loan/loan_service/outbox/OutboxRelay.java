@@ -0,0 +1,124 @@
+package com.company.loan.loan_service.outbox;
+
+import com.company.loan.loan_service.entity.OutboxEvent;
+import com.company.loan.loan_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox to the {@link OutboxSink} in batches.
+ * <p>
+ * Each poll reads the oldest {@code outbox.relay.batch-size} events. A partial batch is held back until its
+ * oldest event has waited {@code outbox.relay.linger-ms}, trading a little latency for fewer, larger sink calls.
+ * Events are deleted only after the sink accepted the whole batch, so delivery is at-least-once: a failure or
+ * crash in between re-delivers the batch. One relay drains the outbox in ID order; run it on a single node
+ * ({@code outbox.relay.enabled}).
+ * <p>
+ * IDs are assigned on insert, not on commit, so ID order only matches commit order for transactions that cannot
+ * overlap. Every transaction writing a loan's events holds that loan's row lock until it commits
+ * ({@code LoanRepository.findByIdForUpdate}; a new loan is not visible before its creating transaction commits),
+ * so one loan's events are inserted and committed in the same order and relayed in it. Events of different loans
+ * may commit out of ID order and are relayed as they become visible.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final int batchSize;
+    private final long lingerMs;
+    private final boolean enabled;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer deliveryLatency;
+    private volatile long lagMillis;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink sink,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.linger-ms:100}") long lingerMs,
+                       @Value("${outbox.relay.enabled:true}") boolean enabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.enabled = enabled;
+
+        this.publishedCounter = Counter.builder("outbox.published")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.publish.failures")
+                .description("Outbox batches the sink rejected")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("outbox.delivery.latency")
+                .description("Time from outbox write to sink acknowledgement")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", this, relay -> relay.lagMillis / 1000.0)
+                .description("Age of the oldest undelivered outbox event at the last poll")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void poll() {
+        if (enabled) {
+            relay();
+        }
+    }
+
+    /**
+     * Relays full batches until the outbox is empty or a partial batch is still lingering.
+     *
+     * @return the number of events delivered
+     */
+    public synchronized int relay() {
+        int relayed = 0;
+        while (true) {
+            List<OutboxEvent> batch = outboxEventRepository.findOldest(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                lagMillis = 0;
+                return relayed;
+            }
+            Instant now = Instant.now();
+            lagMillis = Duration.between(batch.get(0).getCreatedAt(), now).toMillis();
+            if (batch.size() < batchSize && lagMillis < lingerMs) {
+                return relayed;
+            }
+
+            try {
+                sink.publish(batch);
+            } catch (Exception e) {
+                failureCounter.increment();
+                log.warn("Outbox sink rejected {} events starting at {}; retrying on the next poll",
+                        batch.size(), batch.get(0).getId(), e);
+                return relayed;
+            }
+
+            outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).collect(Collectors.toList()));
+            Instant delivered = Instant.now();
+            batch.forEach(event -> deliveryLatency.record(Duration.between(event.getCreatedAt(), delivered)));
+            publishedCounter.increment(batch.size());
+            relayed += batch.size();
+            log.debug("Relayed {} outbox events up to {}", batch.size(), batch.get(batch.size() - 1).getId());
+
+            if (batch.size() < batchSize) {
+                lagMillis = 0;
+                return relayed;
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.loan.loan_service.outbox;
+
+import com.company.loan.loan_service.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events (a message broker, a file, memory).
+ * <p>
+ * {@link #publish} receives events in outbox order and must either deliver the whole batch or throw; a failed batch
+ * is retried from its first event, so sinks see duplicates after failures but never a reordering within a loan.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws Exception;
+}
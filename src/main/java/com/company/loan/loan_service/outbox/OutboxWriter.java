@@ -0,0 +1,90 @@
+package com.company.loan.loan_service.outbox;
+
+import com.company.loan.loan_service.entity.OutboxEvent;
+import com.company.loan.loan_service.event.DueInstallment;
+import com.company.loan.loan_service.event.InstallmentsDueSoonEvent;
+import com.company.loan.loan_service.event.InstallmentsOverdueEvent;
+import com.company.loan.loan_service.event.InstallmentsPaidEvent;
+import com.company.loan.loan_service.event.LoanCreatedEvent;
+import com.company.loan.loan_service.repository.LoanRepository;
+import com.company.loan.loan_service.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Writes loan and payment events to the outbox. Runs synchronously inside the publishing service's transaction,
+ * so an event is stored exactly when the change it describes commits. Reminders and overdue transitions have no such
+ * transaction and are written in one of their own, one event per installment.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    static final String LOAN_AGGREGATE = "LOAN";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final LoanRepository loanRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        write(event.getLoanId(), "LoanCreated", event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onInstallmentsPaid(InstallmentsPaidEvent event) {
+        write(event.getLoanId(), "InstallmentsPaid", event);
+    }
+
+    @EventListener
+    @Transactional
+    public void onInstallmentsDueSoon(InstallmentsDueSoonEvent event) {
+        writePerInstallment(event.getInstallments(), "InstallmentDueSoon");
+    }
+
+    @EventListener
+    @Transactional
+    public void onInstallmentsOverdue(InstallmentsOverdueEvent event) {
+        writePerInstallment(event.getInstallments(), "InstallmentOverdue");
+    }
+
+    private void writePerInstallment(List<DueInstallment> installments, String eventType) {
+        // Locked like payments, so a payment of the same loan cannot commit its later event ahead of these;
+        // in ID order, as the migration locks them
+        installments.stream()
+                .map(DueInstallment::getLoanId)
+                .distinct()
+                .sorted()
+                .forEach(loanRepository::findByIdForUpdate);
+        for (DueInstallment installment : installments) {
+            write(installment.getLoanId(), eventType, installment);
+        }
+    }
+
+    private void write(Long loanId, String eventType, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            // Failing the transaction is better than committing a change downstream systems never hear about
+            throw new IllegalStateException("Cannot serialize " + eventType + " event for loan " + loanId, e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(LOAN_AGGREGATE)
+                .aggregateId(loanId)
+                .eventType(eventType)
+                .payload(payload)
+                .createdAt(Instant.now())
+                .build());
+    }
+}
@@ -0,0 +1,205 @@
+package com.company.loan.loan_service.reminder;
+
+import com.company.loan.loan_service.entity.InstallmentScheduleCodec;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.event.DueInstallment;
+import com.company.loan.loan_service.event.InstallmentsDueSoonEvent;
+import com.company.loan.loan_service.event.InstallmentsOverdueEvent;
+import com.company.loan.loan_service.event.InstallmentsPaidEvent;
+import com.company.loan.loan_service.event.LoanCreatedEvent;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fires due reminders and overdue transitions for unpaid installments from an in-memory {@link TimingWheel}
+ * keyed by epoch day, instead of polling {@code loan_installments} by date.
+ * <p>
+ * Every unpaid installment has two timers: a reminder {@code installment-timers.reminder-days-before} days before
+ * its due date and an overdue timer the day after it. The wheel is filled from a streaming scan of open loans once
+ * the application is ready, then kept current by the {@link LoanCreatedEvent}s and {@link InstallmentsPaidEvent}s
+ * published after commit. A daily tick advances the wheel and publishes one {@link InstallmentsDueSoonEvent} and
+ * one {@link InstallmentsOverdueEvent} per day with everything that fired; the outbox forwards both reminders and
+ * overdue installments downstream.
+ * <p>
+ * Timers that fell due before startup are not replayed, so a tick missed while the service was down is not
+ * delivered; consumers that must not miss an installment reconcile against the unpaid installments themselves.
+ */
+@Component
+@Slf4j
+public class InstallmentTimerService {
+
+    private static final int REMINDER = 0;
+    private static final int OVERDUE = 1;
+    private static final int DUE_DAY_BITS = 21;
+
+    private final LoanInstallmentRepository installmentRepository;
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter remindersFired;
+    private final Counter overdueFired;
+    private final int reminderDaysBefore;
+
+    // guarded by this
+    private TimingWheel<Timer> wheel = new TimingWheel<>(LocalDate.now().toEpochDay());
+
+    public InstallmentTimerService(LoanInstallmentRepository installmentRepository,
+                                   LoanRepository loanRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${installment-timers.reminder-days-before:3}") int reminderDaysBefore) {
+        this.installmentRepository = installmentRepository;
+        this.loanRepository = loanRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.reminderDaysBefore = reminderDaysBefore;
+
+        this.remindersFired = Counter.builder("installment.timers.fired")
+                .tag("type", "reminder")
+                .description("Installment due reminders fired")
+                .register(meterRegistry);
+        this.overdueFired = Counter.builder("installment.timers.fired")
+                .tag("type", "overdue")
+                .description("Installments that became overdue")
+                .register(meterRegistry);
+        Gauge.builder("installment.timers.pending", this, InstallmentTimerService::getPendingTimerCount)
+                .description("Reminder and overdue timers waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        load(LocalDate.now());
+    }
+
+    synchronized void load(LocalDate today) {
+        long start = System.nanoTime();
+        wheel = new TimingWheel<>(today.toEpochDay());
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<LoanInstallmentRepository.OpenInstallmentRow> rows =
+                         installmentRepository.streamOpenLoanInstallments()) {
+                rows.forEach(row -> {
+                    if (!Boolean.TRUE.equals(row.getPaid())) {
+                        schedule(new DueInstallment(row.getLoanId(), row.getCustomerId(), row.getDueDate(),
+                                row.getAmount().subtract(row.getPaidAmount())));
+                    }
+                });
+            }
+            try (Stream<LoanRepository.CompactScheduleRow> rows = loanRepository.streamOpenCompactSchedules()) {
+                rows.forEach(row -> {
+                    for (LoanInstallment installment : InstallmentScheduleCodec.decode(row.getEncodedSchedule(), null)) {
+                        if (!installment.getIsPaid()) {
+                            schedule(new DueInstallment(row.getLoanId(), row.getCustomerId(),
+                                    installment.getDueDate(), installment.getAmount()));
+                        }
+                    }
+                });
+            }
+        });
+        log.info("Loaded {} installment timers in {} ms", wheel.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Scheduled(cron = "${installment-timers.tick-cron:0 5 0 * * *}")
+    public void tick() {
+        tick(LocalDate.now());
+    }
+
+    void tick(LocalDate today) {
+        List<InstallmentsDueSoonEvent> dueSoonEvents = new ArrayList<>();
+        List<InstallmentsOverdueEvent> overdueEvents = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(today.toEpochDay(), timers -> {
+                LocalDate day = LocalDate.ofEpochDay(wheel.getCurrentTick());
+                List<DueInstallment> reminders = new ArrayList<>();
+                List<DueInstallment> overdue = new ArrayList<>();
+                for (Timer timer : timers) {
+                    (timer.kind == REMINDER ? reminders : overdue).add(timer.installment);
+                }
+                if (!reminders.isEmpty()) {
+                    dueSoonEvents.add(new InstallmentsDueSoonEvent(day, reminders));
+                }
+                if (!overdue.isEmpty()) {
+                    overdueEvents.add(new InstallmentsOverdueEvent(day, overdue));
+                }
+            });
+        }
+
+        // Published outside the lock so listeners can take their time or call back into the service
+        for (InstallmentsDueSoonEvent event : dueSoonEvents) {
+            remindersFired.increment(event.getInstallments().size());
+            log.info("{} installment reminders fired for {}", event.getInstallments().size(), event.getDate());
+            eventPublisher.publishEvent(event);
+        }
+        for (InstallmentsOverdueEvent event : overdueEvents) {
+            overdueFired.increment(event.getInstallments().size());
+            log.info("{} installments became overdue on {}", event.getInstallments().size(), event.getDate());
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onLoanCreated(LoanCreatedEvent event) {
+        for (LoanCreatedEvent.ScheduledInstallment installment : event.getInstallments()) {
+            schedule(new DueInstallment(event.getLoanId(), event.getCustomerId(),
+                    installment.getDueDate(), installment.getAmount()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onInstallmentsPaid(InstallmentsPaidEvent event) {
+        for (InstallmentsPaidEvent.PaidInstallment installment : event.getPaidInstallments()) {
+            wheel.cancel(key(event.getLoanId(), installment.getDueDate(), REMINDER));
+            wheel.cancel(key(event.getLoanId(), installment.getDueDate(), OVERDUE));
+        }
+    }
+
+    synchronized int getPendingTimerCount() {
+        return wheel.size();
+    }
+
+    private void schedule(DueInstallment installment) {
+        long dueDay = installment.getDueDate().toEpochDay();
+        wheel.schedule(key(installment.getLoanId(), installment.getDueDate(), REMINDER),
+                dueDay - reminderDaysBefore, new Timer(REMINDER, installment));
+        wheel.schedule(key(installment.getLoanId(), installment.getDueDate(), OVERDUE),
+                dueDay + 1, new Timer(OVERDUE, installment));
+    }
+
+    // loan ID | due epoch day (21 bits, until year 7700) | timer kind
+    private static long key(Long loanId, LocalDate dueDate, int kind) {
+        return (loanId << (DUE_DAY_BITS + 1)) | (dueDate.toEpochDay() << 1) | kind;
+    }
+
+    private static final class Timer {
+        private final int kind;
+        private final DueInstallment installment;
+
+        private Timer(int kind, DueInstallment installment) {
+            this.kind = kind;
+            this.installment = installment;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.company.loan.loan_service.reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel over integer ticks (here: epoch days), with timers identified by {@code long} keys.
+ * <p>
+ * Four levels of 64 slots each: level 0 holds timers due within the current 64-tick rotation, level 1 within the
+ * current 4096-tick rotation, and so on. A timer is placed at the lowest level whose rotation contains it; when a
+ * rotation of a lower level completes, the next slot of the level above is cascaded down. Scheduling and cancelling
+ * are O(1), and each timer is moved at most three times before it fires. Not thread-safe.
+ */
+final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    @SuppressWarnings("unchecked")
+    private final Node<T>[][] slots = new Node[LEVELS][SLOTS];
+    private final Map<Long, Node<T>> timers = new HashMap<>();
+    private long currentTick;
+
+    TimingWheel(long currentTick) {
+        this.currentTick = currentTick;
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return timers.size();
+    }
+
+    /**
+     * Schedules a timer, replacing any timer with the same key.
+     *
+     * @return {@code false} if the tick is not after the current tick, in which case nothing is scheduled
+     */
+    boolean schedule(long key, long tick, T payload) {
+        cancel(key);
+        if (tick <= currentTick) {
+            return false;
+        }
+        if ((tick >>> (LEVELS * SLOT_BITS)) != (currentTick >>> (LEVELS * SLOT_BITS))) {
+            throw new IllegalArgumentException("Tick " + tick + " is beyond the wheel's range");
+        }
+        Node<T> node = new Node<>(key, tick, payload);
+        timers.put(key, node);
+        place(node);
+        return true;
+    }
+
+    boolean cancel(long key) {
+        Node<T> node = timers.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Advances the wheel tick by tick up to {@code targetTick}, handing each tick's expired payloads to the
+     * consumer as one batch. Ticks without timers are not reported.
+     */
+    void advanceTo(long targetTick, Consumer<List<T>> expired) {
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+
+            int slot = (int) (currentTick & SLOT_MASK);
+            Node<T> node = slots[0][slot];
+            if (node == null) {
+                continue;
+            }
+            slots[0][slot] = null;
+            List<T> batch = new ArrayList<>();
+            while (node != null) {
+                Node<T> next = node.next;
+                timers.remove(node.key);
+                batch.add(node.payload);
+                node = next;
+            }
+            expired.accept(batch);
+        }
+    }
+
+    private void cascade() {
+        // Level L is cascaded when every level below it has completed a rotation; higher levels go first so their
+        // timers can cascade further down within the same tick
+        int topLevel = 0;
+        while (topLevel < LEVELS - 1 && (currentTick & ((1L << ((topLevel + 1) * SLOT_BITS)) - 1)) == 0) {
+            topLevel++;
+        }
+        for (int level = topLevel; level > 0; level--) {
+            int slot = (int) ((currentTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+            Node<T> node = slots[level][slot];
+            slots[level][slot] = null;
+            while (node != null) {
+                Node<T> next = node.next;
+                node.prev = null;
+                node.next = null;
+                place(node);
+                node = next;
+            }
+        }
+    }
+
+    private void place(Node<T> node) {
+        int level = 0;
+        while (level < LEVELS - 1
+                && (node.tick >>> ((level + 1) * SLOT_BITS)) != (currentTick >>> ((level + 1) * SLOT_BITS))) {
+            level++;
+        }
+        int slot = (int) ((node.tick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        node.level = level;
+        node.slot = slot;
+        node.next = slots[level][slot];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        slots[level][slot] = node;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            slots[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<T> {
+        private final long key;
+        private final long tick;
+        private final T payload;
+        private int level;
+        private int slot;
+        private Node<T> prev;
+        private Node<T> next;
+
+        private Node(long key, long tick, T payload) {
+            this.key = key;
+            this.tick = tick;
+            this.payload = payload;
+        }
+    }
+}
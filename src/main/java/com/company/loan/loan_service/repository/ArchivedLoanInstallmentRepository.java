@@ -0,0 +1,16 @@
+package com.company.loan.loan_service.repository;
+
+import com.company.loan.loan_service.entity.ArchivedLoanInstallment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedLoanInstallmentRepository extends JpaRepository<ArchivedLoanInstallment, Long> {
+
+    List<ArchivedLoanInstallment> findByLoanIdOrderByDueDateAsc(Long loanId);
+
+    List<ArchivedLoanInstallment> findByLoanIdInOrderByLoanIdAscDueDateAsc(Collection<Long> loanIds);
+}
@@ -0,0 +1,25 @@
+package com.company.loan.loan_service.repository;
+
+import com.company.loan.loan_service.entity.ArchivedLoan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedLoanRepository extends JpaRepository<ArchivedLoan, Long> {
+
+    @Query("SELECT a FROM ArchivedLoan a WHERE a.customerId = :customerId AND " +
+           "(:numberOfInstallments IS NULL OR a.numberOfInstallment = :numberOfInstallments) ORDER BY a.id")
+    List<ArchivedLoan> findByCustomerIdWithFilters(
+        @Param("customerId") Long customerId,
+        @Param("numberOfInstallments") Integer numberOfInstallments
+    );
+
+    @Query("SELECT a.id AS loanId, a.customerId AS customerId, a.encodedSchedule AS encodedSchedule " +
+           "FROM ArchivedLoan a WHERE a.id IN :loanIds")
+    List<LoanRepository.CompactScheduleRow> findScheduleOwners(@Param("loanIds") Collection<Long> loanIds);
+}
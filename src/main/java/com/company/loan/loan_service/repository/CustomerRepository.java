@@ -1,17 +1,35 @@
 package com.company.loan.loan_service.repository;
 
 import com.company.loan.loan_service.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, SparseCustomerRepository {
     
     Optional<Customer> findByNameAndSurname(String name, String surname);
 
     @Query("SELECT c FROM Customer c WHERE c.usedCreditLimit > c.creditLimit")
     java.util.List<Customer> findCustomersOverCreditLimit();
+    
+    /**
+     * Streams the credit figures of all customers. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id AS customerId, c.creditLimit AS creditLimit, c.usedCreditLimit AS usedCreditLimit FROM Customer c")
+    Stream<CreditRow> streamCreditRows();
+    
+    interface CreditRow {
+        Long getCustomerId();
+        BigDecimal getCreditLimit();
+        BigDecimal getUsedCreditLimit();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.company.loan.loan_service.repository;
+
+import com.company.loan.loan_service.entity.InstallmentPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InstallmentPartitionRepository extends JpaRepository<InstallmentPartition, Integer> {
+
+    @Query("SELECT p.dueMonth FROM InstallmentPartition p")
+    List<Integer> findAllDueMonths();
+}
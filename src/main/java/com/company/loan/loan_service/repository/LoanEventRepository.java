@@ -0,0 +1,29 @@
+package com.company.loan.loan_service.repository;
+
+import com.company.loan.loan_service.entity.LoanEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LoanEventRepository extends JpaRepository<LoanEvent, Long> {
+
+    @Query("SELECT MAX(e.version) FROM LoanEvent e WHERE e.loanId = :loanId")
+    Optional<Integer> findLastVersion(@Param("loanId") Long loanId);
+
+    List<LoanEvent> findByLoanIdAndVersionGreaterThanOrderByVersion(Long loanId, int afterVersion);
+
+    /**
+     * Events after {@code afterVersion} whose business date is on or before {@code asOf}, in version order.
+     */
+    @Query("SELECT e FROM LoanEvent e WHERE e.loanId = :loanId AND e.version > :afterVersion " +
+           "AND e.occurredOn <= :asOf ORDER BY e.version")
+    List<LoanEvent> findForReplay(@Param("loanId") Long loanId,
+                                  @Param("afterVersion") int afterVersion,
+                                  @Param("asOf") LocalDate asOf);
+}
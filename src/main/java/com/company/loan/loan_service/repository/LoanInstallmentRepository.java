@@ -1,13 +1,21 @@
 package com.company.loan.loan_service.repository;
 
 import com.company.loan.loan_service.entity.LoanInstallment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoanInstallmentRepository extends JpaRepository<LoanInstallment, Long> {
@@ -15,14 +23,65 @@ public interface LoanInstallmentRepository extends JpaRepository<LoanInstallment
     @Query("SELECT li FROM LoanInstallment li JOIN FETCH li.loan WHERE li.loan.id = :loanId")
     List<LoanInstallment> findByLoanId(@Param("loanId") Long loanId);
 
+    /**
+     * Routes through the {@code due_month} partition key: the month bound is derived from the date and both are
+     * filtered on, so partitions after the payment window are pruned.
+     */
+    default List<LoanInstallment> findUnpaidInstallmentsWithinPaymentWindow(Long loanId, LocalDate maxDueDate) {
+        return findUnpaidInstallmentsUpToDueMonth(loanId, LoanInstallment.dueMonthOf(maxDueDate), maxDueDate);
+    }
+    
     @Query("SELECT li FROM LoanInstallment li WHERE li.loan.id = :loanId AND li.isPaid = false " +
-           "AND li.dueDate <= :maxDueDate ORDER BY li.dueDate ASC")
-    List<LoanInstallment> findUnpaidInstallmentsWithinPaymentWindow(
+           "AND li.dueMonth <= :maxDueMonth AND li.dueDate <= :maxDueDate ORDER BY li.dueDate ASC")
+    List<LoanInstallment> findUnpaidInstallmentsUpToDueMonth(
         @Param("loanId") Long loanId,
+        @Param("maxDueMonth") Integer maxDueMonth,
         @Param("maxDueDate") LocalDate maxDueDate
     );
 
     @Query("SELECT COUNT(li) FROM LoanInstallment li WHERE li.loan.id = :loanId AND li.isPaid = false")
     long countUnpaidInstallmentsForLoan(@Param("loanId") Long loanId);
     
+    @Query("SELECT li FROM LoanInstallment li WHERE li.loan.customer.id = :customerId AND li.isPaid = false " +
+           "ORDER BY li.dueDate, li.loan.id")
+    List<LoanInstallment> findUnpaidByCustomerId(@Param("customerId") Long customerId);
+    
+    @Query("SELECT li FROM LoanInstallment li WHERE li.loan.id IN :loanIds ORDER BY li.loan.id, li.dueDate")
+    List<LoanInstallment> findByLoanIdIn(@Param("loanIds") Collection<Long> loanIds);
+    
+    /**
+     * Installment rows of a customer's loans changed in the sequence range {@code (since, upTo]}, in change order.
+     */
+    @Query("SELECT li FROM LoanInstallment li JOIN FETCH li.loan WHERE li.loan.customer.id = :customerId " +
+           "AND li.changeSeq > :since AND li.changeSeq <= :upTo ORDER BY li.changeSeq")
+    List<LoanInstallment> findChangedInstallments(@Param("customerId") Long customerId,
+                                                  @Param("since") long since,
+                                                  @Param("upTo") long upTo,
+                                                  Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM LoanInstallment li WHERE li.loan.id IN :loanIds")
+    int deleteByLoanIdIn(@Param("loanIds") Collection<Long> loanIds);
+    
+    /**
+     * Streams the installments of all open loans, grouped by loan and ordered by due date, as flat rows.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l.id AS loanId, l.customer.id AS customerId, li.amount AS amount, li.paidAmount AS paidAmount, " +
+           "li.dueDate AS dueDate, li.isPaid AS paid " +
+           "FROM LoanInstallment li JOIN li.loan l WHERE l.isPaid = false ORDER BY l.id, li.dueDate")
+    Stream<OpenInstallmentRow> streamOpenLoanInstallments();
+    
+    interface OpenInstallmentRow {
+        Long getLoanId();
+        Long getCustomerId();
+        BigDecimal getAmount();
+        BigDecimal getPaidAmount();
+        LocalDate getDueDate();
+        Boolean getPaid();
+    }
 }
\ No newline at end of file
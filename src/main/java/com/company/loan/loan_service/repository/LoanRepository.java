@@ -1,15 +1,25 @@
 package com.company.loan.loan_service.repository;
 
 import com.company.loan.loan_service.entity.Loan;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface LoanRepository extends JpaRepository<Loan, Long> {
+public interface LoanRepository extends JpaRepository<Loan, Long>, SparseLoanRepository {
 
     @Query("SELECT l FROM Loan l WHERE l.customer.id = :customerId AND " +
            "(:isPaid IS NULL OR l.isPaid = :isPaid) AND " +
@@ -20,4 +30,78 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
         @Param("numberOfInstallments") Integer numberOfInstallments
     );
     
-}
\ No newline at end of file
+    /**
+     * Loans still stored as installment rows, in ID order after the given ID, for batched migration. The loans are
+     * locked like {@link #findByIdForUpdate}, so no payment changes their rows while they are encoded.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id > :afterId AND l.encodedSchedule IS NULL ORDER BY l.id")
+    List<Loan> findRowScheduledLoansAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Loads a loan and locks it until the transaction ends. Every change to a loan's schedule goes through this,
+     * so writes to the same loan are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id = :loanId")
+    Optional<Loan> findByIdForUpdate(@Param("loanId") Long loanId);
+    
+    /**
+     * Paid loans completed before the cutoff, in ID order, for batched archival.
+     */
+    @Query("SELECT l FROM Loan l WHERE l.isPaid = true AND l.paidDate < :paidBefore ORDER BY l.id")
+    List<Loan> findArchivableLoans(@Param("paidBefore") LocalDate paidBefore, Pageable pageable);
+    
+    /**
+     * Loans of a customer changed in the sequence range {@code (since, upTo]}, in change order, for the change feed.
+     */
+    @Query("SELECT l FROM Loan l JOIN FETCH l.customer WHERE l.customer.id = :customerId " +
+           "AND l.changeSeq > :since AND l.changeSeq <= :upTo ORDER BY l.changeSeq")
+    List<Loan> findChangedLoans(@Param("customerId") Long customerId,
+                                @Param("since") long since,
+                                @Param("upTo") long upTo,
+                                Pageable pageable);
+    
+    /**
+     * Streams the encoded schedules of all open compact loans. Must be consumed inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l.id AS loanId, l.customer.id AS customerId, l.encodedSchedule AS encodedSchedule " +
+           "FROM Loan l WHERE l.isPaid = false AND l.encodedSchedule IS NOT NULL ORDER BY l.id")
+    Stream<CompactScheduleRow> streamOpenCompactSchedules();
+    
+    /**
+     * Paid flag and schedule version of a loan, without loading it or its installments.
+     */
+    @Query("SELECT l.isPaid AS isPaid, l.scheduleVersion AS scheduleVersion FROM Loan l WHERE l.id = :loanId")
+    Optional<ScheduleVersionRow> findScheduleVersion(@Param("loanId") Long loanId);
+    
+    /**
+     * Owner and compact schedule of each of the loans, in one query; loans not found are absent.
+     */
+    @Query("SELECT l.id AS loanId, l.customer.id AS customerId, l.encodedSchedule AS encodedSchedule " +
+           "FROM Loan l WHERE l.id IN :loanIds")
+    List<CompactScheduleRow> findScheduleOwners(@Param("loanIds") Collection<Long> loanIds);
+    
+    /**
+     * Compact schedules of the customer's open loans; loans whose installments are rows are left out.
+     */
+    @Query("SELECT l.id AS loanId, l.customer.id AS customerId, l.encodedSchedule AS encodedSchedule " +
+           "FROM Loan l WHERE l.customer.id = :customerId AND l.isPaid = false AND l.encodedSchedule IS NOT NULL")
+    List<CompactScheduleRow> findOpenCompactSchedules(@Param("customerId") Long customerId);
+    
+    // encodedSchedule is null for loans whose installments are rows
+    interface CompactScheduleRow {
+        Long getLoanId();
+        Long getCustomerId();
+        byte[] getEncodedSchedule();
+    }
+    
+    interface ScheduleVersionRow {
+        Boolean getIsPaid();
+        Long getScheduleVersion();
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.loan.loan_service.repository;
+
+import com.company.loan.loan_service.entity.LoanSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface LoanSnapshotRepository extends JpaRepository<LoanSnapshot, Long> {
+
+    Optional<LoanSnapshot> findFirstByLoanIdOrderByVersionDesc(Long loanId);
+
+    Optional<LoanSnapshot> findFirstByLoanIdAndAsOfLessThanEqualOrderByVersionDesc(Long loanId, LocalDate asOf);
+}
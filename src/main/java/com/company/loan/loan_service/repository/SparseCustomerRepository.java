@@ -0,0 +1,16 @@
+package com.company.loan.loan_service.repository;
+
+import com.company.loan.loan_service.dto.CustomerField;
+import com.company.loan.loan_service.entity.Customer;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Customer listings that select only the columns of a {@code fields=} selection. The returned customers are
+ * detached and carry only those columns.
+ */
+public interface SparseCustomerRepository {
+
+    List<Customer> findAllSparse(Set<CustomerField> fields);
+}
@@ -0,0 +1,36 @@
+package com.company.loan.loan_service.repository;
+
+import com.company.loan.loan_service.dto.CustomerField;
+import com.company.loan.loan_service.entity.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class SparseCustomerRepositoryImpl implements SparseCustomerRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Customer> findAllSparse(Set<CustomerField> fields) {
+        List<CustomerField> columns = List.copyOf(CustomerField.storedFieldsFor(fields));
+        String select = columns.stream()
+                .map(field -> "c." + field.getAttribute())
+                .collect(Collectors.joining(", ", "SELECT ", " FROM Customer c"));
+        List<Object[]> rows = entityManager.createQuery(select, Object[].class).getResultList();
+
+        List<Customer> customers = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Customer customer = new Customer();
+            for (int i = 0; i < columns.size(); i++) {
+                columns.get(i).set(customer, row[i]);
+            }
+            customers.add(customer);
+        }
+        return customers;
+    }
+}
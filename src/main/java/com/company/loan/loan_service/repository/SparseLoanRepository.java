@@ -0,0 +1,20 @@
+package com.company.loan.loan_service.repository;
+
+import com.company.loan.loan_service.dto.LoanField;
+import com.company.loan.loan_service.dto.LoanResponse;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loan listings that select only the columns of a {@code fields=} selection. Fields without a stored attribute
+ * (see {@link LoanField}) are left for the caller to fill in.
+ */
+public interface SparseLoanRepository {
+
+    List<LoanResponse> findSparseByCustomerIdWithFilters(Long customerId, Boolean isPaid,
+                                                         Integer numberOfInstallments, Set<LoanField> fields);
+
+    List<LoanResponse> findSparseArchivedByCustomerIdWithFilters(Long customerId, Integer numberOfInstallments,
+                                                                 Set<LoanField> fields);
+}
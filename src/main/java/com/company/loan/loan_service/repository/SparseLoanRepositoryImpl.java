@@ -0,0 +1,77 @@
+package com.company.loan.loan_service.repository;
+
+import com.company.loan.loan_service.dto.LoanField;
+import com.company.loan.loan_service.dto.LoanResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+class SparseLoanRepositoryImpl implements SparseLoanRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LoanResponse> findSparseByCustomerIdWithFilters(Long customerId, Boolean isPaid,
+                                                                Integer numberOfInstallments, Set<LoanField> fields) {
+        List<LoanField> columns = columns(fields, LoanField::getLoanAttribute);
+        List<Object[]> rows = entityManager.createQuery(
+                        select(columns, LoanField::getLoanAttribute) + " FROM Loan l WHERE l.customer.id = :customerId AND " +
+                        "(:isPaid IS NULL OR l.isPaid = :isPaid) AND " +
+                        "(:numberOfInstallments IS NULL OR l.numberOfInstallment = :numberOfInstallments)", Object[].class)
+                .setParameter("customerId", customerId)
+                .setParameter("isPaid", isPaid)
+                .setParameter("numberOfInstallments", numberOfInstallments)
+                .getResultList();
+        return toResponses(rows, columns, fields);
+    }
+
+    @Override
+    public List<LoanResponse> findSparseArchivedByCustomerIdWithFilters(Long customerId, Integer numberOfInstallments,
+                                                                        Set<LoanField> fields) {
+        List<LoanField> columns = columns(fields, LoanField::getArchivedLoanAttribute);
+        List<Object[]> rows = entityManager.createQuery(
+                        select(columns, LoanField::getArchivedLoanAttribute) + " FROM ArchivedLoan l " +
+                        "WHERE l.customerId = :customerId AND " +
+                        "(:numberOfInstallments IS NULL OR l.numberOfInstallment = :numberOfInstallments) ORDER BY l.id",
+                        Object[].class)
+                .setParameter("customerId", customerId)
+                .setParameter("numberOfInstallments", numberOfInstallments)
+                .getResultList();
+        return toResponses(rows, columns, fields);
+    }
+
+    // The ID is always selected, so there is a row per loan even if no stored field is
+    private static List<LoanField> columns(Set<LoanField> fields, Function<LoanField, String> attribute) {
+        return fields.stream()
+                .filter(field -> field != LoanField.ID && attribute.apply(field) != null)
+                .collect(Collectors.toList());
+    }
+
+    private static String select(List<LoanField> columns, Function<LoanField, String> attribute) {
+        return columns.stream()
+                .map(field -> ", l." + attribute.apply(field))
+                .collect(Collectors.joining("", "SELECT l.id", ""));
+    }
+
+    private static List<LoanResponse> toResponses(List<Object[]> rows, List<LoanField> columns, Set<LoanField> fields) {
+        boolean withId = fields.contains(LoanField.ID);
+        List<LoanResponse> responses = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            LoanResponse response = new LoanResponse();
+            if (withId) {
+                LoanField.ID.set(response, row[0]);
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                columns.get(i).set(response, row[i + 1]);
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+}
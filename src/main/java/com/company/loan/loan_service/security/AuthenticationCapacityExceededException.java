@@ -0,0 +1,13 @@
+package com.company.loan.loan_service.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when a login cannot be verified because the password verification bulkhead is saturated.
+ */
+public class AuthenticationCapacityExceededException extends AuthenticationServiceException {
+
+    public AuthenticationCapacityExceededException(String message) {
+        super(message);
+    }
+}
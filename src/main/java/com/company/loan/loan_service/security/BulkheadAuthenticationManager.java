@@ -0,0 +1,35 @@
+package com.company.loan.loan_service.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+
+/**
+ * {@link AuthenticationManager} that short-circuits throttled usernames and runs the remaining
+ * verifications on the {@link PasswordVerificationBulkhead}.
+ */
+@RequiredArgsConstructor
+public class BulkheadAuthenticationManager implements AuthenticationManager {
+
+    private final AuthenticationManager delegate;
+    private final PasswordVerificationBulkhead bulkhead;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        String username = authentication.getName();
+        if (loginAttemptThrottle.isBlocked(username)) {
+            throw new LoginThrottledException(username, loginAttemptThrottle.getRetryAfterSeconds(username));
+        }
+
+        try {
+            Authentication result = bulkhead.execute(() -> delegate.authenticate(authentication));
+            loginAttemptThrottle.recordSuccess(username);
+            return result;
+        } catch (BadCredentialsException e) {
+            loginAttemptThrottle.recordFailure(username);
+            throw e;
+        }
+    }
+}
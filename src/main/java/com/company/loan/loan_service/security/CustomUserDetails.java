@@ -20,6 +20,10 @@ public class CustomUserDetails implements UserDetails {
         return authorities;
     }
     
+    public boolean hasRole(String role) {
+        return authorities.stream().anyMatch(authority -> ("ROLE_" + role).equals(authority.getAuthority()));
+    }
+    
     @Override
     public String getPassword() {
         return null;
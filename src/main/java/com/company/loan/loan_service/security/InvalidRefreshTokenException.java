@@ -0,0 +1,13 @@
+package com.company.loan.loan_service.security;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Thrown when a refresh token is unknown, expired or has already been rotated.
+ */
+public class InvalidRefreshTokenException extends AuthenticationException {
+
+    public InvalidRefreshTokenException() {
+        super("Refresh token is invalid or expired");
+    }
+}
@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -31,7 +32,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
+            if (jwt != null && jwtUtil.validateToken(jwt) && !isRevoked(jwt)) {
                 String username = jwtUtil.getUsernameFromToken(jwt);
                 List<String> roles = jwtUtil.getRolesFromToken(jwt);
                 Long customerId = jwtUtil.getCustomerIdFromToken(jwt);
@@ -55,6 +56,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private boolean isRevoked(String jwt) {
+        if (tokenRevocationService.isRevoked(jwtUtil.getTokenIdFromToken(jwt))) {
+            log.debug("Rejected revoked token for user: {}", jwtUtil.getUsernameFromToken(jwt));
+            return true;
+        }
+        return false;
+    }
+    
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         
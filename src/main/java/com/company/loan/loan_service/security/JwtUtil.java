@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 @Component
 @Slf4j
@@ -26,6 +27,7 @@ public class JwtUtil {
     
     public String generateToken(String username, List<String> roles, Long customerId) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .claim("roles", roles)
                 .claim("customerId", customerId)
@@ -49,6 +51,10 @@ public class JwtUtil {
         return customerId != null ? ((Number) customerId).longValue() : null;
     }
     
+    public String getTokenIdFromToken(String token) {
+        return getClaims(token).getId();
+    }
+    
     public Date getExpirationDateFromToken(String token) {
         return getClaims(token).getExpiration();
     }
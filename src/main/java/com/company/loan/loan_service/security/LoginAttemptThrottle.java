@@ -0,0 +1,108 @@
+package com.company.loan.loan_service.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks failed logins per username and blocks further attempts once too many fail within the lockout window,
+ * so a guessing client is turned away before it costs a BCrypt hash.
+ */
+@Component
+@Slf4j
+public class LoginAttemptThrottle {
+
+    private final int maxFailures;
+    private final long lockoutMillis;
+    private final int maxTrackedUsernames;
+    private final Map<String, FailureWindow> failures = new ConcurrentHashMap<>();
+    private final Counter throttledCounter;
+
+    public LoginAttemptThrottle(@Value("${auth.throttle.max-failures:5}") int maxFailures,
+                                @Value("${auth.throttle.lockout-seconds:300}") long lockoutSeconds,
+                                @Value("${auth.throttle.max-tracked-usernames:10000}") int maxTrackedUsernames,
+                                MeterRegistry meterRegistry) {
+        this.maxFailures = maxFailures;
+        this.lockoutMillis = lockoutSeconds * 1000L;
+        this.maxTrackedUsernames = maxTrackedUsernames;
+        this.throttledCounter = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected before password verification")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.tracked", failures, Map::size)
+                .description("Usernames with recent failed logins")
+                .register(meterRegistry);
+    }
+
+    public boolean isBlocked(String username) {
+        FailureWindow window = failures.get(username);
+        if (window != null && window.blockedUntil > System.currentTimeMillis()) {
+            throttledCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public long getRetryAfterSeconds(String username) {
+        FailureWindow window = failures.get(username);
+        if (window == null) {
+            return 0;
+        }
+        long remainingMillis = window.blockedUntil - System.currentTimeMillis();
+        return Math.max(0, (remainingMillis + 999) / 1000);
+    }
+
+    public void recordFailure(String username) {
+        long now = System.currentTimeMillis();
+        if (!failures.containsKey(username) && failures.size() >= maxTrackedUsernames) {
+            evictExpired(now);
+            if (failures.size() >= maxTrackedUsernames) {
+                log.warn("Login throttle is tracking {} usernames, not tracking failures for: {}",
+                        failures.size(), username);
+                return;
+            }
+        }
+
+        FailureWindow window = failures.compute(username, (key, current) -> {
+            if (current == null || current.isExpired(now, lockoutMillis)) {
+                return new FailureWindow(1, now, 0);
+            }
+            int count = current.failures + 1;
+            long blockedUntil = count >= maxFailures ? now + lockoutMillis : current.blockedUntil;
+            return new FailureWindow(count, current.windowStart, blockedUntil);
+        });
+
+        if (window.failures == maxFailures) {
+            log.warn("Too many failed logins for user: {}, blocking for {} ms", username, lockoutMillis);
+        }
+    }
+
+    public void recordSuccess(String username) {
+        failures.remove(username);
+    }
+
+    private void evictExpired(long now) {
+        failures.entrySet().removeIf(entry -> entry.getValue().isExpired(now, lockoutMillis));
+    }
+
+    private static final class FailureWindow {
+        private final int failures;
+        private final long windowStart;
+        private final long blockedUntil;
+
+        private FailureWindow(int failures, long windowStart, long blockedUntil) {
+            this.failures = failures;
+            this.windowStart = windowStart;
+            this.blockedUntil = blockedUntil;
+        }
+
+        private boolean isExpired(long now, long lockoutMillis) {
+            return blockedUntil <= now && now - windowStart > lockoutMillis;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.loan.loan_service.security;
+
+import lombok.Getter;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Thrown when a username is temporarily blocked after too many failed logins.
+ */
+@Getter
+public class LoginThrottledException extends AuthenticationException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String username, long retryAfterSeconds) {
+        super("Too many failed login attempts for user: " + username);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
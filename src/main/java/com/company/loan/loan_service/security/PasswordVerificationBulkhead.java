@@ -0,0 +1,111 @@
+package com.company.loan.loan_service.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded executor for password verification.
+ * <p>
+ * BCrypt is deliberately CPU-heavy, so verifications run on at most one thread per core with a bounded queue in
+ * front. When the queue is full the login is rejected immediately rather than letting a login storm occupy every
+ * request thread on the node.
+ */
+@Component
+@Slf4j
+public class PasswordVerificationBulkhead implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Timer queueWaitTimer;
+    private final Timer verificationTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordVerificationBulkhead(@Value("${auth.bulkhead.threads:0}") int threads,
+                                        @Value("${auth.bulkhead.queue-capacity:64}") int queueCapacity,
+                                        @Value("${auth.bulkhead.timeout-ms:5000}") long timeoutMillis,
+                                        MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+
+        this.queueWaitTimer = Timer.builder("auth.bcrypt.queue.wait")
+                .description("Time a login waited for a password verification thread")
+                .register(meterRegistry);
+        this.verificationTimer = Timer.builder("auth.bcrypt.hash.time")
+                .description("Time spent verifying a password, including the user lookup")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.bcrypt.rejected")
+                .description("Logins rejected because the verification queue was full or timed out")
+                .register(meterRegistry);
+        Gauge.builder("auth.bcrypt.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Logins waiting for a password verification thread")
+                .register(meterRegistry);
+
+        log.info("Password verification bulkhead started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    public <T> T execute(Supplier<T> verification) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return verificationTimer.record(verification);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new AuthenticationCapacityExceededException("Password verification queue is full");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new AuthenticationCapacityExceededException("Password verification timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new AuthenticationServiceException("Interrupted while waiting for password verification", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new AuthenticationServiceException("Password verification failed", cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
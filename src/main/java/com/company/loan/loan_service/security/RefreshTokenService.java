@@ -0,0 +1,147 @@
+package com.company.loan.loan_service.security;
+
+import com.company.loan.loan_service.entity.RefreshToken;
+import com.company.loan.loan_service.repository.RefreshTokenRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * <p>
+ * Tokens are persisted by their SHA-256 hash and cached in memory, so exchanging a refresh token for a new access
+ * token is a hash-keyed lookup plus a single-row delete instead of a BCrypt password verification. Every refresh
+ * rotates the token: the presented token is deleted and a new one is issued, so a token can be used only once.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Map<String, CachedRefreshToken> cache = new ConcurrentHashMap<>();
+
+    @Value("${jwt.refresh.expiration-ms:2592000000}")
+    private long refreshExpirationMs;
+
+    @Value("${jwt.refresh.cache-max-entries:100000}")
+    private int cacheMaxEntries;
+
+    public String issue(String username, List<String> roles, Long customerId) {
+        byte[] randomBytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(randomBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+        String tokenHash = hash(token);
+
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusMillis(refreshExpirationMs);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(tokenHash)
+                .username(username)
+                .customerId(customerId)
+                .roles(String.join(",", roles))
+                .createdAt(now)
+                .expiresAt(expiresAt)
+                .build());
+
+        if (cache.size() < cacheMaxEntries) {
+            cache.put(tokenHash, new CachedRefreshToken(username, customerId, List.copyOf(roles), expiresAt.toEpochMilli()));
+        }
+        return token;
+    }
+
+    public RefreshGrant rotate(String refreshToken) {
+        String tokenHash = hash(refreshToken);
+
+        CachedRefreshToken current = cache.remove(tokenHash);
+        if (current == null) {
+            current = refreshTokenRepository.findByTokenHash(tokenHash)
+                    .map(RefreshTokenService::toCached)
+                    .orElseThrow(InvalidRefreshTokenException::new);
+        }
+
+        // The delete is the single-use guard: a token rotated concurrently or on another node is already gone
+        if (refreshTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+            log.warn("Refresh token for user {} was already used", current.getUsername());
+            throw new InvalidRefreshTokenException();
+        }
+        if (current.getExpiresAtMillis() < System.currentTimeMillis()) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        String rotated = issue(current.getUsername(), current.getRoles(), current.getCustomerId());
+        return new RefreshGrant(current.getUsername(), current.getRoles(), current.getCustomerId(), rotated);
+    }
+
+    public void revoke(String refreshToken) {
+        String tokenHash = hash(refreshToken);
+        cache.remove(tokenHash);
+        refreshTokenRepository.deleteByTokenHash(tokenHash);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(entry -> entry.getExpiresAtMillis() < now);
+        int purged = refreshTokenRepository.deleteExpired(Instant.ofEpochMilli(now));
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private static CachedRefreshToken toCached(RefreshToken refreshToken) {
+        List<String> roles = refreshToken.getRoles().isEmpty()
+                ? List.of()
+                : Arrays.asList(refreshToken.getRoles().split(","));
+        return new CachedRefreshToken(refreshToken.getUsername(), refreshToken.getCustomerId(),
+                roles, refreshToken.getExpiresAt().toEpochMilli());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class CachedRefreshToken {
+        private final String username;
+        private final Long customerId;
+        private final List<String> roles;
+        private final long expiresAtMillis;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class RefreshGrant {
+        private final String username;
+        private final List<String> roles;
+        private final Long customerId;
+        private final String refreshToken;
+    }
+}
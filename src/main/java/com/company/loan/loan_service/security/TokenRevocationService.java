@@ -0,0 +1,117 @@
+package com.company.loan.loan_service.security;
+
+import com.company.loan.loan_service.entity.RevokedToken;
+import com.company.loan.loan_service.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation of access tokens by their JWT ID.
+ * <p>
+ * Revoked IDs are persisted in {@code revoked_tokens}. Every authenticated request first checks an in-memory
+ * {@link BloomFilter} built from that table; only on a filter hit (a revoked token or a rare false positive) is
+ * the table itself consulted. The filter is rebuilt periodically so revocations made on other nodes and expired
+ * entries are picked up.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Counter filterHitCounter;
+    private final Counter revokedHitCounter;
+    private final Set<String> revokedDuringRebuild = ConcurrentHashMap.newKeySet();
+    // Orders filter updates against the swap, so a revocation lands in the new filter or is replayed into it
+    private final Object filterLock = new Object();
+
+    @Value("${jwt.revocation.expected-revocations:10000}")
+    private int expectedRevocations;
+
+    @Value("${jwt.revocation.false-positive-probability:0.001}")
+    private double falsePositiveProbability;
+
+    private volatile BloomFilter filter;
+    private volatile boolean rebuilding;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.filterHitCounter = Counter.builder("auth.revocation.filter.hits")
+                .description("Token checks that passed the Bloom filter and needed an exact lookup")
+                .register(meterRegistry);
+        this.revokedHitCounter = Counter.builder("auth.revocation.revoked")
+                .description("Requests rejected because their token was revoked")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        if (!revokedTokenRepository.existsById(tokenId)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenId(tokenId)
+                    .expiresAt(expiresAt)
+                    .revokedAt(Instant.now())
+                    .build());
+        }
+        synchronized (filterLock) {
+            filter.put(tokenId);
+            if (rebuilding) {
+                revokedDuringRebuild.add(tokenId);
+            }
+        }
+        log.info("Revoked token {}", tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHitCounter.increment();
+        boolean revoked = revokedTokenRepository.existsById(tokenId);
+        if (revoked) {
+            revokedHitCounter.increment();
+        }
+        return revoked;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:60000}",
+               initialDelayString = "${jwt.revocation.rebuild-interval-ms:60000}")
+    public void rebuild() {
+        revokedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            Instant now = Instant.now();
+            revokedTokenRepository.deleteExpired(now);
+            List<String> activeTokenIds = revokedTokenRepository.findActiveTokenIds(now);
+
+            BloomFilter rebuilt = BloomFilter.create(
+                    Math.max(expectedRevocations, activeTokenIds.size() * 2), falsePositiveProbability);
+            activeTokenIds.forEach(rebuilt::put);
+            synchronized (filterLock) {
+                revokedDuringRebuild.forEach(rebuilt::put);
+                filter = rebuilt;
+            }
+
+            log.debug("Rebuilt revocation filter with {} tokens ({} bits, {} hashes)",
+                    activeTokenIds.size(), rebuilt.bitSize(), rebuilt.hashCount());
+        } finally {
+            rebuilding = false;
+        }
+    }
+}
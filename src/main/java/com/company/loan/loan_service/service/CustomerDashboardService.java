@@ -0,0 +1,159 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.CustomerDashboardResponse;
+import com.company.loan.loan_service.dto.InstallmentStatus;
+import com.company.loan.loan_service.dto.LoanInstallmentResponse;
+import com.company.loan.loan_service.dto.LoanResponse;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.exception.DashboardUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the home screen of a customer in one call: profile, loan summaries, the next due installment and totals.
+ * <p>
+ * The three reads behind it are independent, so they run concurrently on a bounded executor and the call takes as
+ * long as the slowest of them rather than their sum. All of them must finish within
+ * {@code customer-dashboard.timeout-ms}; past that, or when the executor queue is full, the request is answered with
+ * 503 and reads that have not started are dropped. Reads already running are left to finish rather than interrupted:
+ * the coalesced ones may be computing a result that other requests are waiting for.
+ */
+@Service
+@Slf4j
+public class CustomerDashboardService implements DisposableBean {
+
+    private final ReadCoalescer readCoalescer;
+    private final LoanService loanService;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+    private final Timer dashboardTimer;
+    private final Counter rejectedCounter;
+
+    public CustomerDashboardService(ReadCoalescer readCoalescer,
+                                    LoanService loanService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${customer-dashboard.threads:16}") int threads,
+                                    @Value("${customer-dashboard.queue-capacity:256}") int queueCapacity,
+                                    @Value("${customer-dashboard.timeout-ms:2000}") long timeoutMillis) {
+        this.readCoalescer = readCoalescer;
+        this.loanService = loanService;
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "customer-dashboard-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        this.dashboardTimer = Timer.builder("customer.dashboard.time")
+                .description("Time to assemble a customer dashboard")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("customer.dashboard.rejected")
+                .description("Dashboards not served because the executor queue was full or the deadline passed")
+                .register(meterRegistry);
+        Gauge.builder("customer.dashboard.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Dashboard reads waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    public CustomerDashboardResponse getDashboard(Long customerId) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeoutNanos;
+        List<Future<?>> reads = new ArrayList<>(3);
+        try {
+            Future<Customer> customer = submit(reads, () -> readCoalescer.getCustomerById(customerId));
+            Future<List<LoanResponse>> loans = submit(reads, () -> readCoalescer.getCustomerLoans(customerId, null, null));
+            Future<List<LoanInstallmentResponse>> unpaid = submit(reads, () -> loanService.getUnpaidInstallments(customerId));
+
+            // The customer read goes first so that an unknown customer is answered with 404 whichever read fails
+            CustomerDashboardResponse response = assemble(
+                    await(customer, deadline), await(loans, deadline), await(unpaid, deadline));
+            dashboardTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return response;
+        } finally {
+            // No-op for completed reads; an interrupt would fail a single-flight leader for everyone sharing it
+            reads.forEach(read -> read.cancel(false));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    static CustomerDashboardResponse assemble(Customer customer, List<LoanResponse> loans,
+                                              List<LoanInstallmentResponse> unpaid) {
+        BigDecimal outstandingAmount = BigDecimal.ZERO;
+        int overdueCount = 0;
+        for (LoanInstallmentResponse installment : unpaid) {
+            outstandingAmount = outstandingAmount.add(installment.getRemainingAmount());
+            if (installment.getStatus() == InstallmentStatus.OVERDUE) {
+                overdueCount++;
+            }
+        }
+
+        return CustomerDashboardResponse.builder()
+                .customer(customer)
+                .loans(loans)
+                .nextDueInstallment(unpaid.isEmpty() ? null : unpaid.get(0))
+                .outstandingAmount(outstandingAmount)
+                .unpaidInstallmentCount(unpaid.size())
+                .overdueInstallmentCount(overdueCount)
+                .activeLoanCount((int) loans.stream().filter(loan -> !Boolean.TRUE.equals(loan.getIsPaid())).count())
+                .build();
+    }
+
+    private <T> Future<T> submit(List<Future<?>> reads, Callable<T> read) {
+        try {
+            Future<T> future = executor.submit(read);
+            reads.add(future);
+            return future;
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new DashboardUnavailableException("Too many dashboards are being loaded, please retry shortly");
+        }
+    }
+
+    private <T> T await(Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            rejectedCounter.increment();
+            throw new DashboardUnavailableException("Dashboard could not be loaded in time, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DashboardUnavailableException("Interrupted while loading the dashboard");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Dashboard read failed", cause);
+        }
+    }
+}
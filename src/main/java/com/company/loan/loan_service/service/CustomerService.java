@@ -1,16 +1,20 @@
 package com.company.loan.loan_service.service;
 
+import com.company.loan.loan_service.dto.CustomerField;
 import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.event.CustomerCreditChangedEvent;
 import com.company.loan.loan_service.exception.CustomerNotFoundException;
 import com.company.loan.loan_service.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -19,6 +23,7 @@ import java.util.Optional;
 public class CustomerService {
     
     private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public Customer createCustomer(String name, String surname, BigDecimal creditLimit) {
         log.info("Creating customer: {} {} with credit limit: {}", name, surname, creditLimit);
@@ -29,7 +34,9 @@ public class CustomerService {
         customer.setCreditLimit(creditLimit);
         customer.setUsedCreditLimit(BigDecimal.ZERO);
         
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        publishCreditChanged(saved);
+        return saved;
     }
     
     @Transactional(readOnly = true)
@@ -48,6 +55,14 @@ public class CustomerService {
         return customerRepository.findAll();
     }
     
+    /**
+     * All customers with only the selected fields loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<Customer> getAllCustomers(Set<CustomerField> fields) {
+        return customerRepository.findAllSparse(fields);
+    }
+    
     public Customer updateCreditLimit(Long customerId, BigDecimal newCreditLimit) {
         log.info("Updating credit limit for customer {} to {}", customerId, newCreditLimit);
         
@@ -58,11 +73,18 @@ public class CustomerService {
         }
         
         customer.setCreditLimit(newCreditLimit);
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        publishCreditChanged(saved);
+        return saved;
     }
     
     @Transactional(readOnly = true)
     public List<Customer> getCustomersOverCreditLimit() {
         return customerRepository.findCustomersOverCreditLimit();
     }
+    
+    private void publishCreditChanged(Customer customer) {
+        eventPublisher.publishEvent(new CustomerCreditChangedEvent(
+                customer.getId(), customer.getCreditLimit(), customer.getUsedCreditLimit()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.entity.InstallmentPartition;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.repository.InstallmentPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Maintains the due-month partitions of {@code loan_installments}.
+ * <p>
+ * Every month from the current one up to {@code installment-partitions.months-ahead} ahead gets an
+ * {@code installment_partitions} catalog entry, created before any installment can fall due in it (new loans are
+ * due from next month for at most 24 months). When {@code installment-partitions.ddl-template} is set, the
+ * template is executed for each new month, so a database with declarative partitioning gets the physical partition
+ * as well. Placeholders: {@code {month}} is the partition's yyyyMM key, {@code {from}} and {@code {to}} the
+ * inclusive and exclusive month-key bounds.
+ * <p>
+ * The template only adds partitions to an already partitioned {@code loan_installments}. Hibernate's schema
+ * generation creates a plain table, which PostgreSQL cannot attach partitions to, so such a deployment creates the
+ * table by hand with {@code PARTITION BY RANGE (due_month)} and {@code PRIMARY KEY (id, due_month)} (the partition
+ * key must be part of it) and runs with {@code spring.jpa.hibernate.ddl-auto=none}.
+ */
+@Service
+@Transactional
+@Slf4j
+public class InstallmentPartitionService {
+
+    private final InstallmentPartitionRepository partitionRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${installment-partitions.months-ahead:26}")
+    private int monthsAhead;
+
+    @Value("${installment-partitions.ddl-template:}")
+    private String ddlTemplate;
+
+    public InstallmentPartitionService(InstallmentPartitionRepository partitionRepository, JdbcTemplate jdbcTemplate) {
+        this.partitionRepository = partitionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${installment-partitions.maintenance-cron:0 0 3 1 * *}")
+    public void maintain() {
+        ensurePartitions(YearMonth.now(), monthsAhead);
+    }
+
+    /**
+     * Creates the missing partitions from {@code from} to {@code monthsAhead} months after it.
+     *
+     * @return the number of partitions created
+     */
+    public int ensurePartitions(YearMonth from, int monthsAhead) {
+        Set<Integer> existing = new HashSet<>(partitionRepository.findAllDueMonths());
+        Instant now = Instant.now();
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = from.plusMonths(i);
+            LocalDate rangeStart = month.atDay(1);
+            int dueMonth = LoanInstallment.dueMonthOf(rangeStart);
+            if (existing.contains(dueMonth)) {
+                continue;
+            }
+
+            if (!ddlTemplate.isBlank()) {
+                jdbcTemplate.execute(ddlTemplate
+                        .replace("{month}", String.valueOf(dueMonth))
+                        .replace("{from}", String.valueOf(dueMonth))
+                        .replace("{to}", String.valueOf(LoanInstallment.dueMonthOf(month.plusMonths(1).atDay(1)))));
+            }
+            partitionRepository.save(InstallmentPartition.builder()
+                    .dueMonth(dueMonth)
+                    .rangeStart(rangeStart)
+                    .rangeEnd(month.plusMonths(1).atDay(1))
+                    .createdAt(now)
+                    .build());
+            created++;
+        }
+
+        if (created > 0) {
+            log.info("Created {} installment partitions up to {}", created, from.plusMonths(monthsAhead));
+        }
+        return created;
+    }
+}
@@ -0,0 +1,138 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.exception.LoanNotFoundException;
+import com.company.loan.loan_service.repository.ArchivedLoanRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import com.company.loan.loan_service.web.ResponseFormat;
+import com.company.loan.loan_service.web.ResponseMappers;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Versioned, pre-serialized installment lists for {@code GET /api/loans/{loanId}/installments}.
+ * <p>
+ * The ETag of a schedule is derived from the loan's {@code scheduleVersion}, which every payment bumps, so it can be
+ * checked with a single-row lookup on {@code loans} and a matching {@code If-None-Match} never reads installments.
+ * Unpaid installments turn overdue as days pass, so open loans also carry the current day in their tag. Paid loans
+ * never change again: their serialized response is kept in a bounded LRU map
+ * ({@code installment-schedule.cache.max-entries}) and served as-is while the tag still matches. Archived loans are
+ * immutable too and get a fixed tag. Each {@link ResponseFormat} is a separate representation with its own tag and
+ * cache entry.
+ * <p>
+ * Bodies are read through the {@link ReadCoalescer}, keyed on the loan and the format-independent part of the tag.
+ * A caller only shares a read started by another caller holding the same tag, so a flight started before a payment
+ * never hands its pre-payment list to a caller holding the newer tag, where a 304 would keep it alive.
+ */
+@Component
+public class InstallmentScheduleResponseCache {
+
+    private final ReadCoalescer readCoalescer;
+    private final LoanRepository loanRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
+    private final ResponseMappers responseMappers;
+    private final Map<CacheKey, CachedSchedule> paidSchedules;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public InstallmentScheduleResponseCache(ReadCoalescer readCoalescer,
+                                            LoanRepository loanRepository,
+                                            ArchivedLoanRepository archivedLoanRepository,
+                                            ResponseMappers responseMappers,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${installment-schedule.cache.max-entries:10000}") int maxEntries) {
+        this.readCoalescer = readCoalescer;
+        this.loanRepository = loanRepository;
+        this.archivedLoanRepository = archivedLoanRepository;
+        this.responseMappers = responseMappers;
+        this.paidSchedules = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedSchedule> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        this.hitCounter = Counter.builder("installment-schedule.cache.hits")
+                .description("Installment lists served from the paid-loan cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("installment-schedule.cache.misses")
+                .description("Installment lists read and serialized")
+                .register(meterRegistry);
+        Gauge.builder("installment-schedule.cache.size", paidSchedules, Map::size)
+                .description("Paid-loan installment lists held in serialized form")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws LoanNotFoundException if the loan is neither active nor archived
+     */
+    public ScheduleTag getTag(Long loanId, ResponseFormat format) {
+        return loanRepository.findScheduleVersion(loanId)
+                .map(row -> {
+                    long version = row.getScheduleVersion() != null ? row.getScheduleVersion() : 0;
+                    boolean paid = Boolean.TRUE.equals(row.getIsPaid());
+                    String scheduleVersion = paid
+                            ? loanId + "-" + version
+                            : loanId + "-" + version + "-" + LocalDate.now().toEpochDay();
+                    return new ScheduleTag(scheduleVersion + format.getETagSuffix(), scheduleVersion, format, paid);
+                })
+                .orElseGet(() -> {
+                    if (!archivedLoanRepository.existsById(loanId)) {
+                        throw new LoanNotFoundException(loanId);
+                    }
+                    String scheduleVersion = loanId + "-archived";
+                    return new ScheduleTag(scheduleVersion + format.getETagSuffix(), scheduleVersion, format, true);
+                });
+    }
+
+    /**
+     * @return the serialized installment list; the tag should come from {@link #getTag} for the same request
+     */
+    public byte[] getBody(Long loanId, ScheduleTag tag) {
+        CacheKey key = new CacheKey(loanId, tag.getFormat());
+        if (tag.isImmutable()) {
+            CachedSchedule cached = paidSchedules.get(key);
+            if (cached != null && cached.getETag().equals(tag.getETag())) {
+                hitCounter.increment();
+                return cached.getBody();
+            }
+        }
+
+        missCounter.increment();
+        byte[] body = responseMappers.write(
+                readCoalescer.getLoanInstallments(loanId, tag.getScheduleVersion()), tag.getFormat());
+        if (tag.isImmutable()) {
+            // A paid schedule is final, so the body read after the tag still belongs to it
+            paidSchedules.put(key, new CachedSchedule(tag.getETag(), body));
+        }
+        return body;
+    }
+
+    @lombok.Value
+    public static class ScheduleTag {
+        String eTag;
+        // The tag without its format suffix; equal for every representation of the same schedule state
+        String scheduleVersion;
+        ResponseFormat format;
+        boolean immutable;
+    }
+
+    @lombok.Value
+    private static class CacheKey {
+        Long loanId;
+        ResponseFormat format;
+    }
+
+    @lombok.Value
+    private static class CachedSchedule {
+        String eTag;
+        byte[] body;
+    }
+}
@@ -0,0 +1,112 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.entity.ArchivedLoan;
+import com.company.loan.loan_service.entity.ArchivedLoanInstallment;
+import com.company.loan.loan_service.entity.Loan;
+import com.company.loan.loan_service.repository.ArchivedLoanInstallmentRepository;
+import com.company.loan.loan_service.repository.ArchivedLoanRepository;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Moves fully paid loans out of the hot {@code loans} and {@code loan_installments} tables once they have been
+ * paid for longer than the retention window.
+ * <p>
+ * Each batch copies the loans and their installment rows to the archive tables and deletes the originals in one
+ * transaction, so an interrupted run leaves every loan in exactly one place and the next run resumes where it
+ * stopped. Loans are read back from the archive only when a caller asks for paid loans, or by ID.
+ */
+@Service
+@Slf4j
+public class LoanArchivalService {
+
+    private final LoanRepository loanRepository;
+    private final LoanInstallmentRepository installmentRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
+    private final ArchivedLoanInstallmentRepository archivedInstallmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${loan.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${loan.archive.retention-days:365}")
+    private int retentionDays;
+
+    @Value("${loan.archive.batch-size:500}")
+    private int batchSize;
+
+    public LoanArchivalService(LoanRepository loanRepository,
+                               LoanInstallmentRepository installmentRepository,
+                               ArchivedLoanRepository archivedLoanRepository,
+                               ArchivedLoanInstallmentRepository archivedInstallmentRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.loanRepository = loanRepository;
+        this.installmentRepository = installmentRepository;
+        this.archivedLoanRepository = archivedLoanRepository;
+        this.archivedInstallmentRepository = archivedInstallmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${loan.archive.cron:0 30 2 * * *}")
+    public void archiveExpiredLoans() {
+        if (enabled) {
+            archivePaidLoans(LocalDate.now().minusDays(retentionDays));
+        }
+    }
+
+    /**
+     * Archives every loan paid before the given date.
+     *
+     * @return the number of loans archived
+     */
+    public int archivePaidLoans(LocalDate paidBefore) {
+        long start = System.nanoTime();
+        int archived = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> archiveBatch(paidBefore));
+            archived += batch;
+        } while (batch > 0);
+
+        if (archived > 0) {
+            log.info("Archived {} loans paid before {} in {} ms", archived, paidBefore,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return archived;
+    }
+
+    private int archiveBatch(LocalDate paidBefore) {
+        List<Loan> loans = loanRepository.findArchivableLoans(paidBefore, PageRequest.of(0, batchSize));
+        if (loans.isEmpty()) {
+            return 0;
+        }
+        List<Long> loanIds = loans.stream().map(Loan::getId).collect(Collectors.toList());
+
+        Instant archivedAt = Instant.now();
+        archivedLoanRepository.saveAll(loans.stream()
+                .map(loan -> ArchivedLoan.from(loan, archivedAt))
+                .collect(Collectors.toList()));
+        archivedInstallmentRepository.saveAll(installmentRepository.findByLoanIdIn(loanIds).stream()
+                .map(ArchivedLoanInstallment::from)
+                .collect(Collectors.toList()));
+
+        int deletedInstallments = installmentRepository.deleteByLoanIdIn(loanIds);
+        loanRepository.deleteAllByIdInBatch(loanIds);
+        log.debug("Archived {} loans with {} installment rows (last loan ID {})",
+                loans.size(), deletedInstallments, loanIds.get(loanIds.size() - 1));
+        return loans.size();
+    }
+}
@@ -0,0 +1,117 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.LoanBalanceResponse;
+import com.company.loan.loan_service.entity.LoanEvent;
+import com.company.loan.loan_service.event.InstallmentsPaidEvent;
+import com.company.loan.loan_service.event.LoanCreatedEvent;
+import com.company.loan.loan_service.exception.LoanHistoryUnavailableException;
+import com.company.loan.loan_service.repository.LoanEventRepository;
+import com.company.loan.loan_service.repository.LoanSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Event-sourced history of loans, answering point-in-time balance queries.
+ * <p>
+ * {@code LoanService}'s events are appended to {@code loan_events} inside the transaction that made the change, as
+ * {@code LOAN_CREATED}, one {@code INSTALLMENT_PAID} per settled installment and {@code LOAN_CLOSED}. Every
+ * {@code loan.history.snapshot-every} events the loan's folded state is stored in {@code loan_snapshots}, so a
+ * query replays at most that many events on top of the nearest snapshot at or before its date. Loans created
+ * before the history existed have none and are not backfilled.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class LoanHistoryService {
+
+    private final LoanEventRepository loanEventRepository;
+    private final LoanSnapshotRepository loanSnapshotRepository;
+
+    @Value("${loan.history.snapshot-every:10}")
+    private int snapshotEvery;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        BigDecimal totalAmount = event.getInstallments().stream()
+                .map(LoanCreatedEvent.ScheduledInstallment::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        append(event.getLoanId(), 0, List.of(LoanEvent.builder()
+                .type(LoanEvent.Type.LOAN_CREATED)
+                .occurredOn(event.getCreateDate())
+                .amount(totalAmount)
+                .installmentCount(event.getInstallments().size())));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onInstallmentsPaid(InstallmentsPaidEvent event) {
+        int lastVersion = loanEventRepository.findLastVersion(event.getLoanId()).orElse(0);
+        if (lastVersion == 0) {
+            log.debug("Loan {} predates the loan history; payment not recorded", event.getLoanId());
+            return;
+        }
+        List<LoanEvent.LoanEventBuilder> events = new ArrayList<>();
+        event.getPaidInstallments().forEach(installment -> events.add(LoanEvent.builder()
+                .type(LoanEvent.Type.INSTALLMENT_PAID)
+                .occurredOn(event.getPaymentDate())
+                .amount(installment.getAmount())
+                .effectiveAmount(installment.getEffectiveAmount())
+                .dueDate(installment.getDueDate())));
+        if (event.isLoanComplete()) {
+            events.add(LoanEvent.builder()
+                    .type(LoanEvent.Type.LOAN_CLOSED)
+                    .occurredOn(event.getPaymentDate()));
+        }
+        append(event.getLoanId(), lastVersion, events);
+    }
+
+    @Transactional(readOnly = true)
+    public LoanBalanceResponse getBalanceAsOf(Long loanId, LocalDate asOf) {
+        LoanStateProjection state = replay(loanId, asOf);
+        if (state.getVersion() == 0) {
+            throw new LoanHistoryUnavailableException(loanId, asOf);
+        }
+        return state.toResponse(asOf);
+    }
+
+    private void append(Long loanId, int lastVersion, List<LoanEvent.LoanEventBuilder> events) {
+        Instant now = Instant.now();
+        int version = lastVersion;
+        List<LoanEvent> entries = new ArrayList<>(events.size());
+        for (LoanEvent.LoanEventBuilder event : events) {
+            entries.add(event.loanId(loanId).version(++version).recordedAt(now).build());
+        }
+        loanEventRepository.saveAll(entries);
+
+        if (version / snapshotEvery > lastVersion / snapshotEvery) {
+            LoanStateProjection state = loanSnapshotRepository.findFirstByLoanIdOrderByVersionDesc(loanId)
+                    .map(LoanStateProjection::fromSnapshot)
+                    .orElseGet(() -> LoanStateProjection.empty(loanId));
+            loanEventRepository.findByLoanIdAndVersionGreaterThanOrderByVersion(loanId, state.getVersion())
+                    .forEach(state::apply);
+            loanSnapshotRepository.save(state.toSnapshot());
+            log.debug("Stored snapshot of loan {} at version {}", loanId, state.getVersion());
+        }
+    }
+
+    private LoanStateProjection replay(Long loanId, LocalDate asOf) {
+        LoanStateProjection state = loanSnapshotRepository.findFirstByLoanIdAndAsOfLessThanEqualOrderByVersionDesc(loanId, asOf)
+                .map(LoanStateProjection::fromSnapshot)
+                .orElseGet(() -> LoanStateProjection.empty(loanId));
+        loanEventRepository.findForReplay(loanId, state.getVersion(), asOf).forEach(state::apply);
+        return state;
+    }
+}
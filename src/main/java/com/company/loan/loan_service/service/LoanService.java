@@ -1,23 +1,41 @@
 package com.company.loan.loan_service.service;
 
 import com.company.loan.loan_service.dto.*;
+import com.company.loan.loan_service.entity.ArchivedLoan;
 import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.entity.InstallmentScheduleCodec;
 import com.company.loan.loan_service.entity.Loan;
 import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.event.InstallmentsPaidEvent;
+import com.company.loan.loan_service.event.LoanCreatedEvent;
 import com.company.loan.loan_service.exception.*;
+import com.company.loan.loan_service.repository.ArchivedLoanInstallmentRepository;
+import com.company.loan.loan_service.repository.ArchivedLoanRepository;
 import com.company.loan.loan_service.repository.CustomerRepository;
 import com.company.loan.loan_service.repository.LoanInstallmentRepository;
 import com.company.loan.loan_service.repository.LoanRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +47,12 @@ public class LoanService {
     private final LoanRepository loanRepository;
     private final CustomerRepository customerRepository;
     private final LoanInstallmentRepository installmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchivedLoanRepository archivedLoanRepository;
+    private final ArchivedLoanInstallmentRepository archivedInstallmentRepository;
+
+    @Value("${loan.compact-schedule.enabled:false}")
+    private boolean compactScheduleEnabled;
 
     public LoanResponse createLoan(CreateLoanRequest request) {
         log.info("Creating loan for customer {} with amount {}", request.getCustomerId(), request.getLoanAmount());
@@ -53,20 +77,40 @@ public class LoanService {
                 .interestRate(request.getInterestRate())
                 .build();
 
-        loan = loanRepository.save(loan);
-
-        generateInstallments(loan, totalLoanAmount);
+        List<LoanInstallment> installments;
+        if (compactScheduleEnabled) {
+            loan.setEncodedSchedule(InstallmentScheduleCodec.encode(generateInstallments(loan, totalLoanAmount)));
+            loan = loanRepository.save(loan);
+            installments = InstallmentScheduleCodec.decode(loan);
+        } else {
+            loan = loanRepository.save(loan);
+            installments = generateInstallments(loan, totalLoanAmount);
+            installmentRepository.saveAll(installments);
+            loan.setInstallments(installments);
+        }
 
         customer.setUsedCreditLimit(customer.getUsedCreditLimit().add(totalLoanAmount));
         customerRepository.save(customer);
 
+        eventPublisher.publishEvent(new LoanCreatedEvent(
+                loan.getId(),
+                customer.getId(),
+                loan.getLoanAmount(),
+                loan.getCreateDate(),
+                installments.stream()
+                        .map(installment -> new LoanCreatedEvent.ScheduledInstallment(
+                                installment.getId(), installment.getAmount(), installment.getDueDate()))
+                        .collect(Collectors.toList()),
+                customer.getCreditLimit(),
+                customer.getUsedCreditLimit()));
+
         log.info("Loan created successfully with ID: {}", loan.getId());
-        return LoanResponse.fromEntity(loan);
+        return LoanResponse.fromEntity(loan, installments);
     }
 
     @Transactional(readOnly = true)
     public List<LoanResponse> getCustomerLoans(Long customerId, Boolean isPaid, Integer numberOfInstallments) {
-        log.info("Retrieving loans for customer {} with filters - isPaid: {}, installments: {}",
+        log.debug("Retrieving loans for customer {} with filters - isPaid: {}, installments: {}",
                 customerId, isPaid, numberOfInstallments);
 
         if (!customerRepository.existsById(customerId)) {
@@ -75,26 +119,191 @@ public class LoanService {
 
         List<Loan> loans = loanRepository.findByCustomerIdWithFilters(customerId, isPaid, numberOfInstallments);
 
-        return loans.stream()
+        List<LoanResponse> responses = loans.stream()
                 .map(LoanResponse::fromEntityWithoutInstallments)
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        // Archived loans are all paid, so the archive is only read when paid loans are asked for explicitly
+        if (Boolean.TRUE.equals(isPaid)) {
+            List<ArchivedLoan> archivedLoans = archivedLoanRepository.findByCustomerIdWithFilters(customerId, numberOfInstallments);
+            if (!archivedLoans.isEmpty()) {
+                Customer customer = customerRepository.getReferenceById(customerId);
+                archivedLoans.forEach(archivedLoan ->
+                        responses.add(LoanResponse.fromEntityWithoutInstallments(archivedLoan.toLoan(customer))));
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Same listing as {@link #getCustomerLoans(Long, Boolean, Integer)}, reading only the columns of the selected
+     * fields. The other properties of the responses are left {@code null}.
+     */
+    @Transactional(readOnly = true)
+    public List<LoanResponse> getCustomerLoans(Long customerId, Boolean isPaid, Integer numberOfInstallments,
+                                               Set<LoanField> fields) {
+        log.debug("Retrieving loans for customer {} with filters - isPaid: {}, installments: {}, fields: {}",
+                customerId, isPaid, numberOfInstallments, fields);
+
+        String customerName = null;
+        if (fields.contains(LoanField.CUSTOMER_NAME)) {
+            // Formatted like LoanResponse.fromEntity
+            Customer customer = customerRepository.findById(customerId)
+                    .orElseThrow(() -> new CustomerNotFoundException(customerId));
+            customerName = customer.getName() + " " + customer.getSurname();
+        } else if (!customerRepository.existsById(customerId)) {
+            throw new CustomerNotFoundException(customerId);
+        }
+
+        List<LoanResponse> responses = new ArrayList<>(
+                loanRepository.findSparseByCustomerIdWithFilters(customerId, isPaid, numberOfInstallments, fields));
+        if (Boolean.TRUE.equals(isPaid)) {
+            List<LoanResponse> archived = loanRepository.findSparseArchivedByCustomerIdWithFilters(
+                    customerId, numberOfInstallments, fields);
+            if (fields.contains(LoanField.IS_PAID)) {
+                archived.forEach(response -> response.setIsPaid(true));
+            }
+            responses.addAll(archived);
+        }
+
+        for (LoanResponse response : responses) {
+            if (fields.contains(LoanField.CUSTOMER_ID)) {
+                response.setCustomerId(customerId);
+            }
+            if (customerName != null) {
+                response.setCustomerName(customerName);
+            }
+        }
+        return responses;
     }
 
     @Transactional(readOnly = true)
     public List<LoanInstallmentResponse> getLoanInstallments(Long loanId) {
-        log.info("Retrieving installments for loan {}", loanId);
+        log.debug("Retrieving installments for loan {}", loanId);
 
-        if (!loanRepository.existsById(loanId)) {
-            throw new LoanNotFoundException(loanId);
+        Optional<Loan> hotLoan = loanRepository.findById(loanId);
+        if (hotLoan.isEmpty()) {
+            return getArchivedLoanInstallments(loanId);
         }
 
-        List<LoanInstallment> installments = installmentRepository.findByLoanId(loanId);
+        Loan loan = hotLoan.get();
+        List<LoanInstallment> installments = loan.hasEncodedSchedule()
+                ? InstallmentScheduleCodec.decode(loan)
+                : installmentRepository.findByLoanId(loanId);
+
+        return installments.stream()
+                .map(LoanInstallmentResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    private List<LoanInstallmentResponse> getArchivedLoanInstallments(Long loanId) {
+        Loan loan = archivedLoanRepository.findById(loanId)
+                .map(archivedLoan -> archivedLoan.toLoan(null))
+                .orElseThrow(() -> new LoanNotFoundException(loanId));
+
+        List<LoanInstallment> installments = loan.hasEncodedSchedule()
+                ? InstallmentScheduleCodec.decode(loan)
+                : archivedInstallmentRepository.findByLoanIdOrderByDueDateAsc(loanId).stream()
+                        .map(installment -> installment.toInstallment(loan))
+                        .collect(Collectors.toList());
 
         return installments.stream()
                 .map(LoanInstallmentResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Installments of several loans, grouped by loan in the order requested. One query reads the owner and compact
+     * schedule of every loan and one reads the installment rows of those not stored compactly; archived loans add
+     * the same two queries against the archive.
+     *
+     * @param customerId when not {@code null}, every loan must belong to this customer
+     * @throws AccessDeniedException if a loan belongs to another customer, or does not exist when a customer is given
+     * @throws LoanNotFoundException if a loan does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<LoanInstallmentsResponse> batchGetLoanInstallments(Collection<Long> loanIds, Long customerId) {
+        log.debug("Retrieving installments for {} loans", loanIds.size());
+
+        Set<Long> ids = new LinkedHashSet<>(loanIds);
+        Map<Long, LoanRepository.CompactScheduleRow> hotLoans = loanRepository.findScheduleOwners(ids).stream()
+                .collect(Collectors.toMap(LoanRepository.CompactScheduleRow::getLoanId, Function.identity()));
+        List<Long> notHot = ids.stream().filter(id -> !hotLoans.containsKey(id)).collect(Collectors.toList());
+        Map<Long, LoanRepository.CompactScheduleRow> archivedLoans = notHot.isEmpty()
+                ? Map.of()
+                : archivedLoanRepository.findScheduleOwners(notHot).stream()
+                        .collect(Collectors.toMap(LoanRepository.CompactScheduleRow::getLoanId, Function.identity()));
+
+        List<Long> hotRowLoanIds = new ArrayList<>();
+        List<Long> archivedRowLoanIds = new ArrayList<>();
+        for (Long id : ids) {
+            LoanRepository.CompactScheduleRow loan = hotLoans.containsKey(id) ? hotLoans.get(id) : archivedLoans.get(id);
+            if (loan == null && customerId == null) {
+                throw new LoanNotFoundException(id);
+            }
+            if (customerId != null && (loan == null || !customerId.equals(loan.getCustomerId()))) {
+                // Same answer as the single-loan endpoint, which does not reveal whether another customer's loan exists
+                throw new AccessDeniedException("Loan " + id + " is not owned by customer " + customerId);
+            }
+            if (loan.getEncodedSchedule() == null) {
+                (hotLoans.containsKey(id) ? hotRowLoanIds : archivedRowLoanIds).add(id);
+            }
+        }
+
+        Map<Long, List<LoanInstallmentResponse>> rowInstallments = new HashMap<>();
+        if (!hotRowLoanIds.isEmpty()) {
+            // Only the loan ID is read from each installment's loan, which the proxy holds without loading it
+            installmentRepository.findByLoanIdIn(hotRowLoanIds).forEach(installment ->
+                    rowInstallments.computeIfAbsent(installment.getLoan().getId(), id -> new ArrayList<>())
+                            .add(LoanInstallmentResponse.fromEntity(installment)));
+        }
+        if (!archivedRowLoanIds.isEmpty()) {
+            archivedInstallmentRepository.findByLoanIdInOrderByLoanIdAscDueDateAsc(archivedRowLoanIds).forEach(installment ->
+                    rowInstallments.computeIfAbsent(installment.getLoanId(), id -> new ArrayList<>())
+                            .add(LoanInstallmentResponse.fromEntity(
+                                    installment.toInstallment(Loan.builder().id(installment.getLoanId()).build()))));
+        }
+
+        List<LoanInstallmentsResponse> responses = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            LoanRepository.CompactScheduleRow loan = hotLoans.containsKey(id) ? hotLoans.get(id) : archivedLoans.get(id);
+            List<LoanInstallmentResponse> installments = loan.getEncodedSchedule() != null
+                    ? InstallmentScheduleCodec.decode(loan.getEncodedSchedule(), Loan.builder().id(id).build()).stream()
+                            .map(LoanInstallmentResponse::fromEntity)
+                            .collect(Collectors.toList())
+                    : rowInstallments.getOrDefault(id, List.of());
+            responses.add(new LoanInstallmentsResponse(id, installments));
+        }
+        return responses;
+    }
+
+    /**
+     * Unpaid installments of all the customer's open loans, earliest due first. One query reads the installment
+     * rows and one the compact schedules, which are decoded and filtered here.
+     */
+    @Transactional(readOnly = true)
+    public List<LoanInstallmentResponse> getUnpaidInstallments(Long customerId) {
+        log.debug("Retrieving unpaid installments for customer {}", customerId);
+
+        List<LoanInstallmentResponse> unpaid = installmentRepository.findUnpaidByCustomerId(customerId).stream()
+                .map(LoanInstallmentResponse::fromEntity)
+                .collect(Collectors.toCollection(ArrayList::new));
+        List<LoanRepository.CompactScheduleRow> compactLoans = loanRepository.findOpenCompactSchedules(customerId);
+        if (compactLoans.isEmpty()) {
+            return unpaid;
+        }
+        for (LoanRepository.CompactScheduleRow loan : compactLoans) {
+            InstallmentScheduleCodec.decode(loan.getEncodedSchedule(), Loan.builder().id(loan.getLoanId()).build())
+                    .stream()
+                    .filter(installment -> !installment.getIsPaid())
+                    .map(LoanInstallmentResponse::fromEntity)
+                    .forEach(unpaid::add);
+        }
+        unpaid.sort(Comparator.comparing(LoanInstallmentResponse::getDueDate)
+                .thenComparing(LoanInstallmentResponse::getLoanId));
+        return unpaid;
+    }
+
     public PaymentResponse processPayment(Long loanId, PaymentRequest request) {
         log.info("Processing payment for loan {} - amount: {}, date: {}",
                 loanId, request.getPaymentAmount(), request.getPaymentDate());
@@ -108,8 +317,11 @@ public class LoanService {
             throw PaymentException.invalidPaymentDate();
         }
 
-        Loan loan = loanRepository.findById(loanId)
-            .orElseThrow(() -> new LoanNotFoundException(loanId));
+        // Locked so that a concurrent payment or schedule migration of the same loan waits for this one
+        Loan loan = loanRepository.findByIdForUpdate(loanId)
+            .orElseThrow(() -> archivedLoanRepository.existsById(loanId)
+                    ? PaymentException.loanAlreadyPaid()
+                    : new LoanNotFoundException(loanId));
 
         if (loan.getIsPaid()) {
             throw PaymentException.loanAlreadyPaid();
@@ -118,11 +330,26 @@ public class LoanService {
         return executePaymentAlgorithm(loan, request, paymentDate);
     }
 
+    /**
+     * {@link #processPayment} as one item of a group commit. Joins the batch transaction instead of starting one,
+     * and a business rejection does not mark it rollback-only: rejections are raised before anything is changed, so
+     * the other payments in the batch still commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY, noRollbackFor = BusinessException.class)
+    public PaymentResponse applyPaymentWithinBatch(Long loanId, PaymentRequest request) {
+        return processPayment(loanId, request);
+    }
+
     private PaymentResponse executePaymentAlgorithm(Loan loan, PaymentRequest request, LocalDate paymentDate) {
         // Only allow payments for installments due within 3 calendar months from payment date
         LocalDate maxPaymentWindow = paymentDate.plusMonths(3);
-        List<LoanInstallment> unpaidInstallments = installmentRepository
-            .findUnpaidInstallmentsWithinPaymentWindow(
+        // Compact loans are decoded once, updated in memory and re-encoded after the payment
+        List<LoanInstallment> schedule = loan.hasEncodedSchedule() ? InstallmentScheduleCodec.decode(loan) : null;
+        List<LoanInstallment> unpaidInstallments = schedule != null
+            ? schedule.stream()
+                    .filter(installment -> !installment.getIsPaid() && !installment.getDueDate().isAfter(maxPaymentWindow))
+                    .collect(Collectors.toList())
+            : installmentRepository.findUnpaidInstallmentsWithinPaymentWindow(
                     loan.getId(),
                     maxPaymentWindow);
 
@@ -136,6 +363,7 @@ public class LoanService {
 
         BigDecimal remainingPayment = request.getPaymentAmount();
         List<PaymentResponse.InstallmentPaymentDetail> paymentDetails = new ArrayList<>();
+        List<InstallmentsPaidEvent.PaidInstallment> paidInstallments = new ArrayList<>();
         int installmentsPaid = 0;
         BigDecimal totalSpent = BigDecimal.ZERO;
 
@@ -157,9 +385,13 @@ public class LoanService {
                 totalSpent = totalSpent.add(detail.getEffectiveAmount());
                 installmentsPaid++;
                 paymentDetails.add(detail);
+                paidInstallments.add(new InstallmentsPaidEvent.PaidInstallment(
+                        installment.getId(), originalAmount, detail.getEffectiveAmount(), installment.getDueDate()));
 
-                installmentRepository.save(installment);
-                log.info("Installment {} paid fully. Effective amount: {}",
+                if (schedule == null) {
+                    installmentRepository.save(installment);
+                }
+                log.debug("Installment {} paid fully. Effective amount: {}",
                         installment.getId(), detail.getEffectiveAmount());
             } else {
                 // Cannot pay this installment fully, stop here
@@ -171,10 +403,23 @@ public class LoanService {
             throw PaymentException.insufficientPaymentAmount();
         }
 
+        // Flushed with the loan by dirty checking, also when only installment rows were saved
+        loan.bumpScheduleVersion();
+
         // Check if loan is complete
-        boolean isLoanComplete = installmentRepository.countUnpaidInstallmentsForLoan(loan.getId()) == 0;
+        long unpaidInstallmentCount;
+        if (schedule != null) {
+            loan.setEncodedSchedule(InstallmentScheduleCodec.encode(schedule));
+            loanRepository.save(loan);
+            unpaidInstallmentCount = schedule.stream().filter(installment -> !installment.getIsPaid()).count();
+        } else {
+            unpaidInstallmentCount = installmentRepository.countUnpaidInstallmentsForLoan(loan.getId());
+        }
+        boolean isLoanComplete = unpaidInstallmentCount == 0;
+        BigDecimal customerUsedCreditLimit = null;
         if (isLoanComplete) {
             loan.setIsPaid(true);
+            loan.setPaidDate(paymentDate);
             loanRepository.save(loan);
 
             // Free up customer's credit limit
@@ -183,10 +428,21 @@ public class LoanService {
             BigDecimal loanAmount = loan.getLoanAmount() != null ? loan.getLoanAmount() : BigDecimal.ZERO;
             customer.setUsedCreditLimit(currentUsedCredit.subtract(loanAmount));
             customerRepository.save(customer);
+            customerUsedCreditLimit = customer.getUsedCreditLimit();
 
             log.info("Loan {} is now fully paid", loan.getId());
         }
 
+        // The customer is only loaded when the loan completes; otherwise its used credit is unchanged
+        eventPublisher.publishEvent(new InstallmentsPaidEvent(
+                loan.getId(),
+                loan.getCustomer().getId(),
+                paymentDate,
+                paidInstallments,
+                (int) unpaidInstallmentCount,
+                isLoanComplete,
+                customerUsedCreditLimit));
+
         PaymentResponse response = new PaymentResponse();
         response.setInstallmentsPaidCount(installmentsPaid);
         response.setTotalAmountSpent(totalSpent);
@@ -229,7 +485,7 @@ public class LoanService {
 
         return detail;
     }
-    private void generateInstallments(Loan loan, BigDecimal totalAmount) {
+    private List<LoanInstallment> generateInstallments(Loan loan, BigDecimal totalAmount) {
         int numberOfInstallments = loan.getNumberOfInstallment();
 
         // input validation
@@ -281,8 +537,7 @@ public class LoanService {
         log.debug("Generated {} installments with total amount: {} (matches expected: {})",
                 numberOfInstallments, calculatedTotal, totalAmount);
 
-        installmentRepository.saveAll(installments);
-        loan.setInstallments(installments);
+        return installments;
     }
 
     private LocalDate getFirstDayOfNextMonth(LocalDate createDate) {
@@ -293,7 +548,9 @@ public class LoanService {
     @Transactional(readOnly = true)
     public boolean isLoanOwnedByCustomer(Long loanId, Long customerId) {
         return loanRepository.findById(loanId)
-            .map(loan -> loan.getCustomer().getId().equals(customerId))
+            .map(loan -> loan.getCustomer().getId())
+            .or(() -> archivedLoanRepository.findById(loanId).map(ArchivedLoan::getCustomerId))
+            .map(ownerId -> ownerId.equals(customerId))
             .orElse(false);
     }
 
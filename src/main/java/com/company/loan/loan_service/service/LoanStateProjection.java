@@ -0,0 +1,97 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.LoanBalanceResponse;
+import com.company.loan.loan_service.entity.LoanEvent;
+import com.company.loan.loan_service.entity.LoanSnapshot;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Folds a loan's events into its balance state, starting empty or from a snapshot.
+ */
+final class LoanStateProjection {
+
+    private final Long loanId;
+    private int version;
+    private LocalDate lastOccurredOn;
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+    private int installmentCount;
+    private int paidInstallmentCount;
+    private boolean closed;
+    private int replayedEvents;
+
+    private LoanStateProjection(Long loanId) {
+        this.loanId = loanId;
+    }
+
+    static LoanStateProjection empty(Long loanId) {
+        return new LoanStateProjection(loanId);
+    }
+
+    static LoanStateProjection fromSnapshot(LoanSnapshot snapshot) {
+        LoanStateProjection state = new LoanStateProjection(snapshot.getLoanId());
+        state.version = snapshot.getVersion();
+        state.lastOccurredOn = snapshot.getAsOf();
+        state.totalAmount = snapshot.getTotalAmount();
+        state.paidAmount = snapshot.getPaidAmount();
+        state.installmentCount = snapshot.getInstallmentCount();
+        state.paidInstallmentCount = snapshot.getPaidInstallmentCount();
+        state.closed = snapshot.getClosed();
+        return state;
+    }
+
+    void apply(LoanEvent event) {
+        switch (event.getType()) {
+            case LOAN_CREATED -> {
+                totalAmount = event.getAmount();
+                installmentCount = event.getInstallmentCount();
+            }
+            case INSTALLMENT_PAID -> {
+                paidAmount = paidAmount.add(event.getAmount());
+                paidInstallmentCount++;
+            }
+            case LOAN_CLOSED -> closed = true;
+        }
+        version = event.getVersion();
+        if (lastOccurredOn == null || event.getOccurredOn().isAfter(lastOccurredOn)) {
+            lastOccurredOn = event.getOccurredOn();
+        }
+        replayedEvents++;
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    LoanSnapshot toSnapshot() {
+        return LoanSnapshot.builder()
+                .loanId(loanId)
+                .version(version)
+                .asOf(lastOccurredOn)
+                .totalAmount(totalAmount)
+                .paidAmount(paidAmount)
+                .installmentCount(installmentCount)
+                .paidInstallmentCount(paidInstallmentCount)
+                .closed(closed)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    LoanBalanceResponse toResponse(LocalDate asOf) {
+        return LoanBalanceResponse.builder()
+                .loanId(loanId)
+                .asOf(asOf)
+                .totalAmount(totalAmount)
+                .paidAmount(paidAmount)
+                .outstandingAmount(totalAmount.subtract(paidAmount))
+                .installmentCount(installmentCount)
+                .paidInstallmentCount(paidInstallmentCount)
+                .isClosed(closed)
+                .eventVersion(version)
+                .replayedEvents(replayedEvents)
+                .build();
+    }
+}
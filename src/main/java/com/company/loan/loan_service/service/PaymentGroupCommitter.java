@@ -0,0 +1,245 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.dto.PaymentResponse;
+import com.company.loan.loan_service.exception.BusinessException;
+import com.company.loan.loan_service.exception.PaymentIntakeSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Opt-in group commit for payments ({@code payment.group-commit.enabled}).
+ * <p>
+ * Payments are queued in a bounded buffer and a single committer thread applies up to
+ * {@code payment.group-commit.batch-size} of them, or whatever arrived within {@code payment.group-commit.max-wait-ms}
+ * of the first, in one transaction, so a burst of payments shares one commit instead of paying for one each.
+ * Every caller still gets its own {@link PaymentResponse} or rejection:
+ * <ul>
+ *   <li>business rejections are raised before a payment changes anything, so they fail only their own item</li>
+ *   <li>any other failure rolls the batch back and its payments are retried one transaction each</li>
+ * </ul>
+ * The queue is FIFO and there is one committer, so payments for the same loan are applied in arrival order.
+ * A full queue rejects the payment with {@link PaymentIntakeSaturatedException}, and so does a caller that has
+ * waited {@code payment.group-commit.response-timeout-ms} for its batch. A failure of the committer itself fails
+ * the payments of its batch and the thread carries on with the next one.
+ */
+@Component
+@Slf4j
+public class PaymentGroupCommitter implements DisposableBean {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final LoanService loanService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final long responseTimeoutMillis;
+    private final BlockingQueue<PendingPayment> queue;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter fallbackCounter;
+    private final Thread committer;
+
+    private volatile boolean running;
+
+    public PaymentGroupCommitter(LoanService loanService,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payment.group-commit.enabled:false}") boolean enabled,
+                                 @Value("${payment.group-commit.batch-size:64}") int batchSize,
+                                 @Value("${payment.group-commit.max-wait-ms:5}") long maxWaitMillis,
+                                 @Value("${payment.group-commit.queue-capacity:1024}") int queueCapacity,
+                                 @Value("${payment.group-commit.response-timeout-ms:10000}") long responseTimeoutMillis) {
+        this.loanService = loanService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.responseTimeoutMillis = responseTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.batchSizeSummary = DistributionSummary.builder("payment.group-commit.batch.size")
+                .description("Payments committed per transaction")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("payment.group-commit.fallbacks")
+                .description("Batches rolled back and retried one payment per transaction")
+                .register(meterRegistry);
+        Gauge.builder("payment.group-commit.queue.size", queue, BlockingQueue::size)
+                .description("Payments waiting for the committer")
+                .register(meterRegistry);
+
+        this.committer = new Thread(this::run, "payment-group-commit");
+        this.committer.setDaemon(true);
+        if (enabled) {
+            running = true;
+            committer.start();
+            log.info("Payment group commit started with batch size {} and max wait {} ms", batchSize, maxWaitMillis);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<PaymentResponse> submit(Long loanId, PaymentRequest request) {
+        return enqueue(loanId, request).result;
+    }
+
+    /**
+     * Submits a payment and waits for its batch to commit, rethrowing its rejection as-is.
+     *
+     * @throws PaymentIntakeSaturatedException if the queue is full or the batch has not committed within
+     *                                         {@code payment.group-commit.response-timeout-ms}; a payment that had
+     *                                         already left the queue may still be applied
+     */
+    public PaymentResponse process(Long loanId, PaymentRequest request) {
+        PendingPayment payment = enqueue(loanId, request);
+        try {
+            return payment.result.get(responseTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Withdrawn if the committer has not taken it yet, so the caller's retry cannot pay twice
+            boolean withdrawn = queue.remove(payment);
+            log.warn("Payment for loan {} not committed within {} ms ({})", loanId, responseTimeoutMillis,
+                    withdrawn ? "withdrawn from the queue" : "still being committed");
+            throw new PaymentIntakeSaturatedException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.remove(payment);
+            throw new PaymentIntakeSaturatedException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private PendingPayment enqueue(Long loanId, PaymentRequest request) {
+        PendingPayment payment = new PendingPayment(loanId, request);
+        if (!running || !queue.offer(payment)) {
+            throw new PaymentIntakeSaturatedException();
+        }
+        return payment;
+    }
+
+    private void run() {
+        List<PendingPayment> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    commit(batch);
+                } catch (Throwable e) {
+                    // Nothing may stop this thread: every later payment would wait for a committer that is gone
+                    log.error("Group commit of {} payments failed unexpectedly", batch.size(), e);
+                    batch.forEach(payment -> payment.result.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void collect(List<PendingPayment> batch) throws InterruptedException {
+        PendingPayment first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingPayment next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    void commit(List<PendingPayment> batch) {
+        batchSizeSummary.record(batch.size());
+        try {
+            // Outcomes are only handed out once the transaction has committed
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(payment -> {
+                try {
+                    payment.response = loanService.applyPaymentWithinBatch(payment.loanId, payment.request);
+                    payment.failure = null;
+                } catch (BusinessException e) {
+                    payment.response = null;
+                    payment.failure = e;
+                }
+            }));
+        } catch (Throwable e) {
+            fallbackCounter.increment();
+            log.warn("Group commit of {} payments failed, applying them one by one", batch.size(), e);
+            batch.forEach(payment -> {
+                try {
+                    payment.response = loanService.processPayment(payment.loanId, payment.request);
+                    payment.failure = null;
+                } catch (Throwable failure) {
+                    payment.response = null;
+                    payment.failure = failure;
+                }
+            });
+        }
+
+        batch.forEach(payment -> {
+            if (payment.failure != null) {
+                payment.result.completeExceptionally(payment.failure);
+            } else {
+                payment.result.complete(payment.response);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // Not interrupted: the committer finishes the queued payments before the data source closes
+        running = false;
+        if (enabled) {
+            committer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    static final class PendingPayment {
+        private final Long loanId;
+        private final PaymentRequest request;
+        private final CompletableFuture<PaymentResponse> result = new CompletableFuture<>();
+        private PaymentResponse response;
+        private Throwable failure;
+
+        PendingPayment(Long loanId, PaymentRequest request) {
+            this.loanId = loanId;
+            this.request = request;
+        }
+
+        CompletableFuture<PaymentResponse> getResult() {
+            return result;
+        }
+    }
+}
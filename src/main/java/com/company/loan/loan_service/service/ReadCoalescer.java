@@ -0,0 +1,96 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.LoanField;
+import com.company.loan.loan_service.dto.LoanInstallmentResponse;
+import com.company.loan.loan_service.dto.LoanResponse;
+import com.company.loan.loan_service.entity.Customer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single-flight front for the reads that spike together at month start ({@code single-flight.enabled}): concurrent
+ * requests for the same customer's loans, the same loan's installments or the same customer share one computation
+ * and its result (see {@link SingleFlight}). The computation runs outside any caller's transaction, so waiting
+ * callers hold no connection.
+ * <p>
+ * Results are shared between requests, so only read-only callers such as controllers use this; service code that
+ * modifies what it reads goes to the services directly.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final LoanService loanService;
+    private final CustomerService customerService;
+    private final boolean enabled;
+    private final SingleFlight<CustomerLoansKey, List<LoanResponse>> customerLoans;
+    private final SingleFlight<LoanInstallmentsKey, List<LoanInstallmentResponse>> loanInstallments;
+    private final SingleFlight<Long, Customer> customers;
+
+    public ReadCoalescer(LoanService loanService,
+                         CustomerService customerService,
+                         MeterRegistry meterRegistry,
+                         @Value("${single-flight.enabled:true}") boolean enabled,
+                         @Value("${single-flight.max-keys:10000}") int maxKeys) {
+        this.loanService = loanService;
+        this.customerService = customerService;
+        this.enabled = enabled;
+        this.customerLoans = new SingleFlight<>("customer-loans", maxKeys, meterRegistry);
+        this.loanInstallments = new SingleFlight<>("loan-installments", maxKeys, meterRegistry);
+        this.customers = new SingleFlight<>("customer", maxKeys, meterRegistry);
+    }
+
+    public List<LoanResponse> getCustomerLoans(Long customerId, Boolean isPaid, Integer numberOfInstallments) {
+        if (!enabled) {
+            return loanService.getCustomerLoans(customerId, isPaid, numberOfInstallments);
+        }
+        return customerLoans.execute(new CustomerLoansKey(customerId, isPaid, numberOfInstallments, null),
+                () -> loanService.getCustomerLoans(customerId, isPaid, numberOfInstallments));
+    }
+
+    public List<LoanResponse> getCustomerLoans(Long customerId, Boolean isPaid, Integer numberOfInstallments,
+                                               Set<LoanField> fields) {
+        if (!enabled) {
+            return loanService.getCustomerLoans(customerId, isPaid, numberOfInstallments, fields);
+        }
+        return customerLoans.execute(new CustomerLoansKey(customerId, isPaid, numberOfInstallments, fields),
+                () -> loanService.getCustomerLoans(customerId, isPaid, numberOfInstallments, fields));
+    }
+
+    /**
+     * @param scheduleVersion the state the caller has already seen, e.g. from the schedule's ETag; only callers that
+     *                        saw the same state share a read, so none gets a list older than the one it expects
+     */
+    public List<LoanInstallmentResponse> getLoanInstallments(Long loanId, String scheduleVersion) {
+        if (!enabled) {
+            return loanService.getLoanInstallments(loanId);
+        }
+        return loanInstallments.execute(new LoanInstallmentsKey(loanId, scheduleVersion),
+                () -> loanService.getLoanInstallments(loanId));
+    }
+
+    public Customer getCustomerById(Long customerId) {
+        if (!enabled) {
+            return customerService.getCustomerById(customerId);
+        }
+        return customers.execute(customerId, () -> customerService.getCustomerById(customerId));
+    }
+
+    // fields is null for the full listing
+    @lombok.Value
+    private static class CustomerLoansKey {
+        Long customerId;
+        Boolean isPaid;
+        Integer numberOfInstallments;
+        Set<LoanField> fields;
+    }
+
+    @lombok.Value
+    private static class LoanInstallmentsKey {
+        Long loanId;
+        String scheduleVersion;
+    }
+}
@@ -0,0 +1,127 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.ScheduleMigrationResponse;
+import com.company.loan.loan_service.entity.InstallmentScheduleCodec;
+import com.company.loan.loan_service.entity.Loan;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Migrates loans stored as {@code loan_installments} rows to the compact encoded schedule.
+ * <p>
+ * Loans are processed in ID order, one batch per transaction: the batch's installment rows are loaded with a
+ * single {@code IN} query, encoded onto the loan and deleted with a single bulk delete. A loan whose rows do not
+ * follow the regular schedule layout is left on rows. The batch's loans are locked for the whole transaction, the
+ * same lock payments take, so a payment either commits before its loan's rows are read or sees the encoded
+ * schedule. Reads handle both representations, so the migration can run while the service is serving traffic and
+ * can be interrupted and resumed.
+ */
+@Service
+@Slf4j
+public class ScheduleMigrationService {
+
+    private final LoanRepository loanRepository;
+    private final LoanInstallmentRepository installmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${loan.compact-schedule.migration-batch-size:500}")
+    private int batchSize;
+
+    public ScheduleMigrationService(LoanRepository loanRepository,
+                                    LoanInstallmentRepository installmentRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.loanRepository = loanRepository;
+        this.installmentRepository = installmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ScheduleMigrationResponse migrateToCompact() {
+        long start = System.nanoTime();
+        BatchResult total = new BatchResult();
+        long lastLoanId = 0;
+        while (true) {
+            long afterId = lastLoanId;
+            BatchResult batch = transactionTemplate.execute(status -> migrateBatch(afterId));
+            if (batch.loans == 0) {
+                break;
+            }
+            total.add(batch);
+            lastLoanId = batch.lastLoanId;
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Migrated {} loans to compact schedules ({} skipped, {} installment rows deleted) in {} ms",
+                total.migrated, total.skipped, total.deletedRows, durationMs);
+        return ScheduleMigrationResponse.builder()
+                .migratedLoans(total.migrated)
+                .skippedLoans(total.skipped)
+                .deletedInstallmentRows(total.deletedRows)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private BatchResult migrateBatch(long afterId) {
+        BatchResult result = new BatchResult();
+        List<Loan> loans = loanRepository.findRowScheduledLoansAfter(afterId, PageRequest.of(0, batchSize));
+        if (loans.isEmpty()) {
+            return result;
+        }
+        result.loans = loans.size();
+        result.lastLoanId = loans.get(loans.size() - 1).getId();
+
+        Map<Long, List<LoanInstallment>> installmentsByLoan = installmentRepository
+                .findByLoanIdIn(loans.stream().map(Loan::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(installment -> installment.getLoan().getId()));
+
+        List<Long> migratedLoanIds = new ArrayList<>();
+        for (Loan loan : loans) {
+            List<LoanInstallment> installments = installmentsByLoan.get(loan.getId());
+            if (installments == null) {
+                result.skipped++;
+                continue;
+            }
+            try {
+                loan.setEncodedSchedule(InstallmentScheduleCodec.encode(installments));
+                migratedLoanIds.add(loan.getId());
+            } catch (IllegalArgumentException e) {
+                log.warn("Loan {} stays on installment rows: {}", loan.getId(), e.getMessage());
+                result.skipped++;
+            }
+        }
+
+        if (!migratedLoanIds.isEmpty()) {
+            loanRepository.saveAll(loans);
+            result.deletedRows = installmentRepository.deleteByLoanIdIn(migratedLoanIds);
+        }
+        result.migrated = migratedLoanIds.size();
+        return result;
+    }
+
+    private static final class BatchResult {
+        private int loans;
+        private long lastLoanId;
+        private int migrated;
+        private int skipped;
+        private int deletedRows;
+
+        private void add(BatchResult batch) {
+            migrated += batch.migrated;
+            skipped += batch.skipped;
+            deletedRows += batch.deletedRows;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.company.loan.loan_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one computation per key at a time; callers that arrive while it runs wait for it and share its result
+ * or exception instead of computing their own. Nothing is kept once the computation finishes, so this is not a
+ * cache: a call after completion computes again.
+ * <p>
+ * The first caller computes on its own thread. At most {@code maxKeys} computations are tracked; beyond that calls
+ * run uncoalesced, so a flood of distinct keys cannot grow the map. Results are shared between callers and must be
+ * treated as read-only.
+ * <p>
+ * Meters, tagged with {@code name}: {@code single-flight.calls} by outcome ({@code leader}, {@code coalesced},
+ * {@code bypassed}), {@code single-flight.in-flight} and {@code single-flight.coalescing.ratio}, the share of calls
+ * that were served by another caller's computation.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final Counter leaderCounter;
+    private final Counter coalescedCounter;
+    private final Counter bypassedCounter;
+
+    public SingleFlight(String name, int maxKeys, MeterRegistry meterRegistry) {
+        this.maxKeys = maxKeys;
+
+        this.leaderCounter = Counter.builder("single-flight.calls")
+                .description("Calls by whether they computed, shared a computation in flight or bypassed coalescing")
+                .tags("name", name, "outcome", "leader")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("single-flight.calls")
+                .description("Calls by whether they computed, shared a computation in flight or bypassed coalescing")
+                .tags("name", name, "outcome", "coalesced")
+                .register(meterRegistry);
+        this.bypassedCounter = Counter.builder("single-flight.calls")
+                .description("Calls by whether they computed, shared a computation in flight or bypassed coalescing")
+                .tags("name", name, "outcome", "bypassed")
+                .register(meterRegistry);
+        Gauge.builder("single-flight.in-flight", inFlight, Map::size)
+                .description("Keys with a computation in flight")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("single-flight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .description("Share of calls served by another caller's computation")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> computation) {
+        // The size check races with other callers, so the bound is approximate
+        if (inFlight.size() >= maxKeys) {
+            bypassedCounter.increment();
+            return computation.get();
+        }
+
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(existing);
+        }
+
+        leaderCounter.increment();
+        try {
+            V value = computation.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private double coalescingRatio() {
+        double calls = leaderCounter.count() + coalescedCounter.count() + bypassedCounter.count();
+        return calls == 0 ? 0 : coalescedCounter.count() / calls;
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.company.loan.loan_service.web;
+
+import com.company.loan.loan_service.exception.ErrorResponseWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds load per endpoint group before any authentication or database work is done.
+ * <p>
+ * Payments, loan creation, reads and logins each get their own {@link AdaptiveConcurrencyLimiter}, so a slow
+ * database stalling payments cannot take the cheap read endpoints down with it. Requests over the limit are
+ * answered with 503 and a Retry-After header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final ErrorResponseWriter errorResponseWriter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${concurrency-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${concurrency-limit.min-limit:2}")
+    private int minLimit;
+
+    @Value("${concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${concurrency-limit.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Value("${concurrency-limit.payment.max-limit:50}")
+    private int paymentMaxLimit;
+
+    @Value("${concurrency-limit.payment.latency-threshold-ms:500}")
+    private long paymentLatencyThresholdMs;
+
+    @Value("${concurrency-limit.create-loan.max-limit:20}")
+    private int createLoanMaxLimit;
+
+    @Value("${concurrency-limit.create-loan.latency-threshold-ms:500}")
+    private long createLoanLatencyThresholdMs;
+
+    @Value("${concurrency-limit.read.max-limit:200}")
+    private int readMaxLimit;
+
+    @Value("${concurrency-limit.read.latency-threshold-ms:250}")
+    private long readLatencyThresholdMs;
+
+    @Value("${concurrency-limit.login.max-limit:8}")
+    private int loginMaxLimit;
+
+    @Value("${concurrency-limit.login.latency-threshold-ms:1000}")
+    private long loginLatencyThresholdMs;
+
+    private final Map<EndpointGroup, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointGroup.class);
+
+    @PostConstruct
+    void initLimiters() {
+        register(EndpointGroup.PAYMENT, paymentMaxLimit, paymentLatencyThresholdMs);
+        register(EndpointGroup.CREATE_LOAN, createLoanMaxLimit, createLoanLatencyThresholdMs);
+        register(EndpointGroup.READ, readMaxLimit, readLatencyThresholdMs);
+        register(EndpointGroup.LOGIN, loginMaxLimit, loginLatencyThresholdMs);
+    }
+
+    private void register(EndpointGroup group, int maxLimit, long latencyThresholdMs) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                group.tag, Math.min(minLimit, maxLimit), maxLimit, latencyThresholdMs, backoffRatio);
+        limiters.put(group, limiter);
+
+        Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("group", group.tag)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("group", group.tag)
+                .description("Requests currently holding a concurrency permit")
+                .register(meterRegistry);
+        FunctionCounter.builder("http.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .tag("group", group.tag)
+                .description("Requests rejected because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        EndpointGroup group = classify(request);
+        AdaptiveConcurrencyLimiter limiter = limiters.get(group);
+
+        if (!limiter.tryAcquire()) {
+            log.debug("Shedding {} request {} - limit {} reached", group.tag, request.getRequestURI(), limiter.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            errorResponseWriter.write(request, response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "SERVICE_OVERLOADED", "Service is overloaded, please retry later");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private EndpointGroup classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (HttpMethod.POST.matches(method)) {
+            if (PATH_MATCHER.match("/api/loans/*/payments", path)) {
+                return EndpointGroup.PAYMENT;
+            }
+            if ("/api/loans".equals(path)) {
+                return EndpointGroup.CREATE_LOAN;
+            }
+            if ("/api/auth/login".equals(path)) {
+                return EndpointGroup.LOGIN;
+            }
+            if ("/api/loans/installments:batchGet".equals(path)) {
+                return EndpointGroup.READ;
+            }
+        } else if (HttpMethod.GET.matches(method) && path.startsWith("/api/")) {
+            return EndpointGroup.READ;
+        }
+        return null;
+    }
+
+    enum EndpointGroup {
+        PAYMENT("payment"),
+        CREATE_LOAN("create-loan"),
+        READ("read"),
+        LOGIN("login");
+
+        private final String tag;
+
+        EndpointGroup(String tag) {
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.company.loan.loan_service.web;
+
+import com.company.loan.loan_service.exception.InvalidFieldSelectionException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Parses a {@code fields=} parameter, a comma-separated list of JSON property names, into a set of fields.
+ */
+public final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    /**
+     * @throws InvalidFieldSelectionException if a name is not a field of {@code type} or nothing is selected
+     */
+    public static <F extends Enum<F> & SelectableField> Set<F> parse(String fields, Class<F> type) {
+        EnumSet<F> selection = EnumSet.noneOf(type);
+        for (String name : fields.split(",")) {
+            String property = name.trim();
+            if (property.isEmpty()) {
+                continue;
+            }
+            selection.add(Arrays.stream(type.getEnumConstants())
+                    .filter(field -> field.getProperty().equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidFieldSelectionException(property, names(type))));
+        }
+        if (selection.isEmpty()) {
+            throw new InvalidFieldSelectionException(fields, names(type));
+        }
+        return selection;
+    }
+
+    private static <F extends Enum<F> & SelectableField> String names(Class<F> type) {
+        return Arrays.stream(type.getEnumConstants())
+                .map(SelectableField::getProperty)
+                .collect(Collectors.joining(", "));
+    }
+}
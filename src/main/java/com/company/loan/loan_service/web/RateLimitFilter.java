@@ -0,0 +1,207 @@
+package com.company.loan.loan_service.web;
+
+import com.company.loan.loan_service.exception.ErrorResponseWriter;
+import com.company.loan.loan_service.security.CustomUserDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-principal token-bucket rate limiting.
+ * <p>
+ * Runs in the security chain right after {@code JwtAuthenticationFilter}, so every bucket is keyed by the
+ * authenticated customer ID (or the username for principals without one, such as admins) and by endpoint group.
+ * Unauthenticated requests pass through untouched and are left to the authorization rules. Buckets that have
+ * been full for {@code rate-limit.idle-eviction-ms} are evicted, which keeps memory proportional to the number
+ * of recently active clients.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final ErrorResponseWriter errorResponseWriter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.idle-eviction-ms:300000}")
+    private long idleEvictionMs;
+
+    @Value("${rate-limit.max-buckets:100000}")
+    private int maxBuckets;
+
+    @Value("${rate-limit.loan-read.capacity:20}")
+    private int loanReadCapacity;
+
+    @Value("${rate-limit.loan-read.refill-per-second:5}")
+    private double loanReadRefillPerSecond;
+
+    @Value("${rate-limit.payment.capacity:5}")
+    private int paymentCapacity;
+
+    @Value("${rate-limit.payment.refill-per-second:1}")
+    private double paymentRefillPerSecond;
+
+    @Value("${rate-limit.default.capacity:50}")
+    private int defaultCapacity;
+
+    @Value("${rate-limit.default.refill-per-second:20}")
+    private double defaultRefillPerSecond;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<RateGroup, Counter> rejectedCounters = new EnumMap<>(RateGroup.class);
+
+    @PostConstruct
+    void initMetrics() {
+        for (RateGroup group : RateGroup.values()) {
+            rejectedCounters.put(group, Counter.builder("http.ratelimit.rejected")
+                    .tag("group", group.tag)
+                    .description("Requests rejected because the caller's token bucket was empty")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("http.ratelimit.buckets", buckets, Map::size)
+                .description("Token buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String principalKey = resolvePrincipalKey();
+        if (principalKey == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateGroup group = classify(request);
+        long now = System.nanoTime();
+        TokenBucket bucket = bucketFor(group.tag + '|' + principalKey, group, now);
+        boolean allowed = bucket.tryConsume(now);
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(bucket.getCapacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(bucket.getRemaining(now)));
+        response.setHeader(RESET_HEADER, String.valueOf(toSecondsCeil(bucket.getNanosUntilFull(now))));
+
+        if (!allowed) {
+            rejectedCounters.get(group).increment();
+            log.debug("Rate limited {} on {} request {}", principalKey, group.tag, request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1L, toSecondsCeil(bucket.getNanosUntilAvailable(now)))));
+            errorResponseWriter.write(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                    "RATE_LIMIT_EXCEEDED", "Rate limit exceeded, please retry later");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.idle-eviction-ms:300000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        log.debug("Evicted {} idle rate-limit buckets", before - buckets.size());
+    }
+
+    int getBucketCount() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucketFor(String key, RateGroup group, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            // Full buckets carry no state, so dropping them never lets a client exceed its rate
+            buckets.values().removeIf(existing -> existing.isIdle(now, 0L));
+        }
+        return buckets.computeIfAbsent(key, k -> newBucket(group, now));
+    }
+
+    private TokenBucket newBucket(RateGroup group, long now) {
+        return switch (group) {
+            case LOAN_READ -> new TokenBucket(loanReadCapacity, loanReadRefillPerSecond, now);
+            case PAYMENT -> new TokenBucket(paymentCapacity, paymentRefillPerSecond, now);
+            case DEFAULT -> new TokenBucket(defaultCapacity, defaultRefillPerSecond, now);
+        };
+    }
+
+    private static String resolvePrincipalKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            return null;
+        }
+        return userDetails.getCustomerId() != null
+                ? "customer:" + userDetails.getCustomerId()
+                : "user:" + userDetails.getUsername();
+    }
+
+    private static RateGroup classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (HttpMethod.GET.matches(method) && path.startsWith("/api/loans")
+                || HttpMethod.POST.matches(method) && "/api/loans/installments:batchGet".equals(path)) {
+            return RateGroup.LOAN_READ;
+        }
+        if (HttpMethod.POST.matches(method) && PATH_MATCHER.match("/api/loans/*/payments", path)) {
+            return RateGroup.PAYMENT;
+        }
+        return RateGroup.DEFAULT;
+    }
+
+    private static long toSecondsCeil(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    enum RateGroup {
+        LOAN_READ("loan-read"),
+        PAYMENT("payment"),
+        DEFAULT("default");
+
+        private final String tag;
+
+        RateGroup(String tag) {
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.company.loan.loan_service.web;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Encodings the API can answer in. JSON is the default; CBOR and Smile are binary Jackson encodings for
+ * high-volume clients, chosen with the {@code Accept} header.
+ */
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.parseMediaType("application/cbor"), "-cbor"),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"), "-smile");
+
+    private final MediaType mediaType;
+    private final String eTagSuffix;
+
+    ResponseFormat(MediaType mediaType, String eTagSuffix) {
+        this.mediaType = mediaType;
+        this.eTagSuffix = eTagSuffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Appended to the ETag of a representation, as each encoding of a resource needs its own strong tag.
+     */
+    public String getETagSuffix() {
+        return eTagSuffix;
+    }
+
+    /**
+     * Picks the format for an {@code Accept} header, for handlers that write their body themselves. Each format takes
+     * the quality of the most specific range that includes it, so {@code q=0} excludes a format even behind
+     * {@code *}{@code /*}; the highest quality wins, then the more specific range, then declaration order. Headers
+     * that accept none of the formats get JSON, matching the converter-based endpoints.
+     */
+    public static ResponseFormat fromAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        ResponseFormat best = JSON;
+        double bestQuality = 0;
+        int bestSpecificity = -1;
+        for (ResponseFormat format : values()) {
+            // MediaType's own specificity ordering already weighs quality, so ranges are ranked here by type alone
+            MediaType range = null;
+            for (MediaType mediaType : accepted) {
+                if (mediaType.includes(format.mediaType)
+                        && (range == null || specificity(mediaType) > specificity(range))) {
+                    range = mediaType;
+                }
+            }
+            if (range == null || range.getQualityValue() == 0) {
+                continue;
+            }
+            double quality = range.getQualityValue();
+            if (quality > bestQuality || (quality == bestQuality && specificity(range) > bestSpecificity)) {
+                best = format;
+                bestQuality = quality;
+                bestSpecificity = specificity(range);
+            }
+        }
+        return best;
+    }
+
+    private static int specificity(MediaType mediaType) {
+        if (mediaType.isWildcardType()) {
+            return 0;
+        }
+        return mediaType.isWildcardSubtype() ? 1 : 2;
+    }
+}
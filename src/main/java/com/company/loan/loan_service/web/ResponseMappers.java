@@ -0,0 +1,35 @@
+package com.company.loan.loan_service.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The {@link ObjectMapper} of each {@link ResponseFormat}, all configured like the application's JSON mapper.
+ * The HTTP message converters use the same instances, so pre-serialized bodies match converter output.
+ */
+public class ResponseMappers {
+
+    private final Map<ResponseFormat, ObjectMapper> mappers;
+
+    public ResponseMappers(ObjectMapper json, ObjectMapper cbor, ObjectMapper smile) {
+        this.mappers = new EnumMap<>(ResponseFormat.class);
+        mappers.put(ResponseFormat.JSON, json);
+        mappers.put(ResponseFormat.CBOR, cbor);
+        mappers.put(ResponseFormat.SMILE, smile);
+    }
+
+    public ObjectMapper get(ResponseFormat format) {
+        return mappers.get(format);
+    }
+
+    public byte[] write(Object value, ResponseFormat format) {
+        try {
+            return mappers.get(format).writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response as " + format, e);
+        }
+    }
+}
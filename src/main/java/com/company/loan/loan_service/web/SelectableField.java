@@ -0,0 +1,12 @@
+package com.company.loan.loan_service.web;
+
+/**
+ * A response property that can be requested through {@code fields=}.
+ */
+public interface SelectableField {
+
+    /**
+     * @return the JSON property name
+     */
+    String getProperty();
+}
@@ -0,0 +1,72 @@
+package com.company.loan.loan_service.web;
+
+import com.company.loan.loan_service.dto.LoanResponse;
+import com.company.loan.loan_service.entity.Customer;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serializes responses restricted to a {@code fields=} selection.
+ * <p>
+ * One {@link ObjectWriter} is built per format and distinct field set and reused, so a listing pays for the
+ * property filter once rather than per request; Jackson caches the filtered serializers behind each writer. The
+ * writers come from copies of the {@link ResponseMappers} that tag the sparse response types with a filter, leaving
+ * the regular responses untouched.
+ */
+@Component
+public class SparseResponseWriter {
+
+    private static final String FILTER_ID = "fieldSelection";
+    private static final int MAX_CACHED_WRITERS = 256;
+
+    private final Map<ResponseFormat, ObjectMapper> sparseMappers = new EnumMap<>(ResponseFormat.class);
+    private final Map<ResponseFormat, Map<Set<? extends SelectableField>, ObjectWriter>> writers =
+            new EnumMap<>(ResponseFormat.class);
+
+    public SparseResponseWriter(ResponseMappers responseMappers) {
+        for (ResponseFormat format : ResponseFormat.values()) {
+            sparseMappers.put(format, responseMappers.get(format).copy()
+                    .addMixIn(LoanResponse.class, FieldSelectionMixin.class)
+                    .addMixIn(Customer.class, FieldSelectionMixin.class));
+            writers.put(format, new ConcurrentHashMap<>());
+        }
+    }
+
+    public byte[] write(Object value, Set<? extends SelectableField> fields, ResponseFormat format) {
+        Map<Set<? extends SelectableField>, ObjectWriter> formatWriters = writers.get(format);
+        ObjectWriter writer = formatWriters.get(fields);
+        if (writer == null) {
+            writer = createWriter(sparseMappers.get(format), fields);
+            // Field sets come from a fixed vocabulary, but the bound keeps a crafted mix of them from growing the map
+            if (formatWriters.size() < MAX_CACHED_WRITERS) {
+                formatWriters.putIfAbsent(fields, writer);
+            }
+        }
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize sparse response", e);
+        }
+    }
+
+    private static ObjectWriter createWriter(ObjectMapper mapper, Set<? extends SelectableField> fields) {
+        Set<String> properties = fields.stream().map(SelectableField::getProperty).collect(Collectors.toSet());
+        return mapper.writer(new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+    }
+
+    @JsonFilter(FILTER_ID)
+    private abstract static class FieldSelectionMixin {
+    }
+}
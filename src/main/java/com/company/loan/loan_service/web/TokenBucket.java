@@ -0,0 +1,74 @@
+package com.company.loan.loan_service.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm (GCRA).
+ * <p>
+ * The whole bucket state is a single "theoretical arrival time" held in an {@link AtomicLong}: each accepted
+ * request pushes it forward by one emission interval, and a request is rejected when that would move it more
+ * than {@code capacity} intervals ahead of now. Taking a token is therefore one CAS, and a bucket whose
+ * arrival time lies in the past is full and can be discarded without losing any state.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int capacity;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            if (next - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getRemaining(long nowNanos) {
+        long used = Math.max(0L, theoreticalArrival.get() - nowNanos);
+        return Math.max(0L, (burstToleranceNanos - used) / emissionIntervalNanos);
+    }
+
+    /**
+     * Time until the next token becomes available, zero if one is available now.
+     */
+    public long getNanosUntilAvailable(long nowNanos) {
+        long used = theoreticalArrival.get() - nowNanos;
+        return Math.max(0L, used + emissionIntervalNanos - burstToleranceNanos);
+    }
+
+    /**
+     * Time until the bucket is full again.
+     */
+    public long getNanosUntilFull(long nowNanos) {
+        return Math.max(0L, theoreticalArrival.get() - nowNanos);
+    }
+
+    /**
+     * Whether the bucket has been full for at least {@code idleNanos}, meaning it can be dropped and recreated
+     * later without changing any rate-limiting decision.
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() >= idleNanos;
+    }
+}
@@ -0,0 +1,127 @@
+package com.company.loan.loan_service.benchmark;
+
+import com.company.loan.loan_service.dto.InstallmentStatus;
+import com.company.loan.loan_service.dto.LoanInstallmentResponse;
+import com.company.loan.loan_service.dto.LoanResponse;
+import com.company.loan.loan_service.web.ResponseFormat;
+import com.company.loan.loan_service.web.ResponseMappers;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of a batch consumer's payloads in each {@link ResponseFormat}: {@code size} loans of a
+ * customer listing, or {@code size} installments. Mappers are configured like the application's (ISO dates, Java
+ * time module).
+ * <p>
+ * Payload sizes are printed once per trial, as JMH only measures time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private ResponseFormat format;
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<LoanResponse> loans;
+    private List<LoanInstallmentResponse> installments;
+    private byte[] encodedLoans;
+    private byte[] encodedInstallments;
+    private JavaType loanListType;
+    private JavaType installmentListType;
+
+    @Setup
+    public void setUp() throws IOException {
+        ResponseMappers mappers = new ResponseMappers(configure(new ObjectMapper()),
+                configure(new ObjectMapper(new CBORFactory())), configure(new ObjectMapper(new SmileFactory())));
+        mapper = mappers.get(format);
+
+        loans = new ArrayList<>(size);
+        installments = new ArrayList<>(size);
+        LocalDate createDate = LocalDate.of(2025, 1, 15);
+        for (int i = 0; i < size; i++) {
+            loans.add(LoanResponse.builder()
+                    .id(100_000L + i)
+                    .customerId(42L)
+                    .customerName("Customer")
+                    .loanAmount(new BigDecimal("13200.00").add(BigDecimal.valueOf(i)))
+                    .numberOfInstallment(12)
+                    .createDate(createDate.plusDays(i % 365))
+                    .isPaid(i % 4 == 0)
+                    .interestRate(new BigDecimal("0.100"))
+                    .build());
+            installments.add(LoanInstallmentResponse.builder()
+                    .id(500_000L + i)
+                    .loanId(100_000L + i / 12)
+                    .amount(new BigDecimal("1100.00"))
+                    .paidAmount(i % 3 == 0 ? new BigDecimal("1100.00") : BigDecimal.ZERO)
+                    .dueDate(createDate.plusMonths(1 + i % 12).withDayOfMonth(1))
+                    .paymentDate(i % 3 == 0 ? createDate.plusMonths(i % 12) : null)
+                    .isPaid(i % 3 == 0)
+                    .remainingAmount(i % 3 == 0 ? BigDecimal.ZERO : new BigDecimal("1100.00"))
+                    .status(i % 3 == 0 ? InstallmentStatus.PAID : InstallmentStatus.UNPAID)
+                    .build());
+        }
+
+        encodedLoans = mapper.writeValueAsBytes(loans);
+        encodedInstallments = mapper.writeValueAsBytes(installments);
+        loanListType = mapper.getTypeFactory().constructCollectionType(List.class, LoanResponse.class);
+        installmentListType = mapper.getTypeFactory().constructCollectionType(List.class, LoanInstallmentResponse.class);
+        System.out.printf("%n%s payload for %d items: loans %d bytes, installments %d bytes%n",
+                format, size, encodedLoans.length, encodedInstallments.length);
+    }
+
+    @Benchmark
+    public byte[] encodeLoans() throws IOException {
+        return mapper.writeValueAsBytes(loans);
+    }
+
+    @Benchmark
+    public List<LoanResponse> decodeLoans() throws IOException {
+        return mapper.readValue(encodedLoans, loanListType);
+    }
+
+    @Benchmark
+    public byte[] encodeInstallments() throws IOException {
+        return mapper.writeValueAsBytes(installments);
+    }
+
+    @Benchmark
+    public List<LoanInstallmentResponse> decodeInstallments() throws IOException {
+        return mapper.readValue(encodedInstallments, installmentListType);
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.loan.loan_service.benchmark;
+
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import com.company.loan.loan_service.exception.BusinessException;
+import com.company.loan.loan_service.exception.ErrorResponse;
+import com.company.loan.loan_service.exception.GlobalExceptionHandler;
+import com.company.loan.loan_service.exception.PaymentException;
+import com.company.loan.loan_service.exception.RejectionLogSampler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the business-rejection path: throwing a {@link PaymentException} from a request-handler-like
+ * stack depth and turning it into an error response.
+ * <p>
+ * {@code legacyRejection} captures the stack trace and renders it the way the former per-rejection ERROR log did;
+ * {@code sampledRejection} is the current stackless exception handled by {@link GlobalExceptionHandler}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessExceptionBenchmark {
+
+    @Param({"64"})
+    private int stackDepth;
+
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler(new RejectionLogSampler(new SimpleMeterRegistry(), 60_000));
+        request = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/loans/1/payments"));
+    }
+
+    @Benchmark
+    public String legacyRejection() {
+        try {
+            throwAtDepth(stackDepth, true);
+            return null;
+        } catch (BusinessException ex) {
+            handler.handleBusinessException(ex, request);
+            return ThrowableProxyUtil.asString(new ThrowableProxy(ex));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> sampledRejection() {
+        try {
+            throwAtDepth(stackDepth, false);
+            return null;
+        } catch (BusinessException ex) {
+            return handler.handleBusinessException(ex, request);
+        }
+    }
+
+    private static void throwAtDepth(int depth, boolean withStackTrace) {
+        if (depth > 0) {
+            throwAtDepth(depth - 1, withStackTrace);
+            return;
+        }
+        throw withStackTrace ? new TracedPaymentException() : PaymentException.insufficientPaymentAmount();
+    }
+
+    private static final class TracedPaymentException extends BusinessException {
+        private TracedPaymentException() {
+            super("Payment amount is insufficient to pay any complete installment",
+                    "PAYMENT_ERROR", HttpStatus.BAD_REQUEST, true);
+        }
+    }
+}
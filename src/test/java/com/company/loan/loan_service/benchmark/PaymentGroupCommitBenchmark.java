@@ -0,0 +1,163 @@
+package com.company.loan.loan_service.benchmark;
+
+import com.company.loan.loan_service.LoanServiceApplication;
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.dto.PaymentResponse;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.entity.Loan;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.exception.BusinessException;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import com.company.loan.loan_service.service.LoanService;
+import com.company.loan.loan_service.service.PaymentGroupCommitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Payment throughput against group-commit batch size, on a file-backed H2 database with {@code WRITE_DELAY=0} so
+ * every commit is written out before it returns. Gains grow with commit latency, so expect larger ones against a
+ * networked database that syncs on commit.
+ * <p>
+ * {@code batchSize = 0} is the default one-transaction-per-payment path; other values run the
+ * {@link PaymentGroupCommitter} with that batch size. Each iteration starts from fresh three-installment loans and
+ * every call pays one installment, cycling over the loans; once a loan is paid off its payments are rejected, which
+ * still goes through the same batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+public class PaymentGroupCommitBenchmark {
+
+    private static final int LOANS_PER_ITERATION = 2_000;
+    private static final int INSTALLMENTS_PER_LOAN = 3;
+
+    @Param({"0", "1", "8", "32", "128"})
+    private int batchSize;
+
+    private final PaymentRequest oneInstallment = new PaymentRequest(new BigDecimal("100.00"), LocalDate.now());
+    private final AtomicInteger nextPayment = new AtomicInteger();
+
+    private Path dataDirectory;
+    private ConfigurableApplicationContext context;
+    private LoanService loanService;
+    private PaymentGroupCommitter committer;
+    private CustomerRepository customerRepository;
+    private LoanRepository loanRepository;
+    private LoanInstallmentRepository installmentRepository;
+    private TransactionTemplate transactionTemplate;
+    private long[] loanIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        dataDirectory = Files.createTempDirectory("payment-group-commit");
+        context = new SpringApplicationBuilder(LoanServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                // Arguments rather than default properties, so they override application.properties
+                .run("--spring.datasource.url=jdbc:h2:file:" + dataDirectory.resolve("loans").toAbsolutePath()
+                                + ";WRITE_DELAY=0",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--outbox.relay.enabled=false",
+                        "--payment.group-commit.enabled=" + (batchSize > 0),
+                        "--payment.group-commit.batch-size=" + Math.max(batchSize, 1),
+                        "--payment.group-commit.max-wait-ms=2",
+                        "--payment.group-commit.queue-capacity=4096");
+        loanService = context.getBean(LoanService.class);
+        committer = context.getBean(PaymentGroupCommitter.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        loanRepository = context.getBean(LoanRepository.class);
+        installmentRepository = context.getBean(LoanInstallmentRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @Setup(Level.Iteration)
+    public void createLoans() {
+        // Bulk-inserted in one transaction; creating them through LoanService would dominate the run
+        loanIds = transactionTemplate.execute(status -> {
+            Customer customer = customerRepository.save(Customer.builder()
+                    .name("Benchmark")
+                    .surname("Customer")
+                    .creditLimit(new BigDecimal("100000000.00"))
+                    .usedCreditLimit(BigDecimal.ZERO)
+                    .build());
+            LocalDate firstDueDate = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+            long[] ids = new long[LOANS_PER_ITERATION];
+            for (int i = 0; i < LOANS_PER_ITERATION; i++) {
+                Loan loan = loanRepository.save(Loan.builder()
+                        .customer(customer)
+                        .loanAmount(new BigDecimal("270.00"))
+                        .numberOfInstallment(INSTALLMENTS_PER_LOAN)
+                        .interestRate(new BigDecimal("0.1"))
+                        .createDate(LocalDate.now())
+                        .build());
+                List<LoanInstallment> installments = new ArrayList<>(INSTALLMENTS_PER_LOAN);
+                for (int month = 0; month < INSTALLMENTS_PER_LOAN; month++) {
+                    installments.add(LoanInstallment.builder()
+                            .loan(loan)
+                            .amount(new BigDecimal("99.00"))
+                            .paidAmount(BigDecimal.ZERO)
+                            .dueDate(firstDueDate.plusMonths(month))
+                            .isPaid(false)
+                            .build());
+                }
+                installmentRepository.saveAll(installments);
+                ids[i] = loan.getId();
+            }
+            return ids;
+        });
+        nextPayment.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        FileSystemUtils.deleteRecursively(dataDirectory.toFile());
+    }
+
+    @Benchmark
+    public PaymentResponse pay() {
+        long loanId = loanIds[Math.floorMod(nextPayment.getAndIncrement(), loanIds.length)];
+        try {
+            return batchSize > 0
+                    ? committer.process(loanId, oneInstallment)
+                    : loanService.processPayment(loanId, oneInstallment);
+        } catch (BusinessException e) {
+            return null;
+        }
+    }
+}
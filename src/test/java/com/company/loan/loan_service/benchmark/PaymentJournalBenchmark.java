@@ -0,0 +1,112 @@
+package com.company.loan.loan_service.benchmark;
+
+import com.company.loan.loan_service.journal.JournalRecord;
+import com.company.loan.loan_service.journal.PaymentJournal;
+import com.company.loan.loan_service.journal.PaymentJournalReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment journal throughput: appending records to memory-mapped segments (including rolling to new 64 MB
+ * segments) from concurrent payment threads, and verifying the written journal.
+ * <p>
+ * {@code installments} is the number of installments settled per payment; a payment within the three-month window
+ * settles at most a handful. {@code verify} replays a 100,000-record journal per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PaymentJournalBenchmark {
+
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+    private static final int VERIFIED_RECORDS = 100_000;
+    private static final String KEY = "paymentJournalBenchmarkKeyOfAtLeast32Bytes";
+
+    @Param({"1", "4"})
+    private int installments;
+
+    private final LocalDate paymentDate = LocalDate.now();
+
+    private Path appendDirectory;
+    private Path verifyDirectory;
+    private PaymentJournal journal;
+    private List<JournalRecord.Entry> entries;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        entries = new ArrayList<>(installments);
+        for (int i = 0; i < installments; i++) {
+            entries.add(new JournalRecord.Entry(1000L + i, paymentDate.plusMonths(i), 18333, 18150));
+        }
+
+        verifyDirectory = Files.createTempDirectory("payment-journal-verify");
+        PaymentJournal written = openJournal(verifyDirectory);
+        for (long loanId = 0; loanId < VERIFIED_RECORDS; loanId++) {
+            written.append(loanId, paymentDate, entries);
+        }
+        written.destroy();
+    }
+
+    @Setup(Level.Iteration)
+    public void openAppendJournal() throws IOException {
+        appendDirectory = Files.createTempDirectory("payment-journal-append");
+        journal = openJournal(appendDirectory);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteAppendJournal() throws IOException {
+        // Appends fill hundreds of megabytes per second; keep only one iteration's segments on disk
+        journal.destroy();
+        FileSystemUtils.deleteRecursively(appendDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(verifyDirectory);
+    }
+
+    @Benchmark
+    public long append() throws IOException {
+        return journal.append(42L, paymentDate, entries);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long verify() throws IOException {
+        return PaymentJournalReader.read(verifyDirectory, KEY.getBytes(StandardCharsets.UTF_8), record -> { }).getRecords();
+    }
+
+    private PaymentJournal openJournal(Path directory) throws IOException {
+        PaymentJournal opened = new PaymentJournal(new SimpleMeterRegistry(), true, directory.toString(), SEGMENT_BYTES, KEY);
+        opened.open();
+        return opened;
+    }
+}
@@ -0,0 +1,238 @@
+package com.company.loan.loan_service.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.company.loan.loan_service.LoanServiceApplication;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.entity.Loan;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import com.company.loan.loan_service.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.ConfigurableWebApplicationContext;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Throughput of {@code POST /api/loans/{loanId}/payments} under each logging profile, through MockMvc with the full
+ * filter chain, controller and service.
+ * <p>
+ * {@code profile = default} is the development setup: Boot's synchronous console pattern plus {@code show-sql};
+ * {@code prod} is the async ECS JSON pipeline of {@code logback-spring.xml} with SQL logged only when slow. Both
+ * write what the application writes, so the difference covers log volume and appender together. Stdout is
+ * redirected to a temporary file in both, standing in for a container's captured stdout.
+ * <p>
+ * The async appender drops events instead of blocking once its queue is full, which would flatter the throughput
+ * of {@code prod}; the events that reached the appenders and those dropped are printed after every iteration, so
+ * a run with drops can be told apart. Concurrency and rate limits are off so that no request is shed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 6, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class PaymentLoggingBenchmark {
+
+    private static final int LOANS_PER_ITERATION = 1_000;
+    private static final int INSTALLMENTS_PER_LOAN = 3;
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private final String oneInstallment = "{\"paymentAmount\": 100.00}";
+    private final AtomicInteger nextPayment = new AtomicInteger();
+    private final AtomicLong appendedEvents = new AtomicLong();
+    private final AtomicLong deliveredEvents = new AtomicLong();
+
+    private PrintStream originalOut;
+    private PrintStream capturedOut;
+    private File capturedFile;
+    private ConfigurableWebApplicationContext context;
+    private MockMvc mockMvc;
+    private String adminToken;
+    private CustomerRepository customerRepository;
+    private LoanRepository loanRepository;
+    private LoanInstallmentRepository installmentRepository;
+    private TransactionTemplate transactionTemplate;
+    private AsyncAppender asyncAppender;
+    private long[] loanIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        // Logback's console appender and show-sql both write to whatever System.out is at the time
+        originalOut = System.out;
+        capturedFile = Files.createTempFile("payment-logging", ".log").toFile();
+        capturedOut = new PrintStream(new FileOutputStream(capturedFile), false);
+        System.setOut(capturedOut);
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.h2.console.enabled=false",
+                "--outbox.relay.enabled=false",
+                "--concurrency-limit.enabled=false",
+                "--rate-limit.enabled=false"));
+        if (!"default".equals(profile)) {
+            args.add("--spring.profiles.active=" + profile);
+        }
+        context = (ConfigurableWebApplicationContext) new SpringApplicationBuilder(LoanServiceApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args.toArray(new String[0]));
+
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        adminToken = "Bearer " + context.getBean(JwtUtil.class).generateToken("admin", List.of("ADMIN"), null);
+        customerRepository = context.getBean(CustomerRepository.class);
+        loanRepository = context.getBean(LoanRepository.class);
+        installmentRepository = context.getBean(LoanInstallmentRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        countLogEvents();
+    }
+
+    @Setup(Level.Iteration)
+    public void createLoans() {
+        // Bulk-inserted in one transaction; creating them through the API would dominate the run
+        loanIds = transactionTemplate.execute(status -> {
+            LocalDate firstDueDate = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+            long[] ids = new long[LOANS_PER_ITERATION];
+            for (int i = 0; i < LOANS_PER_ITERATION; i++) {
+                // One customer per loan, as in production, so per-customer work stays realistic
+                Customer customer = customerRepository.save(Customer.builder()
+                        .name("Benchmark")
+                        .surname("Customer" + i)
+                        .creditLimit(new BigDecimal("100000.00"))
+                        .usedCreditLimit(BigDecimal.ZERO)
+                        .build());
+                Loan loan = loanRepository.save(Loan.builder()
+                        .customer(customer)
+                        .loanAmount(new BigDecimal("272.73"))
+                        .numberOfInstallment(INSTALLMENTS_PER_LOAN)
+                        .interestRate(new BigDecimal("0.1"))
+                        .createDate(LocalDate.now())
+                        .build());
+                List<LoanInstallment> installments = new ArrayList<>(INSTALLMENTS_PER_LOAN);
+                for (int month = 0; month < INSTALLMENTS_PER_LOAN; month++) {
+                    installments.add(LoanInstallment.builder()
+                            .loan(loan)
+                            .amount(new BigDecimal("100.00"))
+                            .paidAmount(BigDecimal.ZERO)
+                            .dueDate(firstDueDate.plusMonths(month))
+                            .isPaid(false)
+                            .build());
+                }
+                installmentRepository.saveAll(installments);
+                ids[i] = loan.getId();
+            }
+            return ids;
+        });
+        nextPayment.set(0);
+        appendedEvents.set(0);
+        deliveredEvents.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportDroppedEvents() throws InterruptedException {
+        if (asyncAppender != null) {
+            // Whatever is still queued will be written; only wait for the backlog to drain before counting
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (asyncAppender.getNumberOfElementsInQueue() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+        long appended = appendedEvents.get();
+        long dropped = asyncAppender != null ? appended - deliveredEvents.get() : 0;
+        originalOut.printf("%n[%s] log events appended: %d, dropped: %d%n", profile, appended, dropped);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        System.setOut(originalOut);
+        capturedOut.close();
+        capturedFile.delete();
+    }
+
+    @Benchmark
+    public int pay() throws Exception {
+        long loanId = loanIds[Math.floorMod(nextPayment.getAndIncrement(), loanIds.length)];
+        // Paid-off loans answer 400 after the same logging, so they are still measured
+        return mockMvc.perform(post("/api/loans/{loanId}/payments", loanId)
+                        .header("Authorization", adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(oneInstallment))
+                .andReturn().getResponse().getStatus();
+    }
+
+    /**
+     * Counts events reaching the root appenders and, behind an async appender, those its delegates received; the
+     * difference is what the full queue dropped. SQL printed by {@code show-sql} bypasses Logback and is not counted.
+     */
+    private void countLogEvents() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Iterator<Appender<ILoggingEvent>> rootAppenders =
+                loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (rootAppenders.hasNext()) {
+            Appender<ILoggingEvent> appender = rootAppenders.next();
+            appender.addFilter(counter(appendedEvents));
+            if (appender instanceof AsyncAppender async) {
+                asyncAppender = async;
+                async.iteratorForAppenders().forEachRemaining(delegate -> delegate.addFilter(counter(deliveredEvents)));
+            }
+        }
+    }
+
+    private static Filter<ILoggingEvent> counter(AtomicLong count) {
+        Filter<ILoggingEvent> filter = new Filter<>() {
+            @Override
+            public FilterReply decide(ILoggingEvent event) {
+                count.incrementAndGet();
+                return FilterReply.NEUTRAL;
+            }
+        };
+        filter.start();
+        return filter;
+    }
+}
@@ -0,0 +1,105 @@
+package com.company.loan.loan_service.changefeed;
+
+import com.company.loan.loan_service.dto.ChangeFeedResponse;
+import com.company.loan.loan_service.dto.CreateLoanRequest;
+import com.company.loan.loan_service.dto.LoanInstallmentResponse;
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.service.LoanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "change-feed.max-limit=4")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ChangeFeedServiceIntegrationTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Long customerId;
+    private Long loanId;
+
+    @BeforeEach
+    void setUp() {
+        // Not transactional: changes only enter the feed once committed
+        customerId = customerRepository.save(Customer.builder()
+                .name("Synced")
+                .surname("Customer")
+                .creditLimit(new BigDecimal("50000.00"))
+                .usedCreditLimit(BigDecimal.ZERO)
+                .build()).getId();
+        loanId = loanService.createLoan(new CreateLoanRequest(
+                customerId, new BigDecimal("1000.00"), "6", new BigDecimal("0.1"))).getId();
+    }
+
+    @Test
+    void getChanges_FromStart_ShouldWalkAllChangesExactlyOnce() {
+        // When
+        long cursor = 0;
+        int records = 0;
+        ChangeFeedResponse page;
+        do {
+            page = changeFeedService.getChanges(customerId, cursor, 3);
+            assertThat(page.getCursor()).isGreaterThan(cursor);
+            records += countRecords(page);
+            cursor = page.getCursor();
+        } while (page.isHasMore());
+        ChangeFeedResponse next = changeFeedService.getChanges(customerId, cursor, 3);
+
+        // Then
+        assertThat(records).isEqualTo(8);
+        assertThat(countRecords(next)).isZero();
+        assertThat(next.isHasMore()).isFalse();
+    }
+
+    @Test
+    void getChanges_LimitAboveMaximum_ShouldBeCapped() {
+        // When
+        ChangeFeedResponse page = changeFeedService.getChanges(customerId, 0, 100);
+
+        // Then
+        assertThat(countRecords(page)).isEqualTo(4);
+        assertThat(page.isHasMore()).isTrue();
+    }
+
+    @Test
+    void getChanges_AfterPayment_ShouldReturnOnlyPaidInstallments() {
+        // Given
+        long cursor = 0;
+        ChangeFeedResponse page;
+        do {
+            page = changeFeedService.getChanges(customerId, cursor, 4);
+            cursor = page.getCursor();
+        } while (page.isHasMore());
+        loanService.processPayment(loanId, new PaymentRequest(new BigDecimal("400.00"), LocalDate.now()));
+
+        // When
+        ChangeFeedResponse delta = changeFeedService.getChanges(customerId, cursor, 4);
+
+        // Then
+        assertThat(delta.getInstallments()).hasSize(2).allMatch(LoanInstallmentResponse::getIsPaid);
+        assertThat(delta.getCustomer()).isNull();
+        assertThat(delta.isHasMore()).isFalse();
+    }
+
+    private static int countRecords(ChangeFeedResponse page) {
+        return (page.getCustomer() != null ? 1 : 0) + page.getLoans().size() + page.getInstallments().size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.loan.loan_service.changefeed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeSequenceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ChangeSequence changeSequence;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(5L);
+        changeSequence = new ChangeSequence(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void next_OutsideTransaction_ShouldContinueFromStoredMaximumAndBeStable() {
+        // When
+        long sequence = changeSequence.next();
+
+        // Then
+        assertThat(sequence).isEqualTo(6);
+        assertThat(changeSequence.getStableSequence()).isEqualTo(6);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void next_InsideOpenTransaction_ShouldHoldBackStableSequenceUntilCompletion() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        long first = changeSequence.next();
+        long second = changeSequence.next();
+
+        // Then
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        assertThat(changeSequence.getStableSequence()).isEqualTo(first - 1);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(changeSequence.getStableSequence()).isEqualTo(second);
+    }
+}
@@ -0,0 +1,135 @@
+package com.company.loan.loan_service.controller;
+
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "hibernate-stats.enabled=true",
+        "hibernate-stats.slow-query-threshold-ms=0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional
+class AdminControllerIntegrationTest {
+    
+    @Autowired
+    private WebApplicationContext context;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    private MockMvc mockMvc;
+    private String adminToken;
+    private String customerToken;
+    private Customer testCustomer;
+    
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        
+        testCustomer = customerRepository.save(Customer.builder()
+                .name("Jane")
+                .surname("Doe")
+                .creditLimit(new BigDecimal("50000.00"))
+                .usedCreditLimit(BigDecimal.ZERO)
+                .build());
+        
+        adminToken = "Bearer " + jwtUtil.generateToken("admin", Arrays.asList("ADMIN"), null);
+        customerToken = "Bearer " + jwtUtil.generateToken("customer1", Arrays.asList("CUSTOMER"), testCustomer.getId());
+    }
+    
+    @Test
+    void getHibernateStatistics_AfterQueries_ShouldReportQueriesWithCaller() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/loans/{customerId}", testCustomer.getId())
+                .header("Authorization", adminToken))
+                .andExpect(status().isOk());
+        
+        // When & Then
+        mockMvc.perform(get("/api/admin/hibernate-stats")
+                .param("top", "5")
+                .header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.topQueries").isNotEmpty())
+                .andExpect(jsonPath("$.entityLoadCounts.Loan").exists())
+                .andExpect(jsonPath("$.slowQueries[*].caller", hasItem(containsString("LoanService.getCustomerLoans"))));
+    }
+    
+    @Test
+    void getHibernateStatistics_CustomerRole_ShouldBeForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/admin/hibernate-stats")
+                .header("Authorization", customerToken))
+                .andExpect(status().isForbidden());
+    }
+    
+    @Test
+    void resetHibernateStatistics_Admin_ShouldClearSlowQueries() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/loans/{customerId}", testCustomer.getId())
+                .header("Authorization", adminToken))
+                .andExpect(status().isOk());
+        
+        // When
+        mockMvc.perform(delete("/api/admin/hibernate-stats")
+                .header("Authorization", adminToken))
+                .andExpect(status().isNoContent());
+        
+        // Then
+        mockMvc.perform(get("/api/admin/hibernate-stats")
+                .header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slowQueries").isEmpty());
+    }
+    
+    @Test
+    void verifyPaymentJournal_JournalDisabledByDefault_ShouldReturnConflict() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/admin/payment-journal/verification")
+                        .header("Authorization", adminToken))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("PAYMENT_JOURNAL_DISABLED"));
+    }
+    
+    @Test
+    void getMetrics_AdminOnly_ShouldRejectAnonymousAndCustomers() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", customerToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", adminToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -1,6 +1,7 @@
 package com.company.loan.loan_service.controller;
 
 import com.company.loan.loan_service.controller.AuthController.LoginRequest;
+import com.company.loan.loan_service.controller.AuthController.RefreshRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +14,9 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -108,4 +111,102 @@ class AuthControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+    
+    @Test
+    void refresh_ValidRefreshToken_ShouldIssueNewTokens() throws Exception {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        
+        // Given
+        String refreshToken = loginAndGetRefreshToken("customer1", "customer123");
+        
+        // When & Then
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andExpect(jsonPath("$.refreshToken").value(not(refreshToken)))
+                .andExpect(jsonPath("$.username").value("customer1"))
+                .andExpect(jsonPath("$.roles[0]").value("CUSTOMER"))
+                .andExpect(jsonPath("$.customerId").exists());
+    }
+    
+    @Test
+    void refresh_RotatedRefreshToken_ShouldReturnUnauthorized() throws Exception {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        
+        // Given
+        String refreshToken = loginAndGetRefreshToken("admin", "admin123");
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isOk());
+        
+        // When & Then - a refresh token can only be used once
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+    
+    @Test
+    void refresh_UnknownRefreshToken_ShouldReturnUnauthorized() throws Exception {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        
+        // When & Then
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest("not-a-refresh-token"))))
+                .andExpect(status().isUnauthorized());
+    }
+    
+    @Test
+    void logout_ShouldRevokeAccessToken() throws Exception {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        
+        // Given
+        String response = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("customer1", "customer123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + objectMapper.readTree(response).get("token").asText();
+        long customerId = objectMapper.readTree(response).get("customerId").asLong();
+        
+        mockMvc.perform(get("/api/customers/{customerId}", customerId)
+                .header("Authorization", bearer))
+                .andExpect(status().isOk());
+        
+        // When
+        mockMvc.perform(post("/api/auth/logout")
+                .header("Authorization", bearer))
+                .andExpect(status().isNoContent());
+        
+        // Then
+        mockMvc.perform(get("/api/customers/{customerId}", customerId)
+                .header("Authorization", bearer))
+                .andExpect(status().isForbidden());
+    }
+    
+    private String loginAndGetRefreshToken(String username, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(username, password))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("refreshToken").asText();
+    }
+}
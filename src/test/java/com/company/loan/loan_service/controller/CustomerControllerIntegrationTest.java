@@ -0,0 +1,232 @@
+package com.company.loan.loan_service.controller;
+
+import com.company.loan.loan_service.dto.CreateCustomerRequest;
+import com.company.loan.loan_service.dto.CreateLoanRequest;
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: the ledger is updated by after-commit events, so every request has to commit.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class CustomerControllerIntegrationTest {
+    
+    @Autowired
+    private WebApplicationContext context;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private MockMvc mockMvc;
+    private String adminToken;
+    
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        
+        adminToken = "Bearer " + jwtUtil.generateToken("admin", Arrays.asList("ADMIN"), null);
+    }
+    
+    @Test
+    void getCustomerBalance_AfterLoanAndPayment_ShouldReflectLedger() throws Exception {
+        // Given
+        long customerId = createCustomer("Ledger", "Customer", "10000.00");
+        String customerToken = "Bearer " + jwtUtil.generateToken("ledger", Arrays.asList("CUSTOMER"), customerId);
+        long loanId = createLoan(customerId, "1000.00", "6", "0.2");
+        LocalDate firstDueDate = LocalDate.now().plusMonths(1).withDayOfMonth(1);
+        
+        // When
+        mockMvc.perform(post("/api/loans/{loanId}/payments", loanId)
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PaymentRequest(new BigDecimal("200.00"), null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.installmentsPaidCount").value(1));
+        
+        // Then
+        mockMvc.perform(get("/api/customers/{customerId}/balance", customerId)
+                .header("Authorization", customerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value(customerId))
+                .andExpect(jsonPath("$.outstandingAmount").value(1000.00))
+                .andExpect(jsonPath("$.unpaidInstallmentCount").value(5))
+                .andExpect(jsonPath("$.activeLoanCount").value(1))
+                .andExpect(jsonPath("$.nextDueDate").value(firstDueDate.plusMonths(1).toString()))
+                .andExpect(jsonPath("$.nextDueAmount").value(200.00))
+                .andExpect(jsonPath("$.usedCreditLimit").value(1200.00))
+                .andExpect(jsonPath("$.availableCreditLimit").value(8800.00));
+    }
+    
+    @Test
+    void getCustomerBalance_OtherCustomer_ShouldBeForbidden() throws Exception {
+        // Given
+        long customerId = createCustomer("Other", "Customer", "5000.00");
+        String otherToken = "Bearer " + jwtUtil.generateToken("other", Arrays.asList("CUSTOMER"), customerId + 1000);
+        
+        // When & Then
+        mockMvc.perform(get("/api/customers/{customerId}/balance", customerId)
+                .header("Authorization", otherToken))
+                .andExpect(status().isForbidden());
+    }
+    
+    @Test
+    void getCustomerDashboard_AfterLoanAndPayment_ShouldCombineProfileLoansAndTotals() throws Exception {
+        // Given
+        long customerId = createCustomer("Dashboard", "Customer", "10000.00");
+        String customerToken = "Bearer " + jwtUtil.generateToken("dashboard", Arrays.asList("CUSTOMER"), customerId);
+        long loanId = createLoan(customerId, "1000.00", "6", "0.2");
+        createLoan(customerId, "500.00", "12", "0.1");
+        LocalDate firstDueDate = LocalDate.now().plusMonths(1).withDayOfMonth(1);
+        mockMvc.perform(post("/api/loans/{loanId}/payments", loanId)
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PaymentRequest(new BigDecimal("200.00"), null))))
+                .andExpect(status().isOk());
+        
+        // When & Then
+        mockMvc.perform(get("/api/customers/{customerId}/dashboard", customerId)
+                .header("Authorization", customerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customer.id").value(customerId))
+                .andExpect(jsonPath("$.customer.availableCreditLimit").value(8250.00))
+                .andExpect(jsonPath("$.loans.length()").value(2))
+                .andExpect(jsonPath("$.nextDueInstallment.dueDate").value(firstDueDate.toString()))
+                .andExpect(jsonPath("$.nextDueInstallment.amount").value(45.83))
+                .andExpect(jsonPath("$.outstandingAmount").value(1550.00))
+                .andExpect(jsonPath("$.unpaidInstallmentCount").value(17))
+                .andExpect(jsonPath("$.overdueInstallmentCount").value(0))
+                .andExpect(jsonPath("$.activeLoanCount").value(2));
+    }
+    
+    @Test
+    void getCustomer_ChangeTracked_ShouldNotExposeChangeSequence() throws Exception {
+        // Given
+        long customerId = createCustomer("Tracked", "Customer", "10000.00");
+        
+        // When & Then
+        mockMvc.perform(get("/api/customers/{customerId}", customerId)
+                .header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(customerId))
+                .andExpect(jsonPath("$.changeSeq").doesNotExist());
+        mockMvc.perform(get("/api/customers")
+                .header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].changeSeq").doesNotExist());
+    }
+    
+    @Test
+    void getCustomerDashboard_UnknownCustomer_ShouldReturnNotFound() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/{customerId}/dashboard", 999999L)
+                .header("Authorization", adminToken))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void getCustomerDashboard_OtherCustomer_ShouldBeForbidden() throws Exception {
+        // Given
+        long customerId = createCustomer("Private", "Dashboard", "5000.00");
+        String otherToken = "Bearer " + jwtUtil.generateToken("private", Arrays.asList("CUSTOMER"), customerId + 1000);
+        
+        // When & Then
+        mockMvc.perform(get("/api/customers/{customerId}/dashboard", customerId)
+                .header("Authorization", otherToken))
+                .andExpect(status().isForbidden());
+    }
+    
+    @Test
+    void streamCustomerEvents_AfterPayment_ShouldPushPaymentAndBalance() throws Exception {
+        // Given
+        long customerId = createCustomer("Streamed", "Customer", "10000.00");
+        String customerToken = "Bearer " + jwtUtil.generateToken("streamed", Arrays.asList("CUSTOMER"), customerId);
+        long loanId = createLoan(customerId, "1000.00", "6", "0.2");
+        MvcResult stream = mockMvc.perform(get("/api/customers/{customerId}/events", customerId)
+                .header("Authorization", customerToken)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // When
+        mockMvc.perform(post("/api/loans/{loanId}/payments", loanId)
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PaymentRequest(new BigDecimal("200.00"), null))))
+                .andExpect(status().isOk());
+        
+        // Then
+        // An event's name and data are flushed separately, so wait for the data itself
+        String events = awaitContent(stream, "\"unpaidInstallmentCount\":5");
+        assertThat(events).startsWith("event:balance");
+        assertThat(events).contains("\"loanId\":" + loanId, "\"unpaidInstallmentCount\":5");
+        assertThat(awaitContent(stream, "\"outstandingAmount\":1000.0")).isNotNull();
+    }
+    
+    private String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+    
+    private long createCustomer(String name, String surname, String creditLimit) throws Exception {
+        String response = mockMvc.perform(post("/api/customers")
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new CreateCustomerRequest(name, surname, new BigDecimal(creditLimit)))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+    
+    private long createLoan(long customerId, String amount, String installments, String interestRate) throws Exception {
+        CreateLoanRequest request = CreateLoanRequest.builder()
+                .customerId(customerId)
+                .loanAmount(new BigDecimal(amount))
+                .numberOfInstallment(installments)
+                .interestRate(new BigDecimal(interestRate))
+                .build();
+        String response = mockMvc.perform(post("/api/loans")
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
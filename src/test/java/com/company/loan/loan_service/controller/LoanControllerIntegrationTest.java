@@ -1,11 +1,17 @@
 package com.company.loan.loan_service.controller;
 
+import com.company.loan.loan_service.dto.BatchGetInstallmentsRequest;
 import com.company.loan.loan_service.dto.CreateLoanRequest;
+import com.company.loan.loan_service.dto.LoanResponse;
 import com.company.loan.loan_service.dto.PaymentRequest;
 import com.company.loan.loan_service.entity.Customer;
 import com.company.loan.loan_service.repository.CustomerRepository;
 import com.company.loan.loan_service.security.JwtUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,7 +27,10 @@ import org.springframework.web.context.WebApplicationContext;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -166,6 +175,68 @@ class LoanControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
     
+    @Test
+    void getCustomerLoans_WithFields_ShouldReturnOnlySelectedProperties() throws Exception {
+        // Given
+        CreateLoanRequest request = CreateLoanRequest.builder()
+                .customerId(testCustomer.getId())
+                .loanAmount(new BigDecimal("10000.00"))
+                .numberOfInstallment("6")
+                .interestRate(new BigDecimal("0.1"))
+                .build();
+        mockMvc.perform(post("/api/loans")
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        
+        // When & Then
+        mockMvc.perform(get("/api/loans/{customerId}", testCustomer.getId())
+                .param("fields", "id,loanAmount,customerName,isPaid")
+                .header("Authorization", customerToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].loanAmount").value(11000.00))
+                .andExpect(jsonPath("$[0].customerName").value("John Doe"))
+                .andExpect(jsonPath("$[0].isPaid").value(false))
+                .andExpect(jsonPath("$[0].customerId").doesNotExist())
+                .andExpect(jsonPath("$[0].interestRate").doesNotExist())
+                .andExpect(jsonPath("$[0].installments").doesNotExist());
+    }
+    
+    @Test
+    void getCustomerLoans_UnknownField_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/loans/{customerId}", testCustomer.getId())
+                .param("fields", "id,secret")
+                .header("Authorization", adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_FIELD_SELECTION"));
+    }
+    
+    @Test
+    void getCustomerLoans_WithFieldsOtherCustomer_ShouldBeForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/loans/{customerId}", testCustomer.getId() + 1)
+                .param("fields", "id")
+                .header("Authorization", customerToken))
+                .andExpect(status().isForbidden());
+    }
+    
+    @Test
+    void getAllCustomers_WithFields_ShouldReturnOnlySelectedProperties() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                .param("fields", "id,availableCreditLimit")
+                .header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == %d)].availableCreditLimit", testCustomer.getId()).value(50000.00))
+                .andExpect(jsonPath("$[0].name").doesNotExist())
+                .andExpect(jsonPath("$[0].creditLimit").doesNotExist());
+    }
+    
     @Test
     void createLoan_InsufficientCredit_ShouldReturnBadRequest() throws Exception {
         // Given - Set used credit limit high
@@ -246,4 +317,199 @@ class LoanControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalAmountSpent").exists())
                 .andExpect(jsonPath("$.isLoanComplete").value(false));
     }
-}
\ No newline at end of file
+    
+    @Test
+    void getLoanInstallments_MatchingETag_ShouldReturnNotModifiedUntilPayment() throws Exception {
+        // Given
+        CreateLoanRequest loanRequest = CreateLoanRequest.builder()
+                .customerId(testCustomer.getId())
+                .loanAmount(new BigDecimal("6000.00"))
+                .numberOfInstallment("6")
+                .interestRate(new BigDecimal("0.1"))
+                .build();
+        String loanResponse = mockMvc.perform(post("/api/loans")
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loanRequest)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long loanId = objectMapper.readTree(loanResponse).get("id").asLong();
+        
+        String eTag = mockMvc.perform(get("/api/loans/{loanId}/installments", loanId)
+                .header("Authorization", customerToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.length()").value(6))
+                .andReturn().getResponse().getHeader("ETag");
+        
+        // When & Then
+        mockMvc.perform(get("/api/loans/{loanId}/installments", loanId)
+                .header("Authorization", customerToken)
+                .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+        
+        PaymentRequest paymentRequest = new PaymentRequest(new BigDecimal("1100.00"), LocalDate.now().minusDays(1));
+        mockMvc.perform(post("/api/loans/{loanId}/payments", loanId)
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(paymentRequest)))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/api/loans/{loanId}/installments", loanId)
+                .header("Authorization", customerToken)
+                .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$[0].isPaid").value(true));
+    }
+    
+    @Test
+    void getCustomerLoans_AcceptCbor_ShouldReturnCborAndDefaultToJson() throws Exception {
+        // Given
+        CreateLoanRequest request = CreateLoanRequest.builder()
+                .customerId(testCustomer.getId())
+                .loanAmount(new BigDecimal("10000.00"))
+                .numberOfInstallment("6")
+                .interestRate(new BigDecimal("0.1"))
+                .build();
+        mockMvc.perform(post("/api/loans")
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        
+        // When
+        byte[] cbor = mockMvc.perform(get("/api/loans/{customerId}", testCustomer.getId())
+                .header("Authorization", customerToken)
+                .accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        // Then
+        List<LoanResponse> loans = new ObjectMapper(new CBORFactory()).findAndRegisterModules()
+                .readValue(cbor, new TypeReference<List<LoanResponse>>() { });
+        assertThat(loans).hasSize(1);
+        assertThat(loans.get(0).getLoanAmount()).isEqualByComparingTo("11000.00");
+        assertThat(loans.get(0).getCreateDate()).isEqualTo(LocalDate.now());
+        
+        mockMvc.perform(get("/api/loans/{customerId}", testCustomer.getId())
+                .header("Authorization", customerToken)
+                .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+    
+    @Test
+    void getCustomerLoans_AcceptSmileWithFields_ShouldReturnSparseSmile() throws Exception {
+        // Given
+        CreateLoanRequest request = CreateLoanRequest.builder()
+                .customerId(testCustomer.getId())
+                .loanAmount(new BigDecimal("10000.00"))
+                .numberOfInstallment("6")
+                .interestRate(new BigDecimal("0.1"))
+                .build();
+        mockMvc.perform(post("/api/loans")
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        
+        // When
+        byte[] smile = mockMvc.perform(get("/api/loans/{customerId}", testCustomer.getId())
+                .param("fields", "id,loanAmount")
+                .header("Authorization", customerToken)
+                .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        // Then
+        JsonNode loan = new ObjectMapper(new SmileFactory()).readTree(smile).get(0);
+        assertThat(loan.has("id")).isTrue();
+        assertThat(loan.get("loanAmount").decimalValue()).isEqualByComparingTo("11000.00");
+        assertThat(loan.has("customerName")).isFalse();
+    }
+    
+    @Test
+    void batchGetLoanInstallments_OwnLoans_ShouldGroupByLoanInRequestOrder() throws Exception {
+        // Given
+        long sixMonthLoanId = createLoan(testCustomer.getId(), "6");
+        long nineMonthLoanId = createLoan(testCustomer.getId(), "9");
+        BatchGetInstallmentsRequest request = new BatchGetInstallmentsRequest(List.of(nineMonthLoanId, sixMonthLoanId));
+        
+        // When & Then
+        mockMvc.perform(post("/api/loans/installments:batchGet")
+                .header("Authorization", customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].loanId").value(nineMonthLoanId))
+                .andExpect(jsonPath("$[0].installments.length()").value(9))
+                .andExpect(jsonPath("$[0].installments[0].loanId").value(nineMonthLoanId))
+                .andExpect(jsonPath("$[1].loanId").value(sixMonthLoanId))
+                .andExpect(jsonPath("$[1].installments.length()").value(6));
+    }
+    
+    @Test
+    void batchGetLoanInstallments_OtherCustomersLoan_ShouldBeForbidden() throws Exception {
+        // Given
+        Customer otherCustomer = customerRepository.save(Customer.builder()
+                .name("Jane")
+                .surname("Smith")
+                .creditLimit(new BigDecimal("30000.00"))
+                .usedCreditLimit(BigDecimal.ZERO)
+                .build());
+        long ownLoanId = createLoan(testCustomer.getId(), "6");
+        long otherLoanId = createLoan(otherCustomer.getId(), "6");
+        BatchGetInstallmentsRequest request = new BatchGetInstallmentsRequest(List.of(ownLoanId, otherLoanId));
+        
+        // When & Then
+        mockMvc.perform(post("/api/loans/installments:batchGet")
+                .header("Authorization", customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/loans/installments:batchGet")
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+    
+    @Test
+    void batchGetLoanInstallments_InvalidRequest_ShouldBeRejected() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/loans/installments:batchGet")
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchGetInstallmentsRequest(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+        mockMvc.perform(post("/api/loans/installments:batchGet")
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchGetInstallmentsRequest(List.of(Long.MAX_VALUE)))))
+                .andExpect(status().isNotFound());
+    }
+    
+    private long createLoan(Long customerId, String numberOfInstallment) throws Exception {
+        CreateLoanRequest request = CreateLoanRequest.builder()
+                .customerId(customerId)
+                .loanAmount(new BigDecimal("6000.00"))
+                .numberOfInstallment(numberOfInstallment)
+                .interestRate(new BigDecimal("0.1"))
+                .build();
+        String response = mockMvc.perform(post("/api/loans")
+                .header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
@@ -0,0 +1,146 @@
+package com.company.loan.loan_service.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InstallmentScheduleCodecTest {
+
+    private static final LocalDate FIRST_DUE = LocalDate.of(2025, 3, 1);
+
+    @Test
+    void decode_EncodedSchedule_ShouldRoundTripAmountsDatesAndPaidState() {
+        // Given - 24 installments, the first and third paid
+        List<LoanInstallment> installments = schedule(24, "500.00", "500.12");
+        markPaid(installments.get(0), FIRST_DUE.minusDays(3));
+        markPaid(installments.get(2), FIRST_DUE.plusMonths(2).plusDays(4));
+        Loan loan = Loan.builder().id(7L).build();
+
+        // When
+        byte[] encoded = InstallmentScheduleCodec.encode(installments);
+        loan.setEncodedSchedule(encoded);
+        List<LoanInstallment> decoded = InstallmentScheduleCodec.decode(loan);
+
+        // Then
+        assertThat(encoded).hasSizeLessThanOrEqualTo(InstallmentScheduleCodec.MAX_ENCODED_LENGTH);
+        assertThat(decoded).hasSize(24);
+        for (int i = 0; i < installments.size(); i++) {
+            LoanInstallment expected = installments.get(i);
+            LoanInstallment actual = decoded.get(i);
+            assertThat(actual.getLoan()).isSameAs(loan);
+            assertThat(actual.getAmount()).isEqualByComparingTo(expected.getAmount());
+            assertThat(actual.getPaidAmount()).isEqualByComparingTo(expected.getPaidAmount());
+            assertThat(actual.getDueDate()).isEqualTo(expected.getDueDate());
+            assertThat(actual.getIsPaid()).isEqualTo(expected.getIsPaid());
+            assertThat(actual.getPaymentDate()).isEqualTo(expected.getPaymentDate());
+        }
+    }
+
+    @Test
+    void decode_MigratedRows_ShouldKeepInstallmentIds() {
+        // Given - row IDs, contiguous for one loan and interleaved with another loan's
+        List<LoanInstallment> contiguous = schedule(12, "100.00", "100.00");
+        List<LoanInstallment> interleaved = schedule(12, "100.00", "100.00");
+        for (int i = 0; i < 12; i++) {
+            contiguous.get(i).setId(40L + i);
+            interleaved.get(i).setId(41L + 2 * i);
+        }
+        markPaid(interleaved.get(0), FIRST_DUE);
+
+        // When
+        byte[] encodedContiguous = InstallmentScheduleCodec.encode(contiguous);
+        byte[] encodedInterleaved = InstallmentScheduleCodec.encode(interleaved);
+
+        // Then
+        assertThat(ids(InstallmentScheduleCodec.decode(encodedContiguous, Loan.builder().id(3L).build())))
+                .isEqualTo(ids(contiguous));
+        assertThat(ids(InstallmentScheduleCodec.decode(encodedInterleaved, null))).isEqualTo(ids(interleaved));
+    }
+
+    @Test
+    void decode_NewSchedule_ShouldDeriveIdsThatSurviveReEncoding() {
+        // Given - a schedule encoded before the loan was saved
+        byte[] encoded = InstallmentScheduleCodec.encode(schedule(6, "100.00", "100.00"));
+        Loan loan = Loan.builder().id(9L).build();
+        List<LoanInstallment> decoded = InstallmentScheduleCodec.decode(encoded, loan);
+        List<Long> derivedIds = ids(decoded);
+
+        // When - a payment re-encodes it
+        markPaid(decoded.get(0), FIRST_DUE);
+        byte[] reEncoded = InstallmentScheduleCodec.encode(decoded);
+
+        // Then
+        assertThat(derivedIds).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(derivedIds.get(0)).isGreaterThan(Integer.MAX_VALUE).isLessThan(1L << 53);
+        assertThat(ids(InstallmentScheduleCodec.decode(reEncoded, Loan.builder().id(9L).build())))
+                .isEqualTo(derivedIds);
+        assertThat(ids(InstallmentScheduleCodec.decode(encoded, null))).containsOnlyNulls();
+    }
+
+    @Test
+    void encode_TooManyScatteredIds_ShouldThrowException() {
+        // Given - 48 non-contiguous IDs do not fit once every installment is paid
+        List<LoanInstallment> installments = schedule(48, "100.00", "100.00");
+        for (int i = 0; i < installments.size(); i++) {
+            installments.get(i).setId(100L + 3 * i);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> InstallmentScheduleCodec.encode(installments))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds");
+    }
+
+    @Test
+    void encode_PartiallyPaidInstallment_ShouldThrowException() {
+        // Given
+        List<LoanInstallment> installments = schedule(6, "100.00", "100.00");
+        installments.get(1).setPaidAmount(new BigDecimal("40.00"));
+
+        // When & Then
+        assertThatThrownBy(() -> InstallmentScheduleCodec.encode(installments))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("partially paid");
+    }
+
+    @Test
+    void encode_IrregularDueDates_ShouldThrowException() {
+        // Given
+        List<LoanInstallment> installments = schedule(6, "100.00", "100.00");
+        installments.get(3).setDueDate(installments.get(3).getDueDate().plusDays(10));
+
+        // When & Then
+        assertThatThrownBy(() -> InstallmentScheduleCodec.encode(installments))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not due monthly");
+    }
+
+    private static List<LoanInstallment> schedule(int count, String regular, String last) {
+        List<LoanInstallment> installments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setAmount(new BigDecimal(i == count - 1 ? last : regular));
+            installment.setPaidAmount(BigDecimal.ZERO);
+            installment.setDueDate(FIRST_DUE.plusMonths(i));
+            installment.setIsPaid(false);
+            installments.add(installment);
+        }
+        return installments;
+    }
+
+    private static List<Long> ids(List<LoanInstallment> installments) {
+        return installments.stream().map(LoanInstallment::getId).collect(Collectors.toList());
+    }
+
+    private static void markPaid(LoanInstallment installment, LocalDate paymentDate) {
+        installment.setPaidAmount(installment.getAmount());
+        installment.setIsPaid(true);
+        installment.setPaymentDate(paymentDate);
+    }
+}
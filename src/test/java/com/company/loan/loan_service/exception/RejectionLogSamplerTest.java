@@ -0,0 +1,40 @@
+package com.company.loan.loan_service.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RejectionLogSamplerTest {
+
+    @Test
+    void businessException_Default_ShouldNotCaptureStackTrace() {
+        // When
+        PaymentException exception = PaymentException.insufficientPaymentAmount();
+
+        // Then
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getErrorCode()).isEqualTo("PAYMENT_ERROR");
+    }
+
+    @Test
+    void record_RepeatedRejections_ShouldCountPerErrorCode() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RejectionLogSampler sampler = new RejectionLogSampler(meterRegistry, 60_000);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            sampler.record(PaymentException.insufficientPaymentAmount(), "/api/loans/1/payments");
+        }
+        sampler.record(new InsufficientCreditException(BigDecimal.ONE, BigDecimal.TEN), "/api/loans");
+
+        // Then
+        assertThat(meterRegistry.get("business.rejections").tag("code", "PAYMENT_ERROR").counter().count())
+                .isEqualTo(5);
+        assertThat(meterRegistry.get("business.rejections").tag("code", "INSUFFICIENT_CREDIT").counter().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.loan.loan_service.journal;
+
+import com.company.loan.loan_service.dto.CreateLoanRequest;
+import com.company.loan.loan_service.dto.PaymentJournalVerificationResponse;
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.service.LoanService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class PaymentJournalAuditIntegrationTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @Autowired
+    private PaymentJournalAudit paymentJournalAudit;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("payment-journal.enabled", () -> "true");
+        registry.add("payment-journal.directory", journalDirectory::toString);
+        registry.add("payment-journal.hmac-key", () -> "paymentJournalAuditTestKeyOfAtLeast32Bytes");
+    }
+
+    @Test
+    void verify_JournaledPayments_ShouldMatchStoredInstallments() {
+        // Given
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("Journaled")
+                .surname("Customer")
+                .creditLimit(new BigDecimal("50000.00"))
+                .usedCreditLimit(BigDecimal.ZERO)
+                .build());
+        Long loanId = loanService.createLoan(new CreateLoanRequest(
+                customer.getId(), new BigDecimal("1000.00"), "6", new BigDecimal("0.1"))).getId();
+        loanService.processPayment(loanId, new PaymentRequest(new BigDecimal("400.00"), LocalDate.now()));
+
+        // When
+        PaymentJournalVerificationResponse verification = paymentJournalAudit.verify();
+
+        // Then
+        assertThat(verification.getChainIntact()).isTrue();
+        assertThat(verification.getRecords()).isGreaterThanOrEqualTo(1);
+        assertThat(verification.getMismatchedInstallments()).isZero();
+        assertThat(paymentJournalAudit.rebuildPaidState(Long.MAX_VALUE).get(loanId))
+                .hasSize(2)
+                .containsValue(LocalDate.now());
+    }
+}
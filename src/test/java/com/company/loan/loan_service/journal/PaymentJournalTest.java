@@ -0,0 +1,136 @@
+package com.company.loan.loan_service.journal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PaymentJournalTest {
+
+    private static final LocalDate PAYMENT_DATE = LocalDate.of(2025, 3, 10);
+    private static final int SMALL_SEGMENT_BYTES = 256;
+    private static final String KEY = "paymentJournalTestKeyOfAtLeast32Bytes";
+    private static final byte[] KEY_BYTES = KEY.getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_PastSegmentSize_ShouldRollSegmentsAndReplayInOrder() throws IOException {
+        // Given
+        PaymentJournal journal = openJournal();
+
+        // When
+        for (long loanId = 1; loanId <= 20; loanId++) {
+            journal.append(loanId, PAYMENT_DATE, entries(loanId, 2));
+        }
+        journal.destroy();
+
+        // Then
+        List<JournalRecord> replayed = new ArrayList<>();
+        PaymentJournalReader.Verification verification = PaymentJournalReader.read(directory, KEY_BYTES, replayed::add);
+        assertThat(verification.isIntact()).isTrue();
+        assertThat(verification.getSegments()).isGreaterThan(1);
+        assertThat(verification.getRecords()).isEqualTo(20);
+        assertThat(replayed).extracting(JournalRecord::getLoanId)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 20).boxed().collect(Collectors.toList()));
+        assertThat(replayed.get(0).getEntries()).isEqualTo(entries(1, 2));
+    }
+
+    @Test
+    void open_ExistingJournal_ShouldContinueChain() throws IOException {
+        // Given
+        PaymentJournal first = openJournal();
+        first.append(1, PAYMENT_DATE, entries(1, 1));
+        first.append(2, PAYMENT_DATE, entries(2, 1));
+        first.destroy();
+
+        // When
+        PaymentJournal reopened = openJournal();
+        long sequence = reopened.append(3, PAYMENT_DATE, entries(3, 1));
+        reopened.destroy();
+
+        // Then
+        assertThat(sequence).isEqualTo(3);
+        PaymentJournalReader.Verification verification = PaymentJournalReader.read(directory, KEY_BYTES, record -> { });
+        assertThat(verification.isIntact()).isTrue();
+        assertThat(verification.getLastSequence()).isEqualTo(3);
+    }
+
+    @Test
+    void read_TamperedRecord_ShouldReportBrokenChain() throws IOException {
+        // Given
+        PaymentJournal journal = openJournal();
+        journal.append(1, PAYMENT_DATE, entries(1, 1));
+        journal.append(2, PAYMENT_DATE, entries(2, 1));
+        journal.destroy();
+        Path segment = JournalFormat.listSegments(directory).get(0);
+        int secondRecordAmount = JournalFormat.SEGMENT_HEADER_BYTES + JournalFormat.recordLength(1) + 28 + 12;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(1L).flip(), secondRecordAmount);
+        }
+
+        // When
+        List<JournalRecord> replayed = new ArrayList<>();
+        PaymentJournalReader.Verification verification = PaymentJournalReader.read(directory, KEY_BYTES, replayed::add);
+
+        // Then
+        assertThat(verification.isIntact()).isFalse();
+        assertThat(verification.getProblem()).contains("Checksum mismatch in record 2");
+        assertThat(replayed).extracting(JournalRecord::getSequence).containsExactly(1L);
+    }
+
+    @Test
+    void read_JournalWrittenWithOtherKey_ShouldReportBrokenChain() throws IOException {
+        // Given - a journal rewritten by someone without the key
+        PaymentJournal journal = new PaymentJournal(new SimpleMeterRegistry(), true, directory.toString(),
+                SMALL_SEGMENT_BYTES, "someOtherKeyThatIsAlsoAtLeast32Bytes");
+        journal.open();
+        journal.append(1, PAYMENT_DATE, entries(1, 1));
+        journal.destroy();
+
+        // When
+        PaymentJournalReader.Verification verification = PaymentJournalReader.read(directory, KEY_BYTES, record -> { });
+
+        // Then
+        assertThat(verification.isIntact()).isFalse();
+        assertThat(verification.getProblem()).contains("Checksum mismatch in record 1");
+    }
+
+    @Test
+    void constructor_EnabledWithoutKey_ShouldFail() {
+        // When & Then
+        assertThatThrownBy(() -> new PaymentJournal(new SimpleMeterRegistry(), true, directory.toString(),
+                SMALL_SEGMENT_BYTES, ""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least 32 bytes");
+    }
+
+    private PaymentJournal openJournal() throws IOException {
+        PaymentJournal journal = new PaymentJournal(new SimpleMeterRegistry(), true, directory.toString(),
+                SMALL_SEGMENT_BYTES, KEY);
+        journal.open();
+        return journal;
+    }
+
+    private static List<JournalRecord.Entry> entries(long loanId, int count) {
+        List<JournalRecord.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(new JournalRecord.Entry(loanId * 100 + i, PAYMENT_DATE.plusMonths(i), 18333, 18150));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,230 @@
+package com.company.loan.loan_service.ledger;
+
+import com.company.loan.loan_service.dto.CustomerBalanceResponse;
+import com.company.loan.loan_service.entity.InstallmentScheduleCodec;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.event.CustomerCreditChangedEvent;
+import com.company.loan.loan_service.event.InstallmentsPaidEvent;
+import com.company.loan.loan_service.event.LoanCreatedEvent;
+import com.company.loan.loan_service.exception.CustomerNotFoundException;
+import com.company.loan.loan_service.exception.LedgerUnavailableException;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoanLedgerTest {
+
+    private static final LocalDate FIRST_DUE = LocalDate.of(2025, 2, 1);
+
+    private CustomerRepository customerRepository;
+    private LoanInstallmentRepository installmentRepository;
+    private LoanRepository loanRepository;
+    private LoanLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        installmentRepository = mock(LoanInstallmentRepository.class);
+        loanRepository = mock(LoanRepository.class);
+        ledger = new LoanLedger(customerRepository, installmentRepository, loanRepository,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getBalance_BeforeLoad_ShouldThrowUnavailable() {
+        assertThatThrownBy(() -> ledger.getBalance(1L))
+                .isInstanceOf(LedgerUnavailableException.class);
+    }
+
+    @Test
+    void load_OpenLoans_ShouldAggregatePerCustomer() {
+        // Given - loan 10 has its first installment paid, loan 11 is untouched
+        when(customerRepository.streamCreditRows()).thenReturn(Stream.of(credit(1L, "50000.00", "9000.00")));
+        List<LoanInstallmentRepository.OpenInstallmentRow> rows = new ArrayList<>();
+        rows.addAll(schedule(10L, 1L, 6, "1000.00", "1000.00", 1));
+        rows.addAll(schedule(11L, 1L, 3, "1000.00", "1000.01", 0));
+        when(installmentRepository.streamOpenLoanInstallments()).thenReturn(rows.stream());
+
+        // When
+        ledger.load();
+        CustomerBalanceResponse balance = ledger.getBalance(1L);
+
+        // Then
+        assertThat(balance.getOutstandingAmount()).isEqualByComparingTo("8000.01");
+        assertThat(balance.getUnpaidInstallmentCount()).isEqualTo(8);
+        assertThat(balance.getActiveLoanCount()).isEqualTo(2);
+        assertThat(balance.getNextDueDate()).isEqualTo(FIRST_DUE);
+        assertThat(balance.getNextDueAmount()).isEqualByComparingTo("1000.00");
+        assertThat(balance.getAvailableCreditLimit()).isEqualByComparingTo("41000.00");
+    }
+
+    @Test
+    void load_CompactSchedules_ShouldAggregateLikeInstallmentRows() {
+        // Given - loan 10 on installment rows, loan 12 encoded with its first two installments paid
+        when(customerRepository.streamCreditRows()).thenReturn(Stream.of(credit(1L, "50000.00", "9000.00")));
+        when(installmentRepository.streamOpenLoanInstallments())
+                .thenReturn(schedule(10L, 1L, 6, "1000.00", "1000.00", 1).stream());
+        List<LoanInstallment> compact = new ArrayList<>();
+        for (LoanInstallmentRepository.OpenInstallmentRow row : schedule(12L, 1L, 6, "500.00", "500.03", 2)) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setAmount(row.getAmount());
+            installment.setPaidAmount(row.getPaidAmount());
+            installment.setDueDate(row.getDueDate());
+            installment.setIsPaid(row.getPaid());
+            installment.setPaymentDate(row.getPaid() ? row.getDueDate() : null);
+            compact.add(installment);
+        }
+        byte[] encoded = InstallmentScheduleCodec.encode(compact);
+        when(loanRepository.streamOpenCompactSchedules()).thenReturn(Stream.of(new LoanRepository.CompactScheduleRow() {
+            public Long getLoanId() { return 12L; }
+            public Long getCustomerId() { return 1L; }
+            public byte[] getEncodedSchedule() { return encoded; }
+        }));
+
+        // When
+        ledger.load();
+        CustomerBalanceResponse balance = ledger.getBalance(1L);
+
+        // Then
+        assertThat(balance.getOutstandingAmount()).isEqualByComparingTo("7000.03");
+        assertThat(balance.getUnpaidInstallmentCount()).isEqualTo(9);
+        assertThat(balance.getActiveLoanCount()).isEqualTo(2);
+        assertThat(balance.getNextDueDate()).isEqualTo(FIRST_DUE.plusMonths(1));
+        assertThat(balance.getNextDueAmount()).isEqualByComparingTo("1000.00");
+        assertThat(ledger.getLoanCount()).isEqualTo(2);
+    }
+
+    @Test
+    void onInstallmentsPaid_ShouldAdvanceNextDueAndIgnoreReplays() {
+        // Given
+        loadEmpty();
+        ledger.onLoanCreated(loanCreated(20L, 2L, 3, "400.00", "400.02"));
+
+        // When
+        InstallmentsPaidEvent payment = paid(20L, 2L, 1, false, null);
+        ledger.onInstallmentsPaid(payment);
+        ledger.onInstallmentsPaid(payment);
+
+        // Then
+        CustomerBalanceResponse balance = ledger.getBalance(2L);
+        assertThat(balance.getOutstandingAmount()).isEqualByComparingTo("400.02");
+        assertThat(balance.getUnpaidInstallmentCount()).isEqualTo(1);
+        assertThat(balance.getNextDueDate()).isEqualTo(FIRST_DUE.plusMonths(2));
+        assertThat(balance.getNextDueAmount()).isEqualByComparingTo("400.02");
+    }
+
+    @Test
+    void onInstallmentsPaid_LoanComplete_ShouldReleaseCreditAndClearDueDate() {
+        // Given
+        loadEmpty();
+        ledger.onLoanCreated(loanCreated(30L, 3L, 3, "400.00", "400.00"));
+
+        // When
+        ledger.onInstallmentsPaid(paid(30L, 3L, 0, true, BigDecimal.ZERO));
+
+        // Then
+        CustomerBalanceResponse balance = ledger.getBalance(3L);
+        assertThat(balance.getOutstandingAmount()).isEqualByComparingTo("0.00");
+        assertThat(balance.getActiveLoanCount()).isZero();
+        assertThat(balance.getNextDueDate()).isNull();
+        assertThat(balance.getUsedCreditLimit()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void onInstallmentsPaid_LoanComplete_ShouldUnlinkLoanAndReuseItsSlot() {
+        // Given
+        loadEmpty();
+        ledger.onLoanCreated(loanCreated(40L, 4L, 3, "400.00", "400.00"));
+        ledger.onLoanCreated(loanCreated(41L, 4L, 3, "100.00", "100.00"));
+        ledger.onLoanCreated(loanCreated(42L, 4L, 3, "200.00", "200.00"));
+
+        // When - the loan in the middle of the customer's list is paid off, then a new loan is taken
+        ledger.onInstallmentsPaid(paid(41L, 4L, 0, true, null));
+        ledger.onInstallmentsPaid(paid(41L, 4L, 0, true, null));
+        ledger.onLoanCreated(loanCreated(43L, 4L, 3, "50.00", "50.00"));
+
+        // Then
+        assertThat(ledger.getLoanCount()).isEqualTo(3);
+        CustomerBalanceResponse balance = ledger.getBalance(4L);
+        assertThat(balance.getOutstandingAmount()).isEqualByComparingTo("1950.00");
+        assertThat(balance.getUnpaidInstallmentCount()).isEqualTo(9);
+        assertThat(balance.getActiveLoanCount()).isEqualTo(3);
+        assertThat(balance.getNextDueAmount()).isEqualByComparingTo("650.00");
+    }
+
+    @Test
+    void onCustomerCreditChanged_UnknownCustomer_ShouldRegisterCustomer() {
+        // Given
+        loadEmpty();
+
+        // When
+        ledger.onCustomerCreditChanged(new CustomerCreditChangedEvent(4L, new BigDecimal("7500.00"), BigDecimal.ZERO));
+
+        // Then
+        assertThat(ledger.getBalance(4L).getCreditLimit()).isEqualByComparingTo("7500.00");
+        assertThatThrownBy(() -> ledger.getBalance(5L))
+                .isInstanceOf(CustomerNotFoundException.class);
+    }
+
+    private void loadEmpty() {
+        when(customerRepository.streamCreditRows()).thenReturn(Stream.empty());
+        when(installmentRepository.streamOpenLoanInstallments()).thenReturn(Stream.empty());
+        ledger.load();
+    }
+
+    private static LoanCreatedEvent loanCreated(Long loanId, Long customerId, int count,
+                                                String regular, String last) {
+        List<LoanCreatedEvent.ScheduledInstallment> installments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            installments.add(new LoanCreatedEvent.ScheduledInstallment((long) i + 1,
+                    new BigDecimal(i == count - 1 ? last : regular), FIRST_DUE.plusMonths(i)));
+        }
+        return new LoanCreatedEvent(loanId, customerId, new BigDecimal("1200.00"), FIRST_DUE.minusMonths(1),
+                installments, new BigDecimal("10000.00"), new BigDecimal("1200.00"));
+    }
+
+    private static InstallmentsPaidEvent paid(Long loanId, Long customerId, int unpaid, boolean complete,
+                                              BigDecimal usedCredit) {
+        return new InstallmentsPaidEvent(loanId, customerId, FIRST_DUE, List.of(), unpaid, complete, usedCredit);
+    }
+
+    private static CustomerRepository.CreditRow credit(Long customerId, String limit, String used) {
+        return new CustomerRepository.CreditRow() {
+            public Long getCustomerId() { return customerId; }
+            public BigDecimal getCreditLimit() { return new BigDecimal(limit); }
+            public BigDecimal getUsedCreditLimit() { return new BigDecimal(used); }
+        };
+    }
+
+    private static List<LoanInstallmentRepository.OpenInstallmentRow> schedule(Long loanId, Long customerId, int count,
+                                                                               String regular, String last, int paid) {
+        List<LoanInstallmentRepository.OpenInstallmentRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BigDecimal amount = new BigDecimal(i == count - 1 ? last : regular);
+            boolean isPaid = i < paid;
+            LocalDate dueDate = FIRST_DUE.plusMonths(i);
+            rows.add(new LoanInstallmentRepository.OpenInstallmentRow() {
+                public Long getLoanId() { return loanId; }
+                public Long getCustomerId() { return customerId; }
+                public BigDecimal getAmount() { return amount; }
+                public BigDecimal getPaidAmount() { return isPaid ? amount : BigDecimal.ZERO; }
+                public LocalDate getDueDate() { return dueDate; }
+                public Boolean getPaid() { return isPaid; }
+            });
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.loan.loan_service.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void put_ManyKeys_ShouldResizeAndKeepAllMappings() {
+        // Given
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        // When
+        for (int i = 1; i <= 10_000; i++) {
+            map.put(i * 31L, i);
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(10_000);
+        for (int i = 1; i <= 10_000; i++) {
+            assertThat(map.get(i * 31L)).isEqualTo(i);
+        }
+        assertThat(map.get(7L)).isEqualTo(LongIntHashMap.MISSING);
+    }
+
+    @Test
+    void put_ExistingKey_ShouldOverwriteValue() {
+        // Given
+        LongIntHashMap map = new LongIntHashMap(16);
+        map.put(42L, 1);
+
+        // When
+        map.put(42L, 2);
+
+        // Then
+        assertThat(map.get(42L)).isEqualTo(2);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_ManyKeys_ShouldKeepRemainingMappingsReachable() {
+        // Given - a small table, so removals happen inside long probe runs
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (int i = 1; i <= 1_000; i++) {
+            map.put(i, i);
+        }
+
+        // When
+        for (int i = 1; i <= 1_000; i += 2) {
+            assertThat(map.remove(i)).isEqualTo(i);
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(500);
+        for (int i = 1; i <= 1_000; i++) {
+            assertThat(map.get(i)).isEqualTo(i % 2 == 0 ? i : LongIntHashMap.MISSING);
+        }
+        assertThat(map.remove(1L)).isEqualTo(LongIntHashMap.MISSING);
+    }
+
+    @Test
+    void put_ReservedKey_ShouldThrowException() {
+        LongIntHashMap map = new LongIntHashMap(16);
+
+        assertThatThrownBy(() -> map.put(0L, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.company.loan.loan_service.monitoring;
+
+import com.company.loan.loan_service.dto.HibernateStatsResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SlowQueryRecorderTest {
+
+    private static final String QUERY = "SELECT l FROM Loan l WHERE l.customer.id = :customerId";
+
+    @Test
+    void record_BelowThreshold_ShouldIgnoreQuery() {
+        // Given
+        SlowQueryRecorder recorder = new SlowQueryRecorder(100, 10);
+
+        // When
+        recorder.record(QUERY, 99, 1);
+
+        // Then
+        assertThat(recorder.getTopSlowQueries(10)).isEmpty();
+    }
+
+    @Test
+    void record_RepeatedSlowQuery_ShouldAggregateByQueryAndCaller() {
+        // Given
+        SlowQueryRecorder recorder = new SlowQueryRecorder(100, 10);
+
+        // When
+        recorder.record(QUERY, 150, 3);
+        recorder.record(QUERY, 250, 7);
+        recorder.record("SELECT c FROM Customer c", 120, 1);
+
+        // Then
+        List<HibernateStatsResponse.SlowQueryStat> top = recorder.getTopSlowQueries(10);
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).getQuery()).isEqualTo(QUERY);
+        assertThat(top.get(0).getCount()).isEqualTo(2);
+        assertThat(top.get(0).getTotalTimeMs()).isEqualTo(400);
+        assertThat(top.get(0).getMaxTimeMs()).isEqualTo(250);
+        assertThat(top.get(0).getMaxRows()).isEqualTo(7);
+        assertThat(top.get(0).getCaller()).isNotBlank();
+    }
+
+    @Test
+    void record_CapacityReached_ShouldCountDroppedQueries() {
+        // Given
+        SlowQueryRecorder recorder = new SlowQueryRecorder(0, 1);
+
+        // When
+        recorder.record(QUERY, 5, 1);
+        recorder.record("SELECT c FROM Customer c", 5, 1);
+
+        // Then
+        assertThat(recorder.getTopSlowQueries(10)).hasSize(1);
+        assertThat(recorder.getDroppedCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,153 @@
+package com.company.loan.loan_service.notification;
+
+import com.company.loan.loan_service.dto.CustomerBalanceResponse;
+import com.company.loan.loan_service.event.InstallmentsPaidEvent;
+import com.company.loan.loan_service.exception.EventStreamSaturatedException;
+import com.company.loan.loan_service.ledger.LoanLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CustomerEventBusTest {
+
+    private static final Long CUSTOMER_ID = 7L;
+
+    private LoanLedger loanLedger;
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        loanLedger = mock(LoanLedger.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(loanLedger.getBalance(anyLong())).thenReturn(CustomerBalanceResponse.builder()
+                .customerId(CUSTOMER_ID)
+                .outstandingAmount(new BigDecimal("100.00"))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.destroy();
+    }
+
+    @Test
+    void publish_ConnectedSubscriber_ShouldDeliverBalanceFirstThenEventsInOrder() throws Exception {
+        // Given
+        bus = new CustomerEventBus(loanLedger, meterRegistry, 8, 10, 1, 60_000);
+        RecordingEmitter emitter = new RecordingEmitter(3);
+        bus.register(CUSTOMER_ID, emitter);
+
+        // When
+        bus.publish(CUSTOMER_ID, CustomerEventBus.PAYMENT, "first");
+        bus.publish(CUSTOMER_ID, CustomerEventBus.PAYMENT, "second");
+
+        // Then
+        assertThat(emitter.sent.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.events).hasSize(3);
+        assertThat(emitter.events.get(0)).contains("event:balance");
+        assertThat(emitter.events.get(1)).contains("event:payment").contains("first");
+        assertThat(emitter.events.get(2)).contains("event:payment").contains("second");
+    }
+
+    @Test
+    void publish_StalledSubscriber_ShouldEvictOnceBufferIsFull() {
+        // Given
+        bus = new CustomerEventBus(loanLedger, meterRegistry, 2, 10, 1, 60_000);
+        CountDownLatch release = new CountDownLatch(1);
+        StalledEmitter emitter = new StalledEmitter(release);
+        CustomerEventBus.Subscriber subscriber = bus.register(CUSTOMER_ID, emitter);
+
+        // When
+        for (int i = 0; i < 4 && !subscriber.isClosed(); i++) {
+            bus.publish(CUSTOMER_ID, CustomerEventBus.PAYMENT, "event-" + i);
+        }
+        release.countDown();
+
+        // Then
+        assertThat(subscriber.isClosed()).isTrue();
+        assertThat(bus.getSubscriberCount()).isZero();
+        assertThat(meterRegistry.counter("customer-events.evictions").count()).isEqualTo(1);
+    }
+
+    @Test
+    void register_OverCapacity_ShouldRejectStream() {
+        // Given
+        bus = new CustomerEventBus(loanLedger, meterRegistry, 8, 1, 1, 60_000);
+        bus.register(CUSTOMER_ID, new RecordingEmitter(1));
+
+        // When & Then
+        assertThatThrownBy(() -> bus.register(CUSTOMER_ID + 1, new RecordingEmitter(1)))
+                .isInstanceOf(EventStreamSaturatedException.class);
+        assertThat(bus.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void onInstallmentsPaid_NoSubscribers_ShouldNotReadLedger() {
+        // Given
+        bus = new CustomerEventBus(loanLedger, meterRegistry, 8, 10, 1, 60_000);
+
+        // When
+        bus.onInstallmentsPaid(new InstallmentsPaidEvent(1L, CUSTOMER_ID, LocalDate.now(),
+                List.of(), 5, false, null));
+
+        // Then
+        verifyNoInteractions(loanLedger);
+    }
+
+    private static String render(SseEmitter.SseEventBuilder builder) {
+        return builder.build().stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .map(String::valueOf)
+                .collect(Collectors.joining());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sent;
+
+        private RecordingEmitter(int expected) {
+            this.sent = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(render(builder));
+            sent.countDown();
+        }
+    }
+
+    private static class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+
+        private StalledEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.company.loan.loan_service.outbox;
+
+import com.company.loan.loan_service.dto.CreateLoanRequest;
+import com.company.loan.loan_service.dto.LoanResponse;
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.entity.OutboxEvent;
+import com.company.loan.loan_service.event.DueInstallment;
+import com.company.loan.loan_service.event.InstallmentsDueSoonEvent;
+import com.company.loan.loan_service.event.InstallmentsOverdueEvent;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.OutboxEventRepository;
+import com.company.loan.loan_service.service.LoanService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "outbox.relay.poll-interval-ms=3600000",
+        "outbox.relay.linger-ms=0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class OutboxIntegrationTest {
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxSink outboxSink;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void relay_CommittedLoanAndPayment_ShouldDeliverEventsInOrder() {
+        // Given
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("Outbox")
+                .surname("Customer")
+                .creditLimit(new BigDecimal("50000.00"))
+                .usedCreditLimit(BigDecimal.ZERO)
+                .build());
+        LoanResponse loan = loanService.createLoan(new CreateLoanRequest(
+                customer.getId(), new BigDecimal("1000.00"), "6", new BigDecimal("0.1")));
+        loanService.processPayment(loan.getId(), new PaymentRequest(new BigDecimal("400.00"), LocalDate.now()));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        assertThat(((InMemoryOutboxSink) outboxSink).getEvents())
+                .filteredOn(event -> event.getAggregateId().equals(loan.getId()))
+                .extracting(OutboxEvent::getEventType)
+                .containsExactly("LoanCreated", "InstallmentsPaid");
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void relay_InstallmentsDueSoon_ShouldDeliverOneEventPerInstallment() {
+        // Given - published by the timer tick, outside any transaction
+        LocalDate dueDate = LocalDate.now().plusDays(3);
+        eventPublisher.publishEvent(new InstallmentsDueSoonEvent(LocalDate.now(), List.of(
+                new DueInstallment(9003L, 1L, dueDate, new BigDecimal("200.00")),
+                new DueInstallment(9004L, 1L, dueDate, new BigDecimal("150.00")))));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        assertThat(((InMemoryOutboxSink) outboxSink).getEvents())
+                .filteredOn(event -> event.getEventType().equals("InstallmentDueSoon"))
+                .extracting(OutboxEvent::getAggregateId)
+                .containsExactly(9003L, 9004L);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void relay_InstallmentsOverdue_ShouldDeliverOneEventPerInstallment() {
+        // Given - published by the timer tick, outside any transaction
+        LocalDate dueDate = LocalDate.now().minusDays(1);
+        eventPublisher.publishEvent(new InstallmentsOverdueEvent(LocalDate.now(), List.of(
+                new DueInstallment(9001L, 1L, dueDate, new BigDecimal("200.00")),
+                new DueInstallment(9002L, 1L, dueDate, new BigDecimal("150.00")))));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        assertThat(((InMemoryOutboxSink) outboxSink).getEvents())
+                .filteredOn(event -> event.getEventType().equals("InstallmentOverdue"))
+                .extracting(OutboxEvent::getAggregateId)
+                .containsExactly(9001L, 9002L);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,94 @@
+package com.company.loan.loan_service.outbox;
+
+import com.company.loan.loan_service.entity.OutboxEvent;
+import com.company.loan.loan_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository repository;
+    private OutboxSink sink;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        sink = mock(OutboxSink.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void relay_PartialBatchWithinLinger_ShouldHoldBack() throws Exception {
+        // Given
+        OutboxRelay relay = new OutboxRelay(repository, sink, meterRegistry, 10, 60_000, true);
+        when(repository.findOldest(any())).thenReturn(List.of(event(1L, Instant.now())));
+
+        // When
+        int relayed = relay.relay();
+
+        // Then
+        assertThat(relayed).isZero();
+        verify(sink, never()).publish(any());
+        verify(repository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void relay_FullBatches_ShouldPublishAndDeleteUntilDrained() throws Exception {
+        // Given
+        OutboxRelay relay = new OutboxRelay(repository, sink, meterRegistry, 2, 60_000, true);
+        Instant now = Instant.now();
+        List<OutboxEvent> first = List.of(event(1L, now), event(2L, now));
+        List<OutboxEvent> second = List.of(event(3L, now), event(4L, now));
+        when(repository.findOldest(any())).thenReturn(first, second, List.of());
+
+        // When
+        int relayed = relay.relay();
+
+        // Then
+        assertThat(relayed).isEqualTo(4);
+        verify(sink).publish(first);
+        verify(sink).publish(second);
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(repository).deleteAllByIdInBatch(List.of(3L, 4L));
+        assertThat(meterRegistry.get("outbox.published").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void relay_SinkFailure_ShouldKeepEventsForRetry() throws Exception {
+        // Given
+        OutboxRelay relay = new OutboxRelay(repository, sink, meterRegistry, 10, 0, true);
+        List<OutboxEvent> batch = List.of(event(1L, Instant.now().minusSeconds(5)));
+        when(repository.findOldest(any())).thenReturn(batch);
+        doThrow(new IOException("broker unavailable")).when(sink).publish(batch);
+
+        // When
+        int relayed = relay.relay();
+
+        // Then
+        assertThat(relayed).isZero();
+        verify(repository, never()).deleteAllByIdInBatch(any());
+        assertThat(meterRegistry.get("outbox.publish.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.lag").gauge().value()).isGreaterThanOrEqualTo(5);
+    }
+
+    private static OutboxEvent event(Long id, Instant createdAt) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType(OutboxWriter.LOAN_AGGREGATE)
+                .aggregateId(10L)
+                .eventType("LoanCreated")
+                .payload("{}")
+                .createdAt(createdAt)
+                .build();
+    }
+}
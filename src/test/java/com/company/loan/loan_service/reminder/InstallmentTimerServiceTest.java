@@ -0,0 +1,128 @@
+package com.company.loan.loan_service.reminder;
+
+import com.company.loan.loan_service.event.DueInstallment;
+import com.company.loan.loan_service.event.InstallmentsDueSoonEvent;
+import com.company.loan.loan_service.event.InstallmentsOverdueEvent;
+import com.company.loan.loan_service.event.InstallmentsPaidEvent;
+import com.company.loan.loan_service.event.LoanCreatedEvent;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InstallmentTimerServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 15);
+    private static final LocalDate FIRST_DUE = LocalDate.of(2025, 2, 1);
+
+    private LoanInstallmentRepository installmentRepository;
+    private LoanRepository loanRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private InstallmentTimerService service;
+
+    @BeforeEach
+    void setUp() {
+        installmentRepository = mock(LoanInstallmentRepository.class);
+        loanRepository = mock(LoanRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new InstallmentTimerService(installmentRepository, loanRepository,
+                mock(PlatformTransactionManager.class), eventPublisher, new SimpleMeterRegistry(), 3);
+        when(installmentRepository.streamOpenLoanInstallments()).thenReturn(Stream.empty());
+        service.load(TODAY);
+    }
+
+    @Test
+    void tick_LoanCreated_ShouldPublishReminderThenOverdue() {
+        // Given
+        service.onLoanCreated(loanCreated(10L, 1L, 3));
+
+        // When
+        service.tick(FIRST_DUE.minusDays(3));
+        service.tick(FIRST_DUE.plusDays(1));
+
+        // Then
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues().get(0)).isInstanceOfSatisfying(InstallmentsDueSoonEvent.class, event -> {
+            assertThat(event.getDate()).isEqualTo(FIRST_DUE.minusDays(3));
+            assertThat(event.getInstallments()).extracting(DueInstallment::getDueDate).containsExactly(FIRST_DUE);
+        });
+        assertThat(events.getAllValues().get(1)).isInstanceOfSatisfying(InstallmentsOverdueEvent.class, event -> {
+            assertThat(event.getDate()).isEqualTo(FIRST_DUE.plusDays(1));
+            assertThat(event.getInstallments()).extracting(DueInstallment::getLoanId).containsExactly(10L);
+        });
+        assertThat(service.getPendingTimerCount()).isEqualTo(4);
+    }
+
+    @Test
+    void tick_InstallmentPaid_ShouldCancelItsTimers() {
+        // Given
+        service.onLoanCreated(loanCreated(20L, 2L, 3));
+        service.onInstallmentsPaid(new InstallmentsPaidEvent(20L, 2L, TODAY, List.of(
+                new InstallmentsPaidEvent.PaidInstallment(null, new BigDecimal("100.00"),
+                        new BigDecimal("98.30"), FIRST_DUE)), 2, false, null));
+
+        // When
+        service.tick(FIRST_DUE.plusDays(1));
+
+        // Then
+        verifyNoInteractions(eventPublisher);
+        assertThat(service.getPendingTimerCount()).isEqualTo(4);
+    }
+
+    @Test
+    void load_UnpaidRows_ShouldScheduleOnlyUnpaidInstallments() {
+        // Given
+        LoanInstallmentRepository.OpenInstallmentRow paid = row(30L, FIRST_DUE, true);
+        LoanInstallmentRepository.OpenInstallmentRow unpaid = row(30L, FIRST_DUE.plusMonths(1), false);
+        when(installmentRepository.streamOpenLoanInstallments()).thenReturn(Stream.of(paid, unpaid));
+
+        // When
+        service.load(TODAY);
+        service.tick(FIRST_DUE.plusMonths(1).plusDays(1));
+
+        // Then
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).hasExactlyElementsOfTypes(
+                InstallmentsDueSoonEvent.class, InstallmentsOverdueEvent.class);
+        assertThat(((InstallmentsOverdueEvent) events.getAllValues().get(1)).getInstallments())
+                .extracting(DueInstallment::getDueDate)
+                .containsExactly(FIRST_DUE.plusMonths(1));
+        assertThat(service.getPendingTimerCount()).isZero();
+    }
+
+    private static LoanCreatedEvent loanCreated(Long loanId, Long customerId, int count) {
+        List<LoanCreatedEvent.ScheduledInstallment> installments = Stream.iterate(0, i -> i + 1)
+                .limit(count)
+                .map(i -> new LoanCreatedEvent.ScheduledInstallment(null, new BigDecimal("100.00"),
+                        FIRST_DUE.plusMonths(i)))
+                .toList();
+        return new LoanCreatedEvent(loanId, customerId, new BigDecimal("300.00"), TODAY, installments,
+                new BigDecimal("10000.00"), new BigDecimal("300.00"));
+    }
+
+    private static LoanInstallmentRepository.OpenInstallmentRow row(Long loanId, LocalDate dueDate, boolean isPaid) {
+        BigDecimal amount = new BigDecimal("100.00");
+        return new LoanInstallmentRepository.OpenInstallmentRow() {
+            public Long getLoanId() { return loanId; }
+            public Long getCustomerId() { return 3L; }
+            public BigDecimal getAmount() { return amount; }
+            public BigDecimal getPaidAmount() { return isPaid ? amount : BigDecimal.ZERO; }
+            public LocalDate getDueDate() { return dueDate; }
+            public Boolean getPaid() { return isPaid; }
+        };
+    }
+}
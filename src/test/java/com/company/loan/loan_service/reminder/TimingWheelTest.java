@@ -0,0 +1,87 @@
+package com.company.loan.loan_service.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void advanceTo_TimersAcrossLevels_ShouldFireEachOnItsTickInOneBatch() {
+        // Given - ticks in level 0, level 1 and level 2 range, two timers sharing a tick
+        TimingWheel<String> wheel = new TimingWheel<>(20_000);
+        wheel.schedule(1, 20_005, "a");
+        wheel.schedule(2, 20_005, "b");
+        wheel.schedule(3, 20_300, "c");
+        wheel.schedule(4, 25_000, "d");
+        List<Long> firedTicks = new ArrayList<>();
+        List<List<String>> batches = new ArrayList<>();
+
+        // When
+        wheel.advanceTo(26_000, batch -> {
+            firedTicks.add(wheel.getCurrentTick());
+            batches.add(batch);
+        });
+
+        // Then
+        assertThat(firedTicks).containsExactly(20_005L, 20_300L, 25_000L);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder("a", "b");
+        assertThat(batches.get(1)).containsExactly("c");
+        assertThat(batches.get(2)).containsExactly("d");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancel_ScheduledTimer_ShouldNotFire() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        wheel.schedule(1, 110, "kept");
+        wheel.schedule(2, 110, "cancelled");
+        wheel.schedule(3, 5_000, "cancelled-far");
+
+        // When
+        boolean cancelled = wheel.cancel(2);
+        wheel.cancel(3);
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(6_000, fired::addAll);
+
+        // Then
+        assertThat(cancelled).isTrue();
+        assertThat(wheel.cancel(2)).isFalse();
+        assertThat(fired).containsExactly("kept");
+    }
+
+    @Test
+    void schedule_SameKey_ShouldReplaceTimer() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        wheel.schedule(7, 10, "first");
+
+        // When
+        wheel.schedule(7, 70, "second");
+        List<Long> firedTicks = new ArrayList<>();
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(100, batch -> {
+            firedTicks.add(wheel.getCurrentTick());
+            fired.addAll(batch);
+        });
+
+        // Then
+        assertThat(fired).containsExactly("second");
+        assertThat(firedTicks).containsExactly(70L);
+    }
+
+    @Test
+    void schedule_PastTick_ShouldBeIgnored() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(50);
+
+        // When & Then
+        assertThat(wheel.schedule(1, 50, "now")).isFalse();
+        assertThat(wheel.schedule(2, 10, "past")).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.loan.loan_service.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_AddedValues_ShouldNeverReturnFalseNegative() {
+        // Given
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        List<String> tokenIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String tokenId = UUID.randomUUID().toString();
+            tokenIds.add(tokenId);
+            filter.put(tokenId);
+        }
+
+        // When & Then
+        assertThat(tokenIds).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void mightContain_UnknownValues_ShouldStayNearConfiguredFalsePositiveRate() {
+        // Given
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Then - 1% expected, allow generous headroom to keep the test stable
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void mightContain_EmptyFilter_ShouldReturnFalse() {
+        // Given
+        BloomFilter filter = BloomFilter.create(100, 0.001);
+
+        // When & Then
+        assertThat(filter.mightContain(UUID.randomUUID().toString())).isFalse();
+    }
+
+    @Test
+    void create_InvalidProbability_ShouldThrowException() {
+        assertThatThrownBy(() -> BloomFilter.create(100, 1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
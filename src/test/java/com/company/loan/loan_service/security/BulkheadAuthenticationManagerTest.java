@@ -0,0 +1,123 @@
+package com.company.loan.loan_service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BulkheadAuthenticationManagerTest {
+
+    private AuthenticationManager delegate;
+    private PasswordVerificationBulkhead bulkhead;
+    private LoginAttemptThrottle throttle;
+    private BulkheadAuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        delegate = mock(AuthenticationManager.class);
+        bulkhead = new PasswordVerificationBulkhead(1, 1, 5000, meterRegistry);
+        throttle = new LoginAttemptThrottle(3, 300, 100, meterRegistry);
+        authenticationManager = new BulkheadAuthenticationManager(delegate, bulkhead, throttle);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkhead.destroy();
+    }
+
+    @Test
+    void authenticate_ValidCredentials_ShouldReturnDelegateResult() {
+        // Given
+        Authentication request = new UsernamePasswordAuthenticationToken("admin", "admin123");
+        Authentication authenticated = new UsernamePasswordAuthenticationToken("admin", null, List.of());
+        when(delegate.authenticate(request)).thenReturn(authenticated);
+
+        // When
+        Authentication result = authenticationManager.authenticate(request);
+
+        // Then
+        assertThat(result).isSameAs(authenticated);
+    }
+
+    @Test
+    void authenticate_TooManyFailures_ShouldShortCircuitBeforeVerification() {
+        // Given
+        Authentication request = new UsernamePasswordAuthenticationToken("admin", "wrong");
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> authenticationManager.authenticate(request))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> authenticationManager.authenticate(request))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThat(throttle.getRetryAfterSeconds("admin")).isPositive();
+        verify(delegate, times(3)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_SuccessfulLogin_ShouldResetFailures() {
+        // Given
+        Authentication request = new UsernamePasswordAuthenticationToken("admin", "admin123");
+        when(delegate.authenticate(any()))
+                .thenThrow(new BadCredentialsException("Bad credentials"))
+                .thenThrow(new BadCredentialsException("Bad credentials"))
+                .thenReturn(request)
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // When
+        catchThrowable(() -> authenticationManager.authenticate(request));
+        catchThrowable(() -> authenticationManager.authenticate(request));
+        authenticationManager.authenticate(request);
+        catchThrowable(() -> authenticationManager.authenticate(request));
+
+        // Then
+        assertThat(throttle.isBlocked("admin")).isFalse();
+    }
+
+    @Test
+    void authenticate_QueueFull_ShouldRejectImmediately() throws Exception {
+        // Given - one verification running and one queued
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken("user1", "pw")));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            callers.submit(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken("user2", "pw")));
+            Thread.sleep(100);
+
+            // When & Then
+            assertThatThrownBy(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken("user3", "pw")))
+                    .isInstanceOf(AuthenticationCapacityExceededException.class);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+}
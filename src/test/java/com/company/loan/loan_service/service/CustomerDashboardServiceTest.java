@@ -0,0 +1,155 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.CustomerDashboardResponse;
+import com.company.loan.loan_service.dto.InstallmentStatus;
+import com.company.loan.loan_service.dto.LoanInstallmentResponse;
+import com.company.loan.loan_service.dto.LoanResponse;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.exception.CustomerNotFoundException;
+import com.company.loan.loan_service.exception.DashboardUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomerDashboardServiceTest {
+
+    private ReadCoalescer readCoalescer;
+    private LoanService loanService;
+    private CustomerDashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        readCoalescer = mock(ReadCoalescer.class);
+        loanService = mock(LoanService.class);
+        dashboardService = new CustomerDashboardService(readCoalescer, loanService, new SimpleMeterRegistry(),
+                4, 8, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.destroy();
+    }
+
+    @Test
+    void getDashboard_ReadsRunConcurrently_ShouldFinishWithinOneReadTime() {
+        // Given
+        // Each read waits until all three have started, which only completes if they run at the same time
+        CountDownLatch started = new CountDownLatch(3);
+        Customer customer = Customer.builder().id(1L).creditLimit(new BigDecimal("1000.00")).build();
+        when(readCoalescer.getCustomerById(1L)).thenAnswer(invocation -> awaitOthers(started, customer));
+        when(readCoalescer.getCustomerLoans(1L, null, null)).thenAnswer(invocation -> awaitOthers(started, List.of(
+                LoanResponse.builder().id(10L).isPaid(false).build(),
+                LoanResponse.builder().id(11L).isPaid(true).build())));
+        when(loanService.getUnpaidInstallments(1L)).thenAnswer(invocation -> awaitOthers(started, List.of(
+                installment(10L, "2024-01-01", "50.00", InstallmentStatus.OVERDUE),
+                installment(10L, "2099-02-01", "100.00", InstallmentStatus.UNPAID))));
+
+        // When
+        CustomerDashboardResponse dashboard = dashboardService.getDashboard(1L);
+
+        // Then
+        assertThat(dashboard.getCustomer()).isSameAs(customer);
+        assertThat(dashboard.getLoans()).hasSize(2);
+        assertThat(dashboard.getNextDueInstallment().getDueDate()).isEqualTo(LocalDate.parse("2024-01-01"));
+        assertThat(dashboard.getOutstandingAmount()).isEqualByComparingTo("150.00");
+        assertThat(dashboard.getUnpaidInstallmentCount()).isEqualTo(2);
+        assertThat(dashboard.getOverdueInstallmentCount()).isEqualTo(1);
+        assertThat(dashboard.getActiveLoanCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getDashboard_ReadMissesDeadline_ShouldRejectWithServiceUnavailable() {
+        // Given
+        CountDownLatch never = new CountDownLatch(2);
+        when(readCoalescer.getCustomerById(1L)).thenReturn(Customer.builder().id(1L).build());
+        when(readCoalescer.getCustomerLoans(1L, null, null)).thenAnswer(invocation -> awaitOthers(never, List.of()));
+        when(loanService.getUnpaidInstallments(1L)).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> dashboardService.getDashboard(1L))
+                .isInstanceOf(DashboardUnavailableException.class)
+                .hasMessageContaining("in time");
+    }
+
+    @Test
+    void getDashboard_ReadMissesDeadline_ShouldLetRunningReadFinishUninterrupted() throws InterruptedException {
+        // Given
+        // A coalesced read may be a single-flight leader whose result other requests are waiting for
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(readCoalescer.getCustomerById(1L)).thenReturn(Customer.builder().id(1L).build());
+        when(readCoalescer.getCustomerLoans(1L, null, null)).thenAnswer(invocation -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            finished.countDown();
+            return List.of();
+        });
+        when(loanService.getUnpaidInstallments(1L)).thenReturn(List.of());
+        assertThatThrownBy(() -> dashboardService.getDashboard(1L)).isInstanceOf(DashboardUnavailableException.class);
+
+        // When
+        release.countDown();
+
+        // Then
+        assertThat(finished.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted).isFalse();
+    }
+
+    @Test
+    void getDashboard_UnknownCustomer_ShouldRethrowNotFound() {
+        // Given
+        when(readCoalescer.getCustomerById(1L)).thenThrow(new CustomerNotFoundException(1L));
+        when(readCoalescer.getCustomerLoans(1L, null, null)).thenThrow(new CustomerNotFoundException(1L));
+        when(loanService.getUnpaidInstallments(1L)).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> dashboardService.getDashboard(1L)).isInstanceOf(CustomerNotFoundException.class);
+    }
+
+    @Test
+    void assemble_NoUnpaidInstallments_ShouldLeaveNextDueEmpty() {
+        // When
+        CustomerDashboardResponse dashboard = CustomerDashboardService.assemble(
+                Customer.builder().id(1L).build(), List.of(LoanResponse.builder().id(10L).isPaid(true).build()), List.of());
+
+        // Then
+        assertThat(dashboard.getNextDueInstallment()).isNull();
+        assertThat(dashboard.getOutstandingAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(dashboard.getUnpaidInstallmentCount()).isZero();
+        assertThat(dashboard.getActiveLoanCount()).isZero();
+    }
+
+    private static <T> T awaitOthers(CountDownLatch started, T result) throws InterruptedException {
+        started.countDown();
+        if (!started.await(1, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Reads did not run concurrently");
+        }
+        return result;
+    }
+
+    private static LoanInstallmentResponse installment(long loanId, String dueDate, String remaining,
+                                                       InstallmentStatus status) {
+        return LoanInstallmentResponse.builder()
+                .loanId(loanId)
+                .dueDate(LocalDate.parse(dueDate))
+                .remainingAmount(new BigDecimal(remaining))
+                .isPaid(false)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.entity.Loan;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.InstallmentPartitionRepository;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties =
+        "installment-partitions.ddl-template=CREATE TABLE IF NOT EXISTS loan_installments_p{month} (id BIGINT)")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional
+class InstallmentPartitionServiceIntegrationTest {
+    
+    @Autowired
+    private InstallmentPartitionService partitionService;
+    
+    @Autowired
+    private InstallmentPartitionRepository partitionRepository;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private LoanRepository loanRepository;
+    
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void ensurePartitions_FutureMonths_ShouldCreateMissingPartitionsOnce() {
+        // Given
+        YearMonth from = YearMonth.of(2031, 11);
+        
+        // When
+        int created = partitionService.ensurePartitions(from, 3);
+        int createdAgain = partitionService.ensurePartitions(from, 4);
+        
+        // Then
+        assertThat(created).isEqualTo(4);
+        assertThat(createdAgain).isEqualTo(1);
+        assertThat(partitionRepository.findById(203201)).hasValueSatisfying(partition -> {
+            assertThat(partition.getRangeStart()).isEqualTo(LocalDate.of(2032, 1, 1));
+            assertThat(partition.getRangeEnd()).isEqualTo(LocalDate.of(2032, 2, 1));
+        });
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME LIKE 'LOAN_INSTALLMENTS_P2032%'",
+                Integer.class)).isEqualTo(3);
+    }
+    
+    @Test
+    void findUnpaidInstallmentsWithinPaymentWindow_DueMonthKey_ShouldReturnOnlyInstallmentsInWindow() {
+        // Given - a 6 month loan due from March 2030, first installment paid
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("Partition")
+                .surname("Customer")
+                .creditLimit(new BigDecimal("10000.00"))
+                .usedCreditLimit(new BigDecimal("600.00"))
+                .build());
+        Loan loan = loanRepository.save(Loan.builder()
+                .customer(customer)
+                .loanAmount(new BigDecimal("600.00"))
+                .numberOfInstallment(6)
+                .createDate(LocalDate.of(2030, 2, 10))
+                .interestRate(new BigDecimal("0.2"))
+                .build());
+        List<LoanInstallment> installments = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setLoan(loan);
+            installment.setAmount(new BigDecimal("100.00"));
+            installment.setPaidAmount(i == 0 ? new BigDecimal("100.00") : BigDecimal.ZERO);
+            installment.setDueDate(LocalDate.of(2030, 3, 1).plusMonths(i));
+            installment.setIsPaid(i == 0);
+            installments.add(installment);
+        }
+        installmentRepository.saveAll(installments);
+        
+        // When
+        List<LoanInstallment> payable = installmentRepository.findUnpaidInstallmentsWithinPaymentWindow(
+                loan.getId(), LocalDate.of(2030, 6, 1));
+        
+        // Then
+        assertThat(installments).extracting(LoanInstallment::getDueMonth)
+                .containsExactly(203003, 203004, 203005, 203006, 203007, 203008);
+        assertThat(payable).extracting(LoanInstallment::getDueDate)
+                .containsExactly(LocalDate.of(2030, 4, 1), LocalDate.of(2030, 5, 1), LocalDate.of(2030, 6, 1));
+    }
+}
@@ -0,0 +1,219 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.LoanInstallmentResponse;
+import com.company.loan.loan_service.exception.LoanNotFoundException;
+import com.company.loan.loan_service.repository.ArchivedLoanRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import com.company.loan.loan_service.web.ResponseFormat;
+import com.company.loan.loan_service.web.ResponseMappers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InstallmentScheduleResponseCacheTest {
+
+    private static final Long LOAN_ID = 5L;
+
+    private ReadCoalescer readCoalescer;
+    private LoanService loanService;
+    private LoanRepository loanRepository;
+    private ArchivedLoanRepository archivedLoanRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private InstallmentScheduleResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        readCoalescer = mock(ReadCoalescer.class);
+        loanService = mock(LoanService.class);
+        loanRepository = mock(LoanRepository.class);
+        archivedLoanRepository = mock(ArchivedLoanRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = newCache(readCoalescer);
+        when(readCoalescer.getLoanInstallments(eq(LOAN_ID), anyString())).thenReturn(installments(false));
+    }
+
+    @Test
+    void getTag_OpenLoan_ShouldChangeWithVersionAndDay() {
+        // Given
+        givenScheduleVersion(false, 3L);
+
+        // When
+        InstallmentScheduleResponseCache.ScheduleTag tag = cache.getTag(LOAN_ID, ResponseFormat.JSON);
+
+        // Then
+        assertThat(tag.getETag()).isEqualTo(LOAN_ID + "-3-" + LocalDate.now().toEpochDay());
+        assertThat(tag.isImmutable()).isFalse();
+    }
+
+    @Test
+    void getBody_PaidLoan_ShouldSerializeOnceWhileTagMatches() {
+        // Given
+        givenScheduleVersion(true, 4L);
+        InstallmentScheduleResponseCache.ScheduleTag tag = cache.getTag(LOAN_ID, ResponseFormat.JSON);
+
+        // When
+        byte[] first = cache.getBody(LOAN_ID, tag);
+        byte[] second = cache.getBody(LOAN_ID, cache.getTag(LOAN_ID, ResponseFormat.JSON));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(readCoalescer, times(1)).getLoanInstallments(LOAN_ID, LOAN_ID + "-4");
+        assertThat(meterRegistry.get("installment-schedule.cache.hits").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getBody_OpenLoan_ShouldNotCache() {
+        // Given
+        givenScheduleVersion(false, 1L);
+        InstallmentScheduleResponseCache.ScheduleTag tag = cache.getTag(LOAN_ID, ResponseFormat.JSON);
+
+        // When
+        cache.getBody(LOAN_ID, tag);
+        cache.getBody(LOAN_ID, tag);
+
+        // Then
+        verify(readCoalescer, times(2)).getLoanInstallments(eq(LOAN_ID), anyString());
+    }
+
+    @Test
+    void getTag_UnknownLoan_ShouldThrow() {
+        // Given
+        when(loanRepository.findScheduleVersion(LOAN_ID)).thenReturn(Optional.empty());
+        when(archivedLoanRepository.existsById(LOAN_ID)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> cache.getTag(LOAN_ID, ResponseFormat.JSON)).isInstanceOf(LoanNotFoundException.class);
+    }
+
+    @Test
+    void getBody_OtherFormat_ShouldUseSeparateTagAndEntry() {
+        // Given
+        givenScheduleVersion(true, 2L);
+        InstallmentScheduleResponseCache.ScheduleTag jsonTag = cache.getTag(LOAN_ID, ResponseFormat.JSON);
+        InstallmentScheduleResponseCache.ScheduleTag cborTag = cache.getTag(LOAN_ID, ResponseFormat.CBOR);
+
+        // When
+        byte[] json = cache.getBody(LOAN_ID, jsonTag);
+        byte[] cbor = cache.getBody(LOAN_ID, cborTag);
+
+        // Then
+        assertThat(cborTag.getETag()).isEqualTo(jsonTag.getETag() + "-cbor");
+        assertThat(cbor).isNotEqualTo(json);
+        assertThat(cbor.length).isLessThan(json.length);
+        verify(readCoalescer, times(2)).getLoanInstallments(LOAN_ID, LOAN_ID + "-2");
+    }
+
+    @Test
+    void getBody_PaymentWhileCoalescedReadInFlight_ShouldNotShareOlderScheduleUnderNewTag() throws Exception {
+        // Given
+        InstallmentScheduleResponseCache coalescingCache = newCache(new ReadCoalescer(loanService,
+                mock(CustomerService.class), meterRegistry, true, 100));
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch finishRead = new CountDownLatch(1);
+        givenFirstReadBlockedUntil(readStarted, finishRead);
+        givenScheduleVersion(false, 1L);
+        InstallmentScheduleResponseCache.ScheduleTag oldTag = coalescingCache.getTag(LOAN_ID, ResponseFormat.JSON);
+        CompletableFuture<byte[]> oldRead = CompletableFuture.supplyAsync(
+                () -> coalescingCache.getBody(LOAN_ID, oldTag));
+        assertThat(readStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        // A payment that leaves the loan open commits while the first read is still running
+        givenScheduleVersion(false, 2L);
+        InstallmentScheduleResponseCache.ScheduleTag newTag = coalescingCache.getTag(LOAN_ID, ResponseFormat.JSON);
+        CompletableFuture<byte[]> newRead = CompletableFuture.supplyAsync(
+                () -> coalescingCache.getBody(LOAN_ID, newTag));
+        byte[] newBody;
+        try {
+            newBody = newRead.get(5, TimeUnit.SECONDS);
+        } finally {
+            finishRead.countDown();
+        }
+
+        // Then
+        assertThat(newTag.getETag()).isNotEqualTo(oldTag.getETag());
+        assertThat(new String(oldRead.get(5, TimeUnit.SECONDS))).contains("\"isPaid\":false");
+        assertThat(new String(newBody)).contains("\"isPaid\":true");
+        verify(loanService, times(2)).getLoanInstallments(LOAN_ID);
+    }
+
+    @Test
+    void getBody_LoanPaidOffWhileCoalescedReadInFlight_ShouldCachePaidSchedule() throws Exception {
+        // Given
+        InstallmentScheduleResponseCache coalescingCache = newCache(new ReadCoalescer(loanService,
+                mock(CustomerService.class), meterRegistry, true, 100));
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch finishRead = new CountDownLatch(1);
+        givenFirstReadBlockedUntil(readStarted, finishRead);
+        givenScheduleVersion(false, 1L);
+        InstallmentScheduleResponseCache.ScheduleTag openTag = coalescingCache.getTag(LOAN_ID, ResponseFormat.JSON);
+        CompletableFuture<byte[]> openRead = CompletableFuture.supplyAsync(
+                () -> coalescingCache.getBody(LOAN_ID, openTag));
+        assertThat(readStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        givenScheduleVersion(true, 2L);
+        InstallmentScheduleResponseCache.ScheduleTag paidTag = coalescingCache.getTag(LOAN_ID, ResponseFormat.JSON);
+        CompletableFuture<byte[]> paidRead = CompletableFuture.supplyAsync(
+                () -> coalescingCache.getBody(LOAN_ID, paidTag));
+        byte[] paidBody;
+        try {
+            paidBody = paidRead.get(5, TimeUnit.SECONDS);
+        } finally {
+            finishRead.countDown();
+        }
+
+        // Then
+        assertThat(new String(openRead.get(5, TimeUnit.SECONDS))).contains("\"isPaid\":false");
+        assertThat(new String(paidBody)).contains("\"isPaid\":true");
+        assertThat(coalescingCache.getBody(LOAN_ID, paidTag)).isSameAs(paidBody);
+    }
+
+    private InstallmentScheduleResponseCache newCache(ReadCoalescer coalescer) {
+        ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new InstallmentScheduleResponseCache(coalescer, loanRepository, archivedLoanRepository,
+                new ResponseMappers(json, new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule()), json),
+                meterRegistry, 100);
+    }
+
+    // The first read returns the schedule before the payment, every later one the schedule after it
+    private void givenFirstReadBlockedUntil(CountDownLatch readStarted, CountDownLatch finishRead) {
+        when(loanService.getLoanInstallments(LOAN_ID))
+                .thenAnswer(invocation -> {
+                    readStarted.countDown();
+                    finishRead.await();
+                    return installments(false);
+                })
+                .thenReturn(installments(true));
+    }
+
+    private static List<LoanInstallmentResponse> installments(boolean paid) {
+        return List.of(LoanInstallmentResponse.builder()
+                .id(1L)
+                .loanId(LOAN_ID)
+                .amount(new BigDecimal("100.00"))
+                .isPaid(paid)
+                .build());
+    }
+
+    private void givenScheduleVersion(boolean paid, Long version) {
+        LoanRepository.ScheduleVersionRow row = mock(LoanRepository.ScheduleVersionRow.class);
+        when(row.getIsPaid()).thenReturn(paid);
+        when(row.getScheduleVersion()).thenReturn(version);
+        when(loanRepository.findScheduleVersion(LOAN_ID)).thenReturn(Optional.of(row));
+    }
+}
@@ -0,0 +1,152 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.LoanInstallmentResponse;
+import com.company.loan.loan_service.dto.LoanResponse;
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.entity.Loan;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.exception.PaymentException;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional
+class LoanArchivalServiceIntegrationTest {
+    
+    @Autowired
+    private LoanArchivalService loanArchivalService;
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private LoanRepository loanRepository;
+    
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private Customer testCustomer;
+    
+    @BeforeEach
+    void setUp() {
+        testCustomer = customerRepository.save(Customer.builder()
+                .name("Archived")
+                .surname("Customer")
+                .creditLimit(new BigDecimal("50000.00"))
+                .usedCreditLimit(BigDecimal.ZERO)
+                .build());
+    }
+    
+    @Test
+    void archivePaidLoans_PastRetention_ShouldMoveOnlyOldPaidLoans() {
+        // Given
+        LocalDate today = LocalDate.now();
+        Long oldLoanId = createPaidLoan(today.minusDays(400));
+        Long recentLoanId = createPaidLoan(today.minusDays(10));
+        flushAndClear();
+        
+        // When
+        int archived = loanArchivalService.archivePaidLoans(today.minusDays(365));
+        flushAndClear();
+        
+        // Then
+        assertThat(archived).isEqualTo(1);
+        assertThat(loanRepository.findById(oldLoanId)).isEmpty();
+        assertThat(installmentRepository.findByLoanId(oldLoanId)).isEmpty();
+        assertThat(loanRepository.findById(recentLoanId)).isPresent();
+        
+        assertThat(loanService.getCustomerLoans(testCustomer.getId(), null, null))
+                .extracting(LoanResponse::getId)
+                .containsExactly(recentLoanId);
+        List<LoanResponse> paidLoans = loanService.getCustomerLoans(testCustomer.getId(), true, null);
+        assertThat(paidLoans)
+                .extracting(LoanResponse::getId)
+                .containsExactlyInAnyOrder(oldLoanId, recentLoanId);
+        assertThat(paidLoans).allSatisfy(loan -> {
+            assertThat(loan.getIsPaid()).isTrue();
+            assertThat(loan.getCustomerName()).isEqualTo("Archived Customer");
+        });
+    }
+    
+    @Test
+    void archivedLoan_ReadByIdAndPaid_ShouldBeServedFromArchive() {
+        // Given
+        Long loanId = createPaidLoan(LocalDate.now().minusDays(400));
+        loanArchivalService.archivePaidLoans(LocalDate.now().minusDays(365));
+        flushAndClear();
+        
+        // When
+        List<LoanInstallmentResponse> installments = loanService.getLoanInstallments(loanId);
+        
+        // Then
+        assertThat(installments).hasSize(6);
+        assertThat(installments).allSatisfy(installment -> {
+            assertThat(installment.getIsPaid()).isTrue();
+            assertThat(installment.getLoanId()).isEqualTo(loanId);
+            assertThat(installment.getId()).isNotNull();
+        });
+        assertThat(loanService.isLoanOwnedByCustomer(loanId, testCustomer.getId())).isTrue();
+        assertThatThrownBy(() -> loanService.processPayment(loanId,
+                new PaymentRequest(new BigDecimal("100.00"), LocalDate.now())))
+                .isInstanceOf(PaymentException.class)
+                .hasMessageContaining("already");
+    }
+    
+    private Long createPaidLoan(LocalDate paidDate) {
+        LocalDate createDate = paidDate.minusMonths(6);
+        Loan loan = loanRepository.save(Loan.builder()
+                .customer(testCustomer)
+                .loanAmount(new BigDecimal("1200.00"))
+                .numberOfInstallment(6)
+                .createDate(createDate)
+                .interestRate(new BigDecimal("0.2"))
+                .isPaid(true)
+                .paidDate(paidDate)
+                .build());
+        
+        List<LoanInstallment> installments = new ArrayList<>();
+        LocalDate dueDate = createDate.plusMonths(1).withDayOfMonth(1);
+        for (int i = 0; i < 6; i++) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setLoan(loan);
+            installment.setAmount(new BigDecimal("200.00"));
+            installment.setPaidAmount(new BigDecimal("200.00"));
+            installment.setDueDate(dueDate.plusMonths(i));
+            installment.setPaymentDate(dueDate.plusMonths(i));
+            installment.setIsPaid(true);
+            installments.add(installment);
+        }
+        installmentRepository.saveAll(installments);
+        return loan.getId();
+    }
+    
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.CreateLoanRequest;
+import com.company.loan.loan_service.dto.LoanBalanceResponse;
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.entity.LoanSnapshot;
+import com.company.loan.loan_service.exception.LoanHistoryUnavailableException;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.LoanSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "loan.history.snapshot-every=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional
+class LoanHistoryServiceIntegrationTest {
+
+    @Autowired
+    private LoanHistoryService loanHistoryService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanSnapshotRepository snapshotRepository;
+
+    private Long loanId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("History")
+                .surname("Customer")
+                .creditLimit(new BigDecimal("50000.00"))
+                .usedCreditLimit(BigDecimal.ZERO)
+                .build());
+        loanId = loanService.createLoan(new CreateLoanRequest(
+                customer.getId(), new BigDecimal("1000.00"), "6", new BigDecimal("0.1"))).getId();
+    }
+
+    @Test
+    void getBalanceAsOf_NewLoan_ShouldReportFullOutstandingAmount() {
+        // When
+        LoanBalanceResponse balance = loanHistoryService.getBalanceAsOf(loanId, LocalDate.now());
+
+        // Then
+        assertThat(balance.getTotalAmount()).isEqualByComparingTo("1100.00");
+        assertThat(balance.getOutstandingAmount()).isEqualByComparingTo("1100.00");
+        assertThat(balance.getInstallmentCount()).isEqualTo(6);
+        assertThat(balance.getPaidInstallmentCount()).isZero();
+        assertThat(balance.getEventVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void getBalanceAsOf_DateBeforeLoanCreation_ShouldThrowHistoryUnavailable() {
+        // When & Then
+        assertThatThrownBy(() -> loanHistoryService.getBalanceAsOf(loanId, LocalDate.now().minusDays(1)))
+                .isInstanceOf(LoanHistoryUnavailableException.class);
+    }
+
+    @Test
+    void getBalanceAsOf_AfterPayment_ShouldStartFromSnapshot() {
+        // Given
+        loanService.processPayment(loanId, new PaymentRequest(new BigDecimal("400.00"), LocalDate.now()));
+
+        // When
+        LoanBalanceResponse balance = loanHistoryService.getBalanceAsOf(loanId, LocalDate.now());
+
+        // Then
+        LoanSnapshot snapshot = snapshotRepository
+                .findFirstByLoanIdAndAsOfLessThanEqualOrderByVersionDesc(loanId, LocalDate.now())
+                .orElseThrow();
+        assertThat(snapshot.getVersion()).isEqualTo(3);
+        assertThat(balance.getPaidInstallmentCount()).isEqualTo(2);
+        assertThat(balance.getPaidAmount()).isEqualByComparingTo("366.66");
+        assertThat(balance.getOutstandingAmount()).isEqualByComparingTo("733.34");
+        assertThat(balance.getIsClosed()).isFalse();
+        assertThat(balance.getEventVersion()).isEqualTo(3);
+        assertThat(balance.getReplayedEvents()).isZero();
+    }
+}
@@ -11,6 +11,8 @@ import com.company.loan.loan_service.exception.CustomerNotFoundException;
 import com.company.loan.loan_service.exception.InsufficientCreditException;
 import com.company.loan.loan_service.exception.InvalidInstallmentCountException;
 import com.company.loan.loan_service.exception.LoanNotFoundException;
+import com.company.loan.loan_service.repository.ArchivedLoanInstallmentRepository;
+import com.company.loan.loan_service.repository.ArchivedLoanRepository;
 import com.company.loan.loan_service.repository.CustomerRepository;
 import com.company.loan.loan_service.repository.LoanInstallmentRepository;
 import com.company.loan.loan_service.repository.LoanRepository;
@@ -20,6 +22,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -43,6 +47,15 @@ class LoanServiceTest {
     @Mock
     private LoanInstallmentRepository installmentRepository;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private ArchivedLoanRepository archivedLoanRepository;
+    
+    @Mock
+    private ArchivedLoanInstallmentRepository archivedInstallmentRepository;
+    
     @InjectMocks
     private LoanService loanService;
     
@@ -97,6 +110,28 @@ class LoanServiceTest {
         assertThat(testCustomer.getUsedCreditLimit()).isEqualByComparingTo(new BigDecimal("12000.00"));
     }
     
+    @Test
+    void createLoan_CompactScheduleEnabled_ShouldEncodeScheduleInsteadOfInstallmentRows() {
+        // Given
+        ReflectionTestUtils.setField(loanService, "compactScheduleEnabled", true);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> {
+            Loan loan = invocation.getArgument(0);
+            loan.setId(1L);
+            return loan;
+        });
+        
+        // When
+        LoanResponse response = loanService.createLoan(validLoanRequest);
+        
+        // Then
+        assertThat(response.getInstallments()).hasSize(12);
+        assertThat(response.getInstallments().get(0).getAmount()).isEqualByComparingTo(new BigDecimal("1000.00"));
+        assertThat(response.getInstallments().get(0).getLoanId()).isEqualTo(1L);
+        verify(loanRepository).save(argThat(Loan::hasEncodedSchedule));
+        verify(installmentRepository, never()).saveAll(anyList());
+    }
+    
     @Test
     void createLoan_CustomerNotFound_ShouldThrowException() {
         // Given
@@ -158,7 +193,7 @@ class LoanServiceTest {
         paymentRequest.setPaymentAmount(new BigDecimal("1005.00")); // Includes penalty
         paymentRequest.setPaymentDate(LocalDate.now());
         
-        when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
+        when(loanRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(loan));
         when(installmentRepository.findUnpaidInstallmentsWithinPaymentWindow(eq(1L), any(LocalDate.class)))
                 .thenReturn(unpaidInstallments);
         when(installmentRepository.countUnpaidInstallmentsForLoan(1L)).thenReturn(0L);
@@ -170,6 +205,7 @@ class LoanServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getInstallmentsPaidCount()).isEqualTo(1);
         assertThat(response.getIsLoanComplete()).isTrue();
+        assertThat(loan.getPaidDate()).isEqualTo(paymentRequest.getPaymentDate());
         verify(installmentRepository).save(installment1);
         verify(loanRepository).save(loan);
     }
@@ -181,7 +217,7 @@ class LoanServiceTest {
         paymentRequest.setPaymentAmount(new BigDecimal("1000.00"));
         paymentRequest.setPaymentDate(LocalDate.now());
         
-        when(loanRepository.findById(1L)).thenReturn(Optional.empty());
+        when(loanRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
         
         // When & Then
         assertThatThrownBy(() -> loanService.processPayment(1L, paymentRequest))
@@ -217,7 +253,7 @@ class LoanServiceTest {
                .build();
 
         
-        when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
+        when(loanRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(loan));
         when(installmentRepository.findUnpaidInstallmentsWithinPaymentWindow(eq(1L), any(LocalDate.class)))
                 .thenReturn(List.of(installment));
         when(installmentRepository.countUnpaidInstallmentsForLoan(1L)).thenReturn(0L);
@@ -0,0 +1,74 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.CreateLoanRequest;
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.dto.PaymentResponse;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.exception.LoanNotFoundException;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "payment.group-commit.enabled=true",
+        "payment.group-commit.max-wait-ms=200"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class PaymentGroupCommitIntegrationTest {
+
+    @Autowired
+    private PaymentGroupCommitter paymentGroupCommitter;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Test
+    void submit_BatchWithRejection_ShouldCommitOthersInArrivalOrder() {
+        // Given
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("Batched")
+                .surname("Customer")
+                .creditLimit(new BigDecimal("50000.00"))
+                .usedCreditLimit(BigDecimal.ZERO)
+                .build());
+        Long loanId = loanService.createLoan(new CreateLoanRequest(
+                customer.getId(), new BigDecimal("1000.00"), "6", new BigDecimal("0.1"))).getId();
+        PaymentRequest oneInstallment = new PaymentRequest(new BigDecimal("200.00"), LocalDate.now());
+
+        // When
+        List<CompletableFuture<PaymentResponse>> payments = Stream.of(loanId, loanId, loanId)
+                .map(id -> paymentGroupCommitter.submit(id, oneInstallment))
+                .collect(Collectors.toList());
+        CompletableFuture<PaymentResponse> unknownLoan = paymentGroupCommitter.submit(Long.MAX_VALUE, oneInstallment);
+
+        // Then
+        List<LocalDate> paidDueDates = payments.stream()
+                .map(CompletableFuture::join)
+                .map(response -> response.getPaymentDetails().get(0).getInstallmentId())
+                .map(installmentId -> installmentRepository.findById(installmentId).orElseThrow().getDueDate())
+                .collect(Collectors.toList());
+        assertThat(paidDueDates).isSorted().doesNotHaveDuplicates().hasSize(3);
+        assertThatThrownBy(unknownLoan::join).hasCauseInstanceOf(LoanNotFoundException.class);
+        assertThat(installmentRepository.countUnpaidInstallmentsForLoan(loanId)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,128 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.dto.PaymentResponse;
+import com.company.loan.loan_service.exception.LoanNotFoundException;
+import com.company.loan.loan_service.exception.PaymentIntakeSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PaymentGroupCommitterTest {
+
+    private final PaymentRequest request = new PaymentRequest(new BigDecimal("200.00"), LocalDate.now());
+
+    private LoanService loanService;
+    private PlatformTransactionManager transactionManager;
+    private PaymentGroupCommitter committer;
+
+    @BeforeEach
+    void setUp() {
+        loanService = mock(LoanService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        committer = new PaymentGroupCommitter(loanService, transactionManager, new SimpleMeterRegistry(),
+                false, 8, 5, 16, 1000);
+    }
+
+    @Test
+    void commit_BusinessRejection_ShouldFailOnlyThatPayment() {
+        // Given
+        PaymentResponse accepted = new PaymentResponse();
+        when(loanService.applyPaymentWithinBatch(eq(1L), any())).thenReturn(accepted);
+        when(loanService.applyPaymentWithinBatch(eq(2L), any())).thenThrow(new LoanNotFoundException(2L));
+        List<PaymentGroupCommitter.PendingPayment> batch = List.of(
+                new PaymentGroupCommitter.PendingPayment(1L, request),
+                new PaymentGroupCommitter.PendingPayment(2L, request));
+
+        // When
+        committer.commit(batch);
+
+        // Then
+        assertThat(batch.get(0).getResult()).isCompletedWithValue(accepted);
+        assertThat(batch.get(1).getResult()).isCompletedExceptionally();
+        assertThatThrownBy(() -> batch.get(1).getResult().join()).hasCauseInstanceOf(LoanNotFoundException.class);
+        verify(transactionManager).commit(any());
+        verify(loanService, never()).processPayment(any(), any());
+    }
+
+    @Test
+    void commit_UnexpectedFailure_ShouldRetryEachPaymentInItsOwnTransaction() {
+        // Given
+        PaymentResponse first = new PaymentResponse();
+        when(loanService.applyPaymentWithinBatch(any(), any()))
+                .thenReturn(first)
+                .thenThrow(new DataIntegrityViolationException("constraint"));
+        when(loanService.processPayment(1L, request)).thenReturn(first);
+        when(loanService.processPayment(2L, request)).thenThrow(new DataIntegrityViolationException("constraint"));
+        List<PaymentGroupCommitter.PendingPayment> batch = List.of(
+                new PaymentGroupCommitter.PendingPayment(1L, request),
+                new PaymentGroupCommitter.PendingPayment(2L, request));
+
+        // When
+        committer.commit(batch);
+
+        // Then
+        verify(transactionManager).rollback(any());
+        assertThat(batch.get(0).getResult()).isCompletedWithValue(first);
+        assertThatThrownBy(() -> batch.get(1).getResult().join())
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void commit_ErrorInBatchAndRetry_ShouldFailPaymentsWithoutThrowing() {
+        // Given
+        Error failure = new NoClassDefFoundError("missing");
+        when(loanService.applyPaymentWithinBatch(any(), any())).thenThrow(failure);
+        when(loanService.processPayment(any(), any())).thenThrow(failure);
+        List<PaymentGroupCommitter.PendingPayment> batch = List.of(
+                new PaymentGroupCommitter.PendingPayment(1L, request),
+                new PaymentGroupCommitter.PendingPayment(2L, request));
+
+        // When
+        committer.commit(batch);
+
+        // Then
+        assertThat(batch).allSatisfy(payment -> assertThatThrownBy(() -> payment.getResult().join())
+                .hasCause(failure));
+    }
+
+    @Test
+    void process_BatchNotCommittedInTime_ShouldRejectAsSaturated() throws Exception {
+        // Given - a running committer stuck in its batch
+        CountDownLatch release = new CountDownLatch(1);
+        when(loanService.applyPaymentWithinBatch(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return new PaymentResponse();
+        });
+        PaymentGroupCommitter running = new PaymentGroupCommitter(loanService, transactionManager,
+                new SimpleMeterRegistry(), true, 8, 5, 16, 50);
+
+        try {
+            // When & Then
+            assertThatThrownBy(() -> running.process(1L, request))
+                    .isInstanceOf(PaymentIntakeSaturatedException.class);
+        } finally {
+            release.countDown();
+            running.destroy();
+        }
+    }
+
+    @Test
+    void submit_CommitterNotRunning_ShouldRejectPayment() {
+        // When & Then
+        assertThatThrownBy(() -> committer.submit(1L, request))
+                .isInstanceOf(PaymentIntakeSaturatedException.class);
+    }
+}
@@ -0,0 +1,188 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.dto.CreateLoanRequest;
+import com.company.loan.loan_service.dto.LoanInstallmentResponse;
+import com.company.loan.loan_service.dto.PaymentRequest;
+import com.company.loan.loan_service.dto.PaymentResponse;
+import com.company.loan.loan_service.dto.ScheduleMigrationResponse;
+import com.company.loan.loan_service.entity.Customer;
+import com.company.loan.loan_service.entity.LoanInstallment;
+import com.company.loan.loan_service.repository.CustomerRepository;
+import com.company.loan.loan_service.repository.LoanInstallmentRepository;
+import com.company.loan.loan_service.repository.LoanRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Dual-read compatibility: a loan must read and pay the same whether its schedule is stored as installment rows
+ * or in compact form.
+ * <p>
+ * Runs on its own database: the concurrent test commits, and a cached context's ledger would otherwise still hold
+ * its loan after another context recreates the shared schema and reuses the ID.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:schedule-migration")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional
+class ScheduleMigrationServiceIntegrationTest {
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private ScheduleMigrationService scheduleMigrationService;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private LoanRepository loanRepository;
+    
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private Customer testCustomer;
+    
+    @BeforeEach
+    void setUp() {
+        testCustomer = customerRepository.save(Customer.builder()
+                .name("Compact")
+                .surname("Schedule")
+                .creditLimit(new BigDecimal("50000.00"))
+                .usedCreditLimit(BigDecimal.ZERO)
+                .build());
+    }
+    
+    @Test
+    void migrateToCompact_PartiallyPaidLoan_ShouldReadSameInstallments() {
+        // Given
+        Long loanId = createLoan("1000.00", "6");
+        loanService.processPayment(loanId, new PaymentRequest(new BigDecimal("400.00"), LocalDate.now()));
+        flushAndClear();
+        List<LoanInstallmentResponse> rowInstallments = loanService.getLoanInstallments(loanId);
+        
+        // When
+        ScheduleMigrationResponse result = scheduleMigrationService.migrateToCompact();
+        flushAndClear();
+        
+        // Then
+        assertThat(result.getMigratedLoans()).isPositive();
+        assertThat(result.getDeletedInstallmentRows()).isGreaterThanOrEqualTo(6);
+        assertThat(installmentRepository.findByLoanId(loanId)).isEmpty();
+        assertThat(loanRepository.findById(loanId)).hasValueSatisfying(loan ->
+                assertThat(loan.hasEncodedSchedule()).isTrue());
+        
+        List<LoanInstallmentResponse> compactInstallments = loanService.getLoanInstallments(loanId);
+        assertThat(compactInstallments)
+                .usingRecursiveComparison()
+                .isEqualTo(rowInstallments);
+        assertThat(compactInstallments).filteredOn(LoanInstallmentResponse::getIsPaid).hasSize(2);
+    }
+    
+    @Test
+    void processPayment_CompactAndRowLoans_ShouldProduceSamePayments() {
+        // Given - an identical loan in each representation
+        Long compactLoanId = createLoan("900.00", "9");
+        List<Long> compactInstallmentIds = installmentRepository.findByLoanId(compactLoanId).stream()
+                .sorted(Comparator.comparing(LoanInstallment::getDueDate))
+                .map(LoanInstallment::getId)
+                .collect(Collectors.toList());
+        scheduleMigrationService.migrateToCompact();
+        Long rowLoanId = createLoan("900.00", "9");
+        flushAndClear();
+        
+        // When
+        PaymentRequest payment = new PaymentRequest(new BigDecimal("300.00"), LocalDate.now());
+        PaymentResponse compactPayment = loanService.processPayment(compactLoanId, payment);
+        PaymentResponse rowPayment = loanService.processPayment(rowLoanId, payment);
+        flushAndClear();
+        
+        // Then - the same payment, settled on the installments under the IDs they had as rows
+        List<PaymentResponse.InstallmentPaymentDetail> expectedDetails = rowPayment.getPaymentDetails();
+        for (int i = 0; i < expectedDetails.size(); i++) {
+            expectedDetails.get(i).setInstallmentId(compactInstallmentIds.get(i));
+        }
+        assertThat(compactPayment)
+                .usingRecursiveComparison()
+                .isEqualTo(rowPayment);
+        assertThat(loanService.getLoanInstallments(compactLoanId))
+                .usingRecursiveComparison()
+                .ignoringFields("id", "loanId")
+                .isEqualTo(loanService.getLoanInstallments(rowLoanId));
+        assertThat(installmentRepository.findByLoanId(compactLoanId)).isEmpty();
+    }
+    
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void migrateToCompact_PaymentInFlight_ShouldWaitForPaymentAndKeepIt() throws Exception {
+        // Given - a committed loan on rows
+        Long loanId = createLoan("1000.00", "6");
+        TransactionTemplate paymentTransaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        
+        try {
+            // When - the migration starts while a payment holds the loan and commits afterwards
+            Future<ScheduleMigrationResponse> migration = paymentTransaction.execute(status -> {
+                loanRepository.findByIdForUpdate(loanId).orElseThrow();
+                Future<ScheduleMigrationResponse> started = executor.submit(scheduleMigrationService::migrateToCompact);
+                assertThatThrownBy(() -> started.get(300, TimeUnit.MILLISECONDS))
+                        .isInstanceOf(TimeoutException.class);
+                loanService.processPayment(loanId, new PaymentRequest(new BigDecimal("400.00"), LocalDate.now()));
+                return started;
+            });
+            migration.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        // Then - the loan was encoded after the payment, not from the rows read before it
+        assertThat(installmentRepository.findByLoanId(loanId)).isEmpty();
+        assertThat(loanRepository.findById(loanId)).hasValueSatisfying(loan ->
+                assertThat(loan.hasEncodedSchedule()).isTrue());
+        assertThat(loanService.getLoanInstallments(loanId))
+                .filteredOn(LoanInstallmentResponse::getIsPaid)
+                .hasSize(2);
+    }
+    
+    private Long createLoan(String amount, String numberOfInstallment) {
+        CreateLoanRequest request = new CreateLoanRequest();
+        request.setCustomerId(testCustomer.getId());
+        request.setLoanAmount(new BigDecimal(amount));
+        request.setNumberOfInstallment(numberOfInstallment);
+        request.setInterestRate(new BigDecimal("0.2"));
+        return loanService.createLoan(request).getId();
+    }
+    
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,151 @@
+package com.company.loan.loan_service.service;
+
+import com.company.loan.loan_service.exception.CustomerNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ConcurrentSameKey_ShouldComputeOnceAndShareResult() throws Exception {
+        // Given
+        SingleFlight<Long, List<String>> singleFlight = new SingleFlight<>("test", 100, meterRegistry);
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> result = List.of("loan");
+
+        // When
+        List<Future<List<String>>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                computations.incrementAndGet();
+                await(release);
+                return result;
+            })));
+        }
+        awaitCalls(CALLERS);
+        release.countDown();
+
+        // Then
+        for (Future<List<String>> call : calls) {
+            assertThat(call.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        }
+        assertThat(computations).hasValue(1);
+        assertThat(meterRegistry.get("single-flight.calls").tag("outcome", "coalesced").counter().count())
+                .isEqualTo(CALLERS - 1);
+        assertThat(meterRegistry.get("single-flight.coalescing.ratio").gauge().value())
+                .isEqualTo((CALLERS - 1) / (double) CALLERS);
+        assertThat(meterRegistry.get("single-flight.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void execute_ComputationFails_ShouldRethrowToEveryWaitingCaller() throws Exception {
+        // Given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", 100, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<Future<String>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(executor.submit(() -> singleFlight.execute(7L, () -> {
+                await(release);
+                throw new CustomerNotFoundException(7L);
+            })));
+        }
+        awaitCalls(CALLERS);
+        release.countDown();
+
+        // Then
+        for (Future<String> call : calls) {
+            assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(CustomerNotFoundException.class);
+        }
+    }
+
+    @Test
+    void execute_AfterCompletion_ShouldComputeAgain() {
+        // Given
+        SingleFlight<Long, Integer> singleFlight = new SingleFlight<>("test", 100, meterRegistry);
+        AtomicInteger computations = new AtomicInteger();
+
+        // When
+        singleFlight.execute(1L, computations::incrementAndGet);
+        int second = singleFlight.execute(1L, computations::incrementAndGet);
+
+        // Then
+        assertThat(second).isEqualTo(2);
+    }
+
+    @Test
+    void execute_TooManyKeysInFlight_ShouldBypass() throws Exception {
+        // Given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", 1, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> blocking = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            return "first";
+        }));
+        awaitCalls(1);
+
+        // When
+        String bypassed = singleFlight.execute(2L, () -> "second");
+        release.countDown();
+
+        // Then
+        assertThat(bypassed).isEqualTo("second");
+        assertThat(blocking.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(meterRegistry.get("single-flight.calls").tag("outcome", "bypassed").counter().count()).isEqualTo(1);
+    }
+
+    // Waits until the expected number of callers have been counted, leader and followers alike
+    private void awaitCalls(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (totalCalls() < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("Only " + totalCalls() + " of " + expected + " calls arrived");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private double totalCalls() {
+        return meterRegistry.get("single-flight.calls").counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
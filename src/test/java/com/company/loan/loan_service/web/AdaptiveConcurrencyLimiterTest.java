@@ -0,0 +1,100 @@
+package com.company.loan.loan_service.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void tryAcquire_AtLimit_ShouldRejectAndCount() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 2, 100, 0.5);
+
+        // When
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void release_SlowRequest_ShouldBackOffMultiplicatively() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 20, 100, 0.5);
+        limiter.tryAcquire();
+
+        // When
+        limiter.release(SLOW, false);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void release_FailedRequest_ShouldBackOffButNotBelowMinimum() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 4, 5, 100, 0.5);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void release_FastRequestsUnderLoad_ShouldIncreaseLimitAdditively() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 10, 100, 0.5);
+        limiter.tryAcquire();
+        limiter.release(SLOW, false); // limit drops to 5
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+        }
+
+        // When
+        limiter.release(FAST, false);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void release_FastRequestsWhenUnderutilised_ShouldKeepLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 10, 100, 0.5);
+        limiter.tryAcquire();
+        limiter.release(SLOW, false); // limit drops to 5
+
+        // When
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void constructor_InvalidLimits_ShouldThrowException() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter("test", 0, 10, 100, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter("test", 5, 1, 100, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.loan.loan_service.web;
+
+import com.company.loan.loan_service.dto.CustomerField;
+import com.company.loan.loan_service.dto.LoanField;
+import com.company.loan.loan_service.exception.InvalidFieldSelectionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldSelectionTest {
+
+    @Test
+    void parse_KnownProperties_ShouldReturnFields() {
+        // When
+        Set<LoanField> fields = FieldSelection.parse(" id, loanAmount,,isPaid ", LoanField.class);
+
+        // Then
+        assertThat(fields).containsExactly(LoanField.ID, LoanField.LOAN_AMOUNT, LoanField.IS_PAID);
+    }
+
+    @Test
+    void parse_UnknownProperty_ShouldThrow() {
+        // When & Then
+        assertThatThrownBy(() -> FieldSelection.parse("id,installments", LoanField.class))
+                .isInstanceOf(InvalidFieldSelectionException.class)
+                .hasMessageContaining("installments");
+    }
+
+    @Test
+    void parse_NothingSelected_ShouldThrow() {
+        // When & Then
+        assertThatThrownBy(() -> FieldSelection.parse(" , ", CustomerField.class))
+                .isInstanceOf(InvalidFieldSelectionException.class);
+    }
+
+    @Test
+    void storedFieldsFor_AvailableCreditLimit_ShouldLoadBothLimits() {
+        // When
+        Set<CustomerField> stored = CustomerField.storedFieldsFor(
+                EnumSet.of(CustomerField.ID, CustomerField.AVAILABLE_CREDIT_LIMIT));
+
+        // Then
+        assertThat(stored).containsExactly(CustomerField.ID, CustomerField.CREDIT_LIMIT, CustomerField.USED_CREDIT_LIMIT);
+    }
+}
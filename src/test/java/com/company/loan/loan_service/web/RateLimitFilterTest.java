@@ -0,0 +1,140 @@
+package com.company.loan.loan_service.web;
+
+import com.company.loan.loan_service.exception.ErrorResponseWriter;
+import com.company.loan.loan_service.security.CustomUserDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+    private FilterChain filterChain;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        filter = new RateLimitFilter(new ErrorResponseWriter(objectMapper), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "idleEvictionMs", 300000L);
+        ReflectionTestUtils.setField(filter, "maxBuckets", 100);
+        ReflectionTestUtils.setField(filter, "loanReadCapacity", 2);
+        ReflectionTestUtils.setField(filter, "loanReadRefillPerSecond", 0.01);
+        ReflectionTestUtils.setField(filter, "paymentCapacity", 1);
+        ReflectionTestUtils.setField(filter, "paymentRefillPerSecond", 0.01);
+        ReflectionTestUtils.setField(filter, "defaultCapacity", 10);
+        ReflectionTestUtils.setField(filter, "defaultRefillPerSecond", 1.0);
+        filter.initMetrics();
+        filterChain = mock(FilterChain.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WithinLimit_ShouldPassAndSetHeaders() throws Exception {
+        // Given
+        authenticateAs("customer1", 1L);
+
+        // When
+        MockHttpServletResponse response = perform("GET", "/api/loans/1");
+
+        // Then
+        verify(filterChain).doFilter(any(), any());
+        assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+        assertThat(response.getHeader(RateLimitFilter.RESET_HEADER)).isNotNull();
+    }
+
+    @Test
+    void doFilter_BucketExhausted_ShouldReturnTooManyRequests() throws Exception {
+        // Given
+        authenticateAs("customer1", 1L);
+        perform("GET", "/api/loans/1");
+        perform("GET", "/api/loans/1");
+
+        // When
+        MockHttpServletResponse response = perform("GET", "/api/loans/1");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isNotNull();
+        assertThat(response.getContentAsString()).contains("RATE_LIMIT_EXCEEDED");
+        verify(filterChain, times(2)).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_DifferentCustomersAndGroups_ShouldUseSeparateBuckets() throws Exception {
+        // Given
+        authenticateAs("customer1", 1L);
+        perform("POST", "/api/loans/1/payments");
+
+        // When
+        MockHttpServletResponse otherGroup = perform("GET", "/api/loans/1");
+        authenticateAs("customer2", 2L);
+        MockHttpServletResponse otherCustomer = perform("POST", "/api/loans/2/payments");
+
+        // Then
+        assertThat(otherGroup.getStatus()).isEqualTo(200);
+        assertThat(otherCustomer.getStatus()).isEqualTo(200);
+        assertThat(filter.getBucketCount()).isEqualTo(3);
+    }
+
+    @Test
+    void doFilter_Unauthenticated_ShouldNotRateLimit() throws Exception {
+        // When
+        MockHttpServletResponse response = perform("GET", "/api/loans/1");
+
+        // Then
+        verify(filterChain).doFilter(any(), any());
+        assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+        assertThat(filter.getBucketCount()).isZero();
+    }
+
+    @Test
+    void evictIdleBuckets_FullBuckets_ShouldBeRemoved() throws Exception {
+        // Given
+        authenticateAs("admin", null);
+        perform("GET", "/api/customers");
+        ReflectionTestUtils.setField(filter, "idleEvictionMs", 0L);
+
+        // When
+        Thread.sleep(1100);
+        filter.evictIdleBuckets();
+
+        // Then
+        assertThat(filter.getBucketCount()).isZero();
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private static void authenticateAs(String username, Long customerId) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"));
+        CustomUserDetails userDetails = new CustomUserDetails(username, customerId, authorities);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, authorities));
+    }
+}
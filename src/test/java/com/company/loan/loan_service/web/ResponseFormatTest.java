@@ -0,0 +1,39 @@
+package com.company.loan.loan_service.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseFormatTest {
+
+    @Test
+    void fromAccept_NoHeaderOrWildcard_ShouldReturnJson() {
+        // When & Then
+        assertThat(ResponseFormat.fromAccept(null)).isEqualTo(ResponseFormat.JSON);
+        assertThat(ResponseFormat.fromAccept("*/*")).isEqualTo(ResponseFormat.JSON);
+    }
+
+    @Test
+    void fromAccept_SpecificTypeBesideWildcard_ShouldPreferSpecificType() {
+        // When & Then
+        assertThat(ResponseFormat.fromAccept("*/*, application/cbor")).isEqualTo(ResponseFormat.CBOR);
+    }
+
+    @Test
+    void fromAccept_LowerQualityOnMoreSpecificType_ShouldPreferHigherQuality() {
+        // When & Then
+        assertThat(ResponseFormat.fromAccept("application/json;q=0.5, application/cbor"))
+                .isEqualTo(ResponseFormat.CBOR);
+        assertThat(ResponseFormat.fromAccept("application/cbor;q=0.2, application/*;q=0.8"))
+                .isEqualTo(ResponseFormat.JSON);
+    }
+
+    @Test
+    void fromAccept_FormatRejectedWithQualityZero_ShouldNotBeChosen() {
+        // When & Then
+        assertThat(ResponseFormat.fromAccept("application/cbor;q=0")).isEqualTo(ResponseFormat.JSON);
+        assertThat(ResponseFormat.fromAccept("application/json;q=0, */*;q=0.1")).isEqualTo(ResponseFormat.CBOR);
+        assertThat(ResponseFormat.fromAccept("application/json;q=0, application/x-jackson-smile;q=0.3, */*;q=0.1"))
+                .isEqualTo(ResponseFormat.SMILE);
+    }
+}
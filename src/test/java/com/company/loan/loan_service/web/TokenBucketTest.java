@@ -0,0 +1,75 @@
+package com.company.loan.loan_service.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(100);
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryConsume_WithinCapacity_ShouldAllowBurst() {
+        // Given
+        TokenBucket bucket = new TokenBucket(3, 1, START);
+
+        // When & Then
+        assertThat(bucket.tryConsume(START)).isTrue();
+        assertThat(bucket.tryConsume(START)).isTrue();
+        assertThat(bucket.tryConsume(START)).isTrue();
+        assertThat(bucket.tryConsume(START)).isFalse();
+        assertThat(bucket.getRemaining(START)).isZero();
+    }
+
+    @Test
+    void tryConsume_AfterRefillInterval_ShouldAllowAgain() {
+        // Given
+        TokenBucket bucket = new TokenBucket(2, 2, START);
+        bucket.tryConsume(START);
+        bucket.tryConsume(START);
+
+        // When
+        long halfSecondLater = START + ONE_SECOND / 2;
+
+        // Then
+        assertThat(bucket.getNanosUntilAvailable(START)).isEqualTo(ONE_SECOND / 2);
+        assertThat(bucket.tryConsume(halfSecondLater)).isTrue();
+        assertThat(bucket.tryConsume(halfSecondLater)).isFalse();
+    }
+
+    @Test
+    void getRemaining_PartiallyUsedBucket_ShouldReportTokensLeft() {
+        // Given
+        TokenBucket bucket = new TokenBucket(5, 1, START);
+
+        // When
+        bucket.tryConsume(START);
+        bucket.tryConsume(START);
+
+        // Then
+        assertThat(bucket.getRemaining(START)).isEqualTo(3);
+        assertThat(bucket.getNanosUntilFull(START)).isEqualTo(2 * ONE_SECOND);
+    }
+
+    @Test
+    void isIdle_FullForIdlePeriod_ShouldBeEvictable() {
+        // Given
+        TokenBucket bucket = new TokenBucket(1, 1, START);
+        bucket.tryConsume(START);
+
+        // When & Then
+        assertThat(bucket.isIdle(START + ONE_SECOND, ONE_SECOND)).isFalse();
+        assertThat(bucket.isIdle(START + 2 * ONE_SECOND, ONE_SECOND)).isTrue();
+    }
+
+    @Test
+    void constructor_InvalidRate_ShouldThrowException() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1, START))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}